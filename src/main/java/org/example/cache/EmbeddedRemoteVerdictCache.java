@@ -0,0 +1,79 @@
+package org.example.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link RemoteVerdictCache} en el mismo proceso, en lugar de Redis/Hazelcast.
+ *
+ * Las instancias se comparten por nombre dentro de la JVM: varios contextos de Spring
+ * (réplicas simuladas en un test) que usan el mismo nombre ven las mismas entradas,
+ * igual que varios nodos conectados al mismo cluster.
+ *
+ * Cada {@link #named} suma una referencia y cada {@link #close} la devuelve (Spring
+ * cierra el bean con su contexto): al cerrarse la última, la instancia sale del registro
+ * y un contexto nuevo con el mismo nombre empieza vacío. Las entradas están acotadas
+ * como en el near cache (LRU), igual que un Redis con {@code maxmemory}.
+ */
+public class EmbeddedRemoteVerdictCache implements RemoteVerdictCache, AutoCloseable {
+
+    // Protegido por su propio lock, junto con las referencias de cada instancia
+    private static final Map<String, EmbeddedRemoteVerdictCache> INSTANCES = new HashMap<>();
+
+    private final String name;
+    private final NearVerdictCache entries;
+    private int references;
+
+    private EmbeddedRemoteVerdictCache(String name, int maxEntries) {
+        this.name = name;
+        this.entries = new NearVerdictCache(maxEntries);
+    }
+
+    /**
+     * Devuelve la instancia compartida con ese nombre (la crea si no existe) y toma una
+     * referencia, que se devuelve con {@link #close}.
+     *
+     * @param maxEntries veredictos máximos si la instancia se crea ahora
+     */
+    public static EmbeddedRemoteVerdictCache named(String name, int maxEntries) {
+        synchronized (INSTANCES) {
+            EmbeddedRemoteVerdictCache cache = INSTANCES.computeIfAbsent(name,
+                    key -> new EmbeddedRemoteVerdictCache(key, maxEntries));
+            cache.references++;
+            return cache;
+        }
+    }
+
+    /**
+     * Instancias vivas en la JVM.
+     */
+    public static int instances() {
+        synchronized (INSTANCES) {
+            return INSTANCES.size();
+        }
+    }
+
+    @Override
+    public Optional<Boolean> get(String dnaHash) {
+        return Optional.ofNullable(entries.get(dnaHash));
+    }
+
+    @Override
+    public void put(String dnaHash, boolean mutant) {
+        entries.put(dnaHash, mutant);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (INSTANCES) {
+            if (references > 0 && --references == 0) {
+                INSTANCES.remove(name, this);
+            }
+        }
+    }
+}
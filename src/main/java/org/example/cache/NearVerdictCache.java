@@ -0,0 +1,84 @@
+package org.example.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché local (near cache) de veredictos con tamaño acotado.
+ *
+ * Se divide en segmentos, cada uno un LinkedHashMap en orden de acceso con su propio
+ * lock: al pasar su capacidad descarta la entrada usada hace más tiempo (LRU). La clave
+ * son los primeros 128 bits del hash SHA-256 (dos longs), no el String de 64 caracteres,
+ * para que cada entrada ocupe poco.
+ */
+public class NearVerdictCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * @param maxEntries cantidad máxima de veredictos en memoria (repartida entre segmentos)
+     */
+    public NearVerdictCache(int maxEntries) {
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @return el veredicto, o null si no está en el caché
+     */
+    public Boolean get(String dnaHash) {
+        Key key = Key.of(dnaHash);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public void put(String dnaHash, boolean mutant) {
+        Key key = Key.of(dnaHash);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.putIfAbsent(key, mutant);
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                total += segment.size();
+            }
+        }
+        return total;
+    }
+
+    private Segment segmentFor(Key key) {
+        return segments[(int) (key.lo() & (SEGMENTS - 1))];
+    }
+
+    private record Key(long hi, long lo) {
+
+        static Key of(String dnaHash) {
+            return new Key(Long.parseUnsignedLong(dnaHash, 0, 16, 16), Long.parseUnsignedLong(dnaHash, 16, 32, 16));
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<Key, Boolean> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.cache;
+
+import java.util.Optional;
+
+/**
+ * Nivel remoto del caché de veredictos, compartido por todas las réplicas.
+ *
+ * Es el punto de extensión para un backend distribuido (Redis, Hazelcast, ...): basta
+ * con registrar un bean que implemente esta interfaz. Los veredictos son inmutables
+ * (un hash siempre da el mismo resultado), así que no hay invalidación ni TTL: una
+ * entrada escrita por cualquier nodo vale para siempre.
+ *
+ * Las implementaciones pueden fallar (red, timeouts); quien las usa trata un error
+ * como un miss y sigue hacia la base.
+ */
+public interface RemoteVerdictCache {
+
+    Optional<Boolean> get(String dnaHash);
+
+    void put(String dnaHash, boolean mutant);
+}
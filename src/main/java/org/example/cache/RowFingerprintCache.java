@@ -0,0 +1,93 @@
+package org.example.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché de conteos parciales de la detección, indexado por huellas de filas.
+ *
+ * La clave es una huella de 64 bits (de una fila o de una franja de K filas
+ * consecutivas) y el valor, cuántas secuencias aportan. Igual que {@link NearVerdictCache},
+ * está dividido en segmentos LRU con su propio lock.
+ */
+public class RowFingerprintCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEntries cantidad máxima de conteos en memoria (repartida entre segmentos)
+     */
+    public RowFingerprintCache(int maxEntries) {
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @return el conteo guardado, o -1 si no está en el caché
+     */
+    public int get(long fingerprint) {
+        Segment segment = segmentFor(fingerprint);
+        Integer count;
+        synchronized (segment) {
+            count = segment.get(fingerprint);
+        }
+        if (count == null) {
+            misses.increment();
+            return -1;
+        }
+        hits.increment();
+        return count;
+    }
+
+    public void put(long fingerprint, int count) {
+        Segment segment = segmentFor(fingerprint);
+        synchronized (segment) {
+            segment.put(fingerprint, count);
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                total += segment.size();
+            }
+        }
+        return total;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private Segment segmentFor(long fingerprint) {
+        return segments[(int) (fingerprint & (SEGMENTS - 1))];
+    }
+
+    private static final class Segment extends LinkedHashMap<Long, Integer> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.concurrency;
+
+/**
+ * Límite de concurrencia adaptativo con pesos, al estilo "gradient" de Netflix.
+ *
+ * Cada request ocupa {@code weight} permisos (proporcional al costo N² de la matriz)
+ * mientras se procesa. Si los permisos en uso más el peso superan el límite actual,
+ * el request se rechaza enseguida en lugar de encolarse.
+ *
+ * El límite se ajusta con cada request terminado, a partir de la latencia por permiso:
+ * - {@code shortLatency}: promedio móvil rápido (lo que está pasando ahora),
+ * - {@code longLatency}: promedio móvil lento (la latencia "sana" de referencia).
+ * El gradiente {@code tolerance * long / short} (acotado a [0.5, 1]) achica el límite
+ * cuando la latencia actual crece respecto de la referencia; si no hay cola, el término
+ * {@code sqrt(limit)} lo hace crecer de a poco (aumento aditivo, reducción multiplicativa).
+ *
+ * Si el servidor está poco cargado (menos de la mitad del límite en uso) no se toca el
+ * límite: sin presión no hay información sobre la capacidad real.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.01;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    // Protegidos por this
+    private double limit;
+    private int inFlight;
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * @param initialLimit límite inicial en permisos
+     * @param minLimit     el límite nunca baja de este valor
+     * @param maxLimit     el límite nunca sube de este valor
+     * @param tolerance    cuánto puede crecer la latencia (x veces) antes de achicar el límite
+     * @param smoothing    qué fracción del nuevo límite calculado se aplica en cada ajuste (0-1]
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double smoothing) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Se requiere 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Intenta tomar {@code weight} permisos.
+     * Un request más pesado que todo el límite se admite solo si no hay nada en curso,
+     * para que una matriz grande no quede rechazada para siempre.
+     *
+     * @return true si el request fue admitido (hay que llamar luego a onSuccess u onIgnore)
+     */
+    public synchronized boolean tryAcquire(int weight) {
+        if (inFlight > 0 && inFlight + weight > (int) limit) {
+            return false;
+        }
+        inFlight += weight;
+        return true;
+    }
+
+    /**
+     * Libera los permisos de un request terminado y ajusta el límite con su latencia.
+     */
+    public synchronized void onSuccess(int weight, long latencyNanos) {
+        int inFlightBefore = inFlight;
+        inFlight -= weight;
+
+        double sample = (double) latencyNanos / weight;
+        if (longLatency == 0) {
+            shortLatency = sample;
+            longLatency = sample;
+            return;
+        }
+        shortLatency += (sample - shortLatency) * SHORT_ALPHA;
+        longLatency += (sample - longLatency) * LONG_ALPHA;
+
+        // Si la latencia de referencia quedó muy por encima (p. ej. tras un pico),
+        // la acercamos para no crecer sin control con un promedio viejo
+        if (longLatency / shortLatency > 2) {
+            longLatency *= 0.95;
+        }
+
+        if (inFlightBefore < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longLatency / shortLatency));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * Libera los permisos sin usar la latencia (el request falló y su tiempo no es representativo).
+     */
+    public synchronized void onIgnore(int weight) {
+        inFlight -= weight;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
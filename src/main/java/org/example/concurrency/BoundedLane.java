@@ -0,0 +1,101 @@
+package org.example.concurrency;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Carril de trabajo que corre en el hilo que lo pide, con concurrencia acotada.
+ *
+ * Hasta {@code concurrency} tareas corren a la vez. Las siguientes esperan un lugar,
+ * como mucho {@code queueCapacity} a la vez y durante {@code maxWait}. Si la espera
+ * está llena o se agota el tiempo, se lanza {@link RejectedExecutionException} (→ 503),
+ * igual que el {@link LargeMatrixExecutor}.
+ *
+ * No hay un pool propio porque estas tareas son cortas (un lookup, una detección
+ * chica) y pasarlas a otro hilo costaría más que ejecutarlas. Lo que las separa de
+ * las demás clases es tener sus propios permisos.
+ */
+public class BoundedLane {
+
+    private final int concurrency;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param concurrency   tareas que pueden correr a la vez
+     * @param queueCapacity tareas que pueden esperar un lugar
+     * @param maxWaitNanos  espera máxima por un lugar
+     */
+    public BoundedLane(int concurrency, int queueCapacity, long maxWaitNanos) {
+        this.concurrency = Math.max(1, concurrency);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.maxWaitNanos = maxWaitNanos;
+        this.permits = new Semaphore(this.concurrency);
+    }
+
+    /**
+     * Ejecuta la tarea en el hilo actual cuando hay lugar en el carril.
+     *
+     * @throws RejectedExecutionException si no hay lugar ni en el carril ni en la espera
+     */
+    public <T> T execute(Supplier<T> task) {
+        acquire();
+        try {
+            return task.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("Carril saturado");
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new RejectedExecutionException("Se agotó la espera del carril");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando lugar en el carril", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Tareas corriendo ahora.
+     */
+    public int getActive() {
+        return concurrency - permits.availablePermits();
+    }
+
+    /**
+     * Tareas esperando lugar.
+     */
+    public int getQueued() {
+        return waiting.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.concurrency;
+
+import org.example.exception.DetectionTimeoutException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor acotado para la detección de matrices grandes.
+ *
+ * Las matrices con N mayor al umbral se detectan en un pool propio de pocos hilos y
+ * con una cola corta; el hilo del request espera el resultado. Así las matrices grandes
+ * no pueden ocupar más CPU que esos hilos y las chicas (que corren en el hilo del
+ * request) nunca quedan detrás de ellas. Si el pool y la cola están llenos se lanza
+ * {@link RejectedExecutionException} (→ 503) en lugar de seguir acumulando trabajo.
+ *
+ * El tiempo máximo de una detección corre desde que llega el request, no desde que la
+ * toma un hilo: una matriz que espera en la cola gasta su tiempo ahí, y el request deja
+ * de esperarla (503) apenas se agota.
+ */
+public class LargeMatrixExecutor implements AutoCloseable {
+
+    private final int threshold;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param threshold     N a partir del cual (exclusive) una matriz es "grande"
+     * @param threads       hilos dedicados a matrices grandes
+     * @param queueCapacity matrices grandes que pueden esperar en cola
+     */
+    public LargeMatrixExecutor(int threshold, int threads, int queueCapacity) {
+        this.threshold = threshold;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "large-detection-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @return true si una matriz de n×n debe ir a este executor
+     */
+    public boolean handles(int n) {
+        return n > threshold;
+    }
+
+    /**
+     * Ejecuta la tarea en el pool y espera su resultado.
+     * Las excepciones de la tarea se relanzan tal cual.
+     *
+     * @throws RejectedExecutionException si no hay lugar en el pool ni en la cola
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la detección", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Igual que {@link #execute(Callable)}, esperando el resultado como mucho hasta
+     * {@code deadline}, que incluye el tiempo en la cola. Al agotarse se cancela la
+     * tarea (si no empezó, no corre; si está corriendo, se interrumpe).
+     *
+     * @param deadline instante (System.nanoTime) en que se agota el tiempo de la detección
+     * @throws DetectionTimeoutException si se agotó el tiempo antes de tener el resultado
+     */
+    public <T> T execute(Callable<T> task, long deadline) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DetectionTimeoutException("Se superó el tiempo máximo de detección");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la detección", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * La excepción de la tarea, tal cual si es unchecked.
+     */
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
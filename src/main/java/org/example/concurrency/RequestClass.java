@@ -0,0 +1,37 @@
+package org.example.concurrency;
+
+/**
+ * Clases de trabajo de la API, cada una con su propio carril en {@link RequestScheduler}.
+ */
+public enum RequestClass {
+
+    /**
+     * Búsqueda del veredicto guardado de POST /mutant (el hash se calcula antes, fuera
+     * de los carriles): todo request pasa por acá, y un duplicado termina acá.
+     */
+    CACHED,
+
+    /**
+     * Detección de un ADN nuevo con N hasta {@code mutant.detection.large.threshold}.
+     */
+    SMALL,
+
+    /**
+     * Detección de un ADN nuevo con N mayor al umbral, en el {@link LargeMatrixExecutor}.
+     */
+    LARGE,
+
+    /**
+     * Recálculo de los totales de /stats.
+     */
+    STATS;
+
+    private final String tag = name().toLowerCase();
+
+    /**
+     * Valor del tag "class" en las métricas.
+     */
+    public String tag() {
+        return tag;
+    }
+}
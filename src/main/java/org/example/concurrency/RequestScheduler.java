@@ -0,0 +1,86 @@
+package org.example.concurrency;
+
+import org.example.exception.DetectionTimeoutException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Separa el trabajo de la API en carriles por clase ({@link RequestClass}), para que
+ * los requests baratos nunca esperen detrás de detecciones grandes.
+ *
+ * - CACHED, SMALL y STATS son {@link BoundedLane}: corren en el hilo del request, con
+ *   su propia concurrencia ({@code mutant.scheduling.*}).
+ * - LARGE es el {@link LargeMatrixExecutor}: pool propio con pocos hilos y cola corta
+ *   ({@code mutant.detection.large.*}).
+ *
+ * Cada clase tiene su parte de la concurrencia y su propia espera. Una ráfaga de
+ * matrices grandes llena solo el carril LARGE, que rechaza con 503 lo que no entra,
+ * y no toca los permisos de los duplicados, las matrices chicas ni /stats.
+ *
+ * Un carril sin {@link BoundedLane} (con {@code mutant.scheduling.enabled=false})
+ * ejecuta sin límite en el hilo actual.
+ */
+public class RequestScheduler {
+
+    private final LargeMatrixExecutor largeMatrixExecutor;
+    private final Map<RequestClass, BoundedLane> lanes;
+
+    /**
+     * @param largeMatrixExecutor carril LARGE (null = las matrices grandes van al carril SMALL)
+     * @param lanes               carriles CACHED, SMALL y STATS (los que falten no se limitan)
+     */
+    public RequestScheduler(LargeMatrixExecutor largeMatrixExecutor, Map<RequestClass, BoundedLane> lanes) {
+        this.largeMatrixExecutor = largeMatrixExecutor;
+        this.lanes = lanes.isEmpty() ? new EnumMap<>(RequestClass.class) : new EnumMap<>(lanes);
+    }
+
+    /**
+     * Clase de la detección de un ADN nuevo de n×n.
+     */
+    public RequestClass classify(int n) {
+        return largeMatrixExecutor != null && largeMatrixExecutor.handles(n) ? RequestClass.LARGE : RequestClass.SMALL;
+    }
+
+    /**
+     * Ejecuta la tarea en el carril de su clase y devuelve su resultado.
+     * Las excepciones de la tarea se relanzan tal cual.
+     *
+     * @throws RejectedExecutionException si el carril está saturado
+     */
+    public <T> T execute(RequestClass requestClass, Supplier<T> task) {
+        if (requestClass == RequestClass.LARGE && largeMatrixExecutor != null) {
+            return largeMatrixExecutor.execute(task::get);
+        }
+        BoundedLane lane = lanes.get(requestClass == RequestClass.LARGE ? RequestClass.SMALL : requestClass);
+        return lane != null ? lane.execute(task) : task.get();
+    }
+
+    /**
+     * Igual que {@link #execute(RequestClass, Supplier)} para una detección con tiempo
+     * máximo: en el carril LARGE el request deja de esperar al llegar a {@code deadline},
+     * aunque la tarea siga en la cola del executor.
+     *
+     * @param deadline instante (System.nanoTime) en que se agota el tiempo de la detección
+     * @throws DetectionTimeoutException si se agotó el tiempo esperando el carril LARGE
+     */
+    public <T> T execute(RequestClass requestClass, Supplier<T> task, long deadline) {
+        if (requestClass == RequestClass.LARGE && largeMatrixExecutor != null) {
+            return largeMatrixExecutor.execute(task::get, deadline);
+        }
+        return execute(requestClass, task);
+    }
+
+    /**
+     * Carril de una clase, o null si no se limita (LARGE usa el executor).
+     */
+    public BoundedLane getLane(RequestClass requestClass) {
+        return lanes.get(requestClass);
+    }
+
+    public LargeMatrixExecutor getLargeMatrixExecutor() {
+        return largeMatrixExecutor;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.concurrency.AdaptiveConcurrencyLimiter;
+import org.example.filter.AdmissionControlFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra el control de admisión sobre POST /mutant ({@code mutant.admission.*}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "mutant.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter mutantAdmissionLimiter(AdmissionProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getTolerance(), properties.getSmoothing());
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimiter mutantAdmissionLimiter, AdmissionProperties properties,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(mutantAdmissionLimiter, properties, meterRegistry));
+        registration.addUrlPatterns("/mutant", "/mutant/stream", "/mutant/analysis", "/mutant/jobs");
+        // Antes que el resto de los filtros (salvo el límite de tamaño): un rechazo no debe costar nada
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades {@code mutant.admission.*}: control de admisión de POST /mutant.
+ *
+ * Un permiso equivale a {@code cellsPerPermit} celdas de la matriz; el peso de un
+ * request se estima con su Content-Length (una matriz de N×N ocupa ~N² bytes en JSON).
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Celdas (bytes del body) que cubre un permiso. Con 4096 una matriz de 64x64 pesa 1.
+     */
+    private int cellsPerPermit = 4096;
+
+    /**
+     * Peso de un request sin Content-Length (body chunked) o con el body comprimido.
+     */
+    private int unknownLengthWeight = 16;
+
+    private int initialLimit = 200;
+
+    private int minLimit = 20;
+
+    private int maxLimit = 2000;
+
+    /**
+     * Cuántas veces puede crecer la latencia por permiso antes de achicar el límite.
+     */
+    private double tolerance = 1.5;
+
+    /**
+     * Fracción del nuevo límite calculado que se aplica en cada ajuste.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Código HTTP de los requests rechazados: 503 (sobrecarga) o 429.
+     */
+    private int rejectStatus = 503;
+
+    /**
+     * Valor del header Retry-After de los rechazos.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
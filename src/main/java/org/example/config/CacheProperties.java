@@ -0,0 +1,55 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades {@code mutant.cache.*}: caché de veredictos delante del backend jpa.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+
+    private Near near = new Near();
+
+    private Remote remote = new Remote();
+
+    public enum RemoteType {
+        NONE,
+        EMBEDDED
+    }
+
+    /**
+     * Near cache local de cada réplica ({@code mutant.cache.near.*}).
+     */
+    @Data
+    public static class Near {
+
+        /**
+         * Veredictos máximos en memoria; al superarlo se descartan los menos usados.
+         */
+        private int maxEntries = 100_000;
+    }
+
+    /**
+     * Caché compartido entre réplicas ({@code mutant.cache.remote.*}).
+     * Con {@code none} se puede registrar un bean propio de RemoteVerdictCache (Redis, ...).
+     */
+    @Data
+    public static class Remote {
+
+        private RemoteType type = RemoteType.NONE;
+
+        /**
+         * Nombre del caché compartido: las réplicas con el mismo nombre comparten entradas.
+         */
+        private String name = "mutant-verdicts";
+
+        /**
+         * Veredictos máximos del caché embebido; al superarlo se descartan los menos usados.
+         */
+        private int maxEntries = 1_000_000;
+    }
+}
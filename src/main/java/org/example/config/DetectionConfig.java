@@ -0,0 +1,83 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.example.concurrency.LargeMatrixExecutor;
+import org.example.filter.RequestDecompressionFilter;
+import org.example.filter.RequestSizeLimitFilter;
+import org.example.service.DetectionBufferPool;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Límites de costo de la detección ({@code mutant.detection.*}): tamaño máximo del
+ * body de POST /mutant (también descomprimido), executor separado para matrices
+ * grandes y matrices de detección reutilizadas.
+ */
+@Configuration
+public class DetectionConfig {
+
+    @Bean
+    public LargeMatrixExecutor largeMatrixExecutor(DetectionProperties properties, MeterRegistry meterRegistry) {
+        DetectionProperties.Large large = properties.getLarge();
+        LargeMatrixExecutor executor = new LargeMatrixExecutor(large.getThreshold(), large.getThreads(),
+                large.getQueueCapacity());
+
+        // executor.active, executor.queued, executor.completed, ... con name=large-detection
+        new ExecutorServiceMetrics(executor.getExecutor(), "large-detection", List.of()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mutant.detection.buffers.enabled", havingValue = "true", matchIfMissing = true)
+    public DetectionBufferPool detectionBufferPool(DetectionProperties properties, MeterRegistry meterRegistry) {
+        DetectionProperties.Buffers buffers = properties.getBuffers();
+        DetectionBufferPool pool = new DetectionBufferPool(buffers.getMinSize(), buffers.getMaxRetained().toBytes());
+
+        Gauge.builder("mutant.detection.buffers.retained", pool, DetectionBufferPool::getRetainedBytes)
+                .description("Bytes de matrices de detección retenidos para reutilizar")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("mutant.detection.buffers.requests", pool, DetectionBufferPool::getHits)
+                .description("Matrices pedidas al pool, por resultado")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("mutant.detection.buffers.requests", pool, DetectionBufferPool::getMisses)
+                .description("Matrices pedidas al pool, por resultado")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("mutant.detection.buffers.dropped", pool, DetectionBufferPool::getDropped)
+                .description("Matrices descartadas al devolverlas (ya había una mayor o se superaba el máximo)")
+                .register(meterRegistry);
+        return pool;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestSizeLimitFilter> requestSizeLimitFilter(DetectionProperties properties) {
+        FilterRegistrationBean<RequestSizeLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestSizeLimitFilter(properties.maxBodyBytes()));
+        registration.addUrlPatterns("/mutant", "/mutant/stream", "/mutant/analysis", "/mutant/jobs");
+        // Antes que el control de admisión: un body fuera de límite no debe ocupar permisos
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mutant.detection.compression.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RequestDecompressionFilter> requestDecompressionFilter(
+            DetectionProperties properties) {
+        FilterRegistrationBean<RequestDecompressionFilter> registration = new FilterRegistrationBean<>(
+                new RequestDecompressionFilter(properties.maxBodyBytes()));
+        registration.addUrlPatterns("/mutant", "/mutant/stream", "/mutant/analysis", "/mutant/jobs");
+        // Después del límite de tamaño y del control de admisión: solo se descomprime lo admitido
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades {@code mutant.detection.*}: límites de costo de la detección.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.detection")
+public class DetectionProperties {
+
+    /**
+     * N máximo aceptado. Una matriz más grande se rechaza con 413.
+     */
+    private int maxSize = 2000;
+
+    /**
+     * Tiempo máximo de validación + detección por request. Al excederlo se responde 503.
+     */
+    private Duration timeBudget = Duration.ofSeconds(2);
+
+    /**
+     * K: letras iguales consecutivas que forman una secuencia.
+     */
+    private int sequenceLength = 4;
+
+    /**
+     * T: secuencias necesarias para que el ADN sea mutante. K=4 y T=2 usan el
+     * recorrido especializado; otros valores, el motor genérico.
+     *
+     * Los veredictos guardados se separan por K y T: con valores distintos de K=4/T=2 el
+     * hash del ADN lleva K y T como prefijo, así un cambio de configuración no sirve
+     * veredictos calculados con otra regla (volver a K=4/T=2 reutiliza los de siempre).
+     */
+    private int threshold = 2;
+
+    /**
+     * Si está activo, el hash de POST /mutant es el de la forma canónica del ADN entre
+     * sus 8 rotaciones y espejos: un ADN transpuesto, rotado o reflejado reutiliza el
+     * veredicto guardado en lugar de detectarse y guardarse de nuevo. POST /mutant/stream
+     * no puede calcular esa forma sin la matriz entera, así que responde 409.
+     */
+    private boolean canonicalHash = false;
+
+    private Large large = new Large();
+
+    private Analysis analysis = new Analysis();
+
+    private PartialCache partialCache = new PartialCache();
+
+    private Buffers buffers = new Buffers();
+
+    private Compression compression = new Compression();
+
+    /**
+     * Executor separado para matrices grandes ({@code mutant.detection.large.*}).
+     */
+    @Data
+    public static class Large {
+
+        /**
+         * Las matrices con N mayor a este valor se detectan en el executor de grandes.
+         */
+        private int threshold = 500;
+
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Matrices grandes que pueden esperar en cola; las siguientes se rechazan con 503.
+         */
+        private int queueCapacity = 8;
+    }
+
+    /**
+     * Análisis detallado de POST /mutant/analysis ({@code mutant.detection.analysis.*}).
+     */
+    @Data
+    public static class Analysis {
+
+        /**
+         * Máximo de rachas que se devuelven por análisis (el parámetro maxResults no
+         * puede superarlo); las demás solo se cuentan.
+         */
+        private int maxResults = 10_000;
+    }
+
+    /**
+     * Caché de conteos por fila y por franja de K filas para ADN casi repetidos
+     * ({@code mutant.detection.partial-cache.*}).
+     */
+    @Data
+    public static class PartialCache {
+
+        private boolean enabled = false;
+
+        /**
+         * Conteos máximos en memoria (uno por fila y uno por franja distinta); al
+         * superarlo se descartan los menos usados.
+         */
+        private int maxEntries = 200_000;
+    }
+
+    /**
+     * Matrices de detección reutilizadas por hilo ({@code mutant.detection.buffers.*}).
+     */
+    @Data
+    public static class Buffers {
+
+        private boolean enabled = true;
+
+        /**
+         * Las matrices con N menor a este valor se asignan siempre (son baratas).
+         */
+        private int minSize = 128;
+
+        /**
+         * Memoria máxima retenida entre todos los hilos; lo que la supere se descarta.
+         */
+        private DataSize maxRetained = DataSize.ofMegabytes(64);
+    }
+
+    /**
+     * Bodies comprimidos con Content-Encoding ({@code mutant.detection.compression.*}).
+     * Descomprimido, el body tiene el mismo máximo que sin comprimir ({@link #maxBodyBytes()}).
+     */
+    @Data
+    public static class Compression {
+
+        private boolean enabled = true;
+    }
+
+    /**
+     * Tamaño máximo del body de POST /mutant para {@link #maxSize}: una matriz de N×N
+     * en JSON ocupa N² letras más comillas, comas y algo de espacio en blanco por fila.
+     */
+    public long maxBodyBytes() {
+        long n = maxSize;
+        return n * n + n * 16 + 1024;
+    }
+}
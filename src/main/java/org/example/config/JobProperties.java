@@ -0,0 +1,40 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades {@code mutant.jobs.*}: detección asíncrona de POST /mutant/jobs.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.jobs")
+public class JobProperties {
+
+    /**
+     * Hilos que procesan jobs.
+     */
+    private int threads = 1;
+
+    /**
+     * Jobs que pueden esperar un hilo; los siguientes se rechazan con 503.
+     */
+    private int queueCapacity = 16;
+
+    /**
+     * Jobs terminados que se guardan para el polling (los más viejos se descartan).
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Cuánto se guarda un job terminado. Después, un veredicto guardado se sigue
+     * respondiendo desde la base; un job fallido se olvida.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Tiempo máximo de la detección de un job (no hay un request esperando).
+     */
+    private Duration timeBudget = Duration.ofSeconds(30);
+}
@@ -0,0 +1,57 @@
+package org.example.config;
+
+import org.example.dto.DnaRequest;
+import org.example.dto.JobResponse;
+import org.example.dto.StatsResponse;
+import org.example.entity.DnaRecord;
+import org.example.entity.PooledSequence;
+import org.example.entity.PooledSequenceGenerator;
+import org.example.validation.ValidDnaSequenceValidator;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Pistas de reflexión para el procesamiento AOT y la imagen nativa de GraalVM.
+ *
+ * Spring detecta solo lo que ve en la definición de los beans; estas clases se
+ * instancian o inspeccionan por reflexión desde Hibernate, Hibernate Validator o
+ * Jackson, así que hay que declararlas para que existan en la imagen nativa.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.MutantRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class MutantRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entidad JPA: Hibernate accede a campos y constructor por reflexión
+            hints.reflection().registerType(DnaRecord.class,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+
+            // Generador de ids: Hibernate lo crea con el constructor que recibe la anotación
+            hints.reflection().registerType(PooledSequenceGenerator.class,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(PooledSequence.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // Validador de @ValidDnaSequence: lo instancia Hibernate Validator
+            hints.reflection().registerType(ValidDnaSequenceValidator.class,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // DTOs con getters/setters generados por Lombok: los usa Jackson
+            for (Class<?> dto : new Class<?>[]{DnaRequest.class, StatsResponse.class, JobResponse.class}) {
+                hints.reflection().registerType(dto,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades {@code mutant.profiling.*}: límites de las grabaciones de JDK Flight
+ * Recorder que se inician desde el endpoint /actuator/jfr.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.profiling")
+public class ProfilingProperties {
+
+    /**
+     * Configuración de JFR: "default" (~1% de overhead) o "profile" (más detalle).
+     */
+    private String settings = "default";
+
+    /**
+     * Duración máxima de una grabación: al cumplirse se detiene sola.
+     */
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    /**
+     * Antigüedad y tamaño máximos de los datos que guarda la grabación.
+     */
+    private Duration maxAge = Duration.ofMinutes(10);
+
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Directorio donde se vuelca la grabación (un único archivo que se reemplaza).
+     */
+    private String dumpDirectory = System.getProperty("java.io.tmpdir");
+}
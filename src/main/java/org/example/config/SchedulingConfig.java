@@ -0,0 +1,54 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.concurrency.BoundedLane;
+import org.example.concurrency.LargeMatrixExecutor;
+import org.example.concurrency.RequestClass;
+import org.example.concurrency.RequestScheduler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Carriles por clase de trabajo delante de MutantService ({@code mutant.scheduling.*}).
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public RequestScheduler requestScheduler(SchedulingProperties properties, LargeMatrixExecutor largeMatrixExecutor,
+                                             MeterRegistry meterRegistry) {
+        Map<RequestClass, BoundedLane> lanes = new EnumMap<>(RequestClass.class);
+        if (properties.isEnabled()) {
+            lanes.put(RequestClass.CACHED, lane(properties.getCached()));
+            lanes.put(RequestClass.SMALL, lane(properties.getSmall()));
+            lanes.put(RequestClass.STATS, lane(properties.getStats()));
+        }
+
+        // mutant.scheduler.active / queued / rejected con class=cached|small|stats
+        // (el carril large se mide con executor.* name=large-detection)
+        lanes.forEach((requestClass, lane) -> {
+            Gauge.builder("mutant.scheduler.active", lane, BoundedLane::getActive)
+                    .description("Tareas corriendo en el carril")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            Gauge.builder("mutant.scheduler.queued", lane, BoundedLane::getQueued)
+                    .description("Tareas esperando lugar en el carril")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            FunctionCounter.builder("mutant.scheduler.rejected", lane, BoundedLane::getRejected)
+                    .description("Tareas rechazadas con 503 por carril saturado")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+        });
+        return new RequestScheduler(largeMatrixExecutor, lanes);
+    }
+
+    private static BoundedLane lane(SchedulingProperties.Lane lane) {
+        return new BoundedLane(lane.getConcurrency(), lane.getQueueCapacity(), lane.getMaxWait().toNanos());
+    }
+}
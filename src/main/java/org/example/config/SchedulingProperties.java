@@ -0,0 +1,63 @@
+package org.example.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades {@code mutant.scheduling.*}: concurrencia de cada clase de trabajo
+ * (duplicados, matrices chicas nuevas y /stats). Las matrices grandes nuevas usan
+ * {@code mutant.detection.large.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.scheduling")
+public class SchedulingProperties {
+
+    /**
+     * Con false solo se separan las matrices grandes (executor de grandes).
+     */
+    private boolean enabled = true;
+
+    /**
+     * Lookup en el store de cada POST /mutant (el hash va antes, fuera del carril).
+     */
+    private Lane cached = new Lane(64, 256, Duration.ofSeconds(1));
+
+    /**
+     * Detección de ADN nuevos hasta el umbral de matrices grandes.
+     */
+    private Lane small = new Lane(Math.max(2, Runtime.getRuntime().availableProcessors() * 2), 64,
+            Duration.ofSeconds(1));
+
+    /**
+     * Recálculo de /stats cuando el snapshot venció.
+     */
+    private Lane stats = new Lane(2, 32, Duration.ofSeconds(1));
+
+    /**
+     * Parte de la concurrencia de una clase ({@code mutant.scheduling.<clase>.*}).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Lane {
+
+        /**
+         * Tareas de la clase que corren a la vez.
+         */
+        private int concurrency;
+
+        /**
+         * Tareas que pueden esperar lugar; las siguientes se rechazan con 503.
+         */
+        private int queueCapacity;
+
+        /**
+         * Espera máxima por un lugar antes de rechazar con 503.
+         */
+        private Duration maxWait;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades {@code mutant.stats.*}: cómo se obtienen los totales de /stats.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.stats")
+public class StatsProperties {
+
+    private Cluster cluster = new Cluster();
+
+    private Cache cache = new Cache();
+
+    public enum StoreType {
+        NONE,
+        EMBEDDED
+    }
+
+    /**
+     * Contadores G-counter compartidos entre réplicas ({@code mutant.stats.cluster.*}).
+     * Solo aplica al backend jpa.
+     */
+    @Data
+    public static class Cluster {
+
+        private boolean enabled = false;
+
+        /**
+         * Identificador de esta réplica. Vacío = uno aleatorio por arranque
+         * (las entradas de arranques anteriores siguen sumando en el total).
+         */
+        private String nodeId;
+
+        /**
+         * Cada cuánto se publican los contadores propios y se traen los del resto.
+         */
+        private Duration publishInterval = Duration.ofSeconds(1);
+
+        /**
+         * Almacén compartido: embedded (en proceso) o none para registrar un bean
+         * StatsCounterStore propio.
+         */
+        private StoreType storeType = StoreType.EMBEDDED;
+
+        /**
+         * Nombre del almacén compartido: las réplicas con el mismo nombre suman juntas.
+         */
+        private String storeName = "mutant-stats";
+    }
+
+    /**
+     * Respuesta de /stats cacheada ya serializada ({@code mutant.stats.cache.*}).
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Ventana en la que se sigue sirviendo el mismo cuerpo aunque haya veredictos
+         * nuevos. 0 = cada veredicto nuevo invalida la respuesta cacheada.
+         * También es el max-age del Cache-Control.
+         */
+        private Duration staleness = Duration.ZERO;
+
+        /**
+         * Edad máxima de la respuesta aunque esta réplica no haya guardado nada
+         * (cambios de otras réplicas o del write-ahead log).
+         */
+        private Duration maxAge = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.cache.EmbeddedRemoteVerdictCache;
+import org.example.cache.NearVerdictCache;
+import org.example.cache.RemoteVerdictCache;
+import org.example.repository.CachingVerdictStore;
+import org.example.repository.ClusterCountingVerdictStore;
+import org.example.repository.DnaArchive;
+import org.example.repository.DnaRecordArchiver;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaVerdictStore;
+import org.example.repository.InMemoryVerdictStore;
+import org.example.repository.JpaVerdictStore;
+import org.example.repository.WriteAheadVerdictStore;
+import org.example.stats.EmbeddedStatsCounterStore;
+import org.example.stats.StatsCounterStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Elige el backend de {@link DnaVerdictStore} según {@code mutant.storage.type}.
+ *
+ * Con {@code memory} la aplicación no necesita JPA: el perfil "memory" además
+ * excluye la auto-configuración de DataSource/Hibernate. Con {@code jpa} y
+ * {@code mutant.storage.wal.enabled=true} las escrituras pasan por el write-ahead log
+ * y con {@code mutant.storage.archive.enabled=true} los días viejos se archivan.
+ * Con {@code mutant.stats.cluster.enabled=true} los conteos salen de G-counters
+ * compartidos entre réplicas en lugar de COUNT sobre la tabla.
+ * Delante de todo va el caché de veredictos ({@code mutant.cache.*}): near cache local
+ * y, si hay un {@link RemoteVerdictCache}, un nivel compartido entre réplicas.
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mutant.storage.type", havingValue = "jpa", matchIfMissing = true)
+    public DnaVerdictStore jpaVerdictStore(DnaRecordRepository dnaRecordRepository, StorageProperties properties,
+                                           ObjectProvider<DnaArchive> dnaArchive,
+                                           ObjectProvider<DnaRecordArchiver> dnaRecordArchiver,
+                                           CacheProperties cacheProperties,
+                                           ObjectProvider<RemoteVerdictCache> remoteVerdictCache,
+                                           StatsProperties statsProperties,
+                                           ObjectProvider<StatsCounterStore> statsCounterStore,
+                                           MeterRegistry meterRegistry) {
+        // El archivador se crea antes: termina los archivados interrumpidos, así ningún conteo
+        // inicial (por ejemplo la línea base de /stats) ve un día en la tabla y en el archivo
+        dnaRecordArchiver.getIfAvailable();
+        DnaVerdictStore store = new JpaVerdictStore(dnaRecordRepository, dnaArchive.getIfAvailable());
+
+        StorageProperties.Wal wal = properties.getWal();
+        if (wal.isEnabled()) {
+            store = new WriteAheadVerdictStore(store, dnaRecordRepository, Path.of(wal.getDirectory()),
+                    wal.getFsyncInterval(), wal.getApplyInterval());
+        }
+
+        StatsProperties.Cluster cluster = statsProperties.getCluster();
+        if (cluster.isEnabled()) {
+            String nodeId = StringUtils.hasText(cluster.getNodeId()) ? cluster.getNodeId() : UUID.randomUUID().toString();
+            store = new ClusterCountingVerdictStore(store, statsCounterStore.getObject(), nodeId,
+                    cluster.getPublishInterval());
+        }
+
+        if (!cacheProperties.isEnabled()) {
+            return store;
+        }
+        return new CachingVerdictStore(store, new NearVerdictCache(cacheProperties.getNear().getMaxEntries()),
+                remoteVerdictCache.getIfAvailable(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mutant.cache.remote.type", havingValue = "embedded")
+    public EmbeddedRemoteVerdictCache embeddedRemoteVerdictCache(CacheProperties cacheProperties) {
+        CacheProperties.Remote remote = cacheProperties.getRemote();
+        return EmbeddedRemoteVerdictCache.named(remote.getName(), remote.getMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mutant.stats.cluster.store-type", havingValue = "embedded", matchIfMissing = true)
+    public EmbeddedStatsCounterStore embeddedStatsCounterStore(StatsProperties statsProperties) {
+        return EmbeddedStatsCounterStore.named(statsProperties.getCluster().getStoreName());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mutant.storage.type", havingValue = "memory")
+    public InMemoryVerdictStore inMemoryVerdictStore(StorageProperties properties) {
+        StorageProperties.Memory memory = properties.getMemory();
+        Path directory = StringUtils.hasText(memory.getDirectory()) ? Path.of(memory.getDirectory()) : null;
+
+        return new InMemoryVerdictStore(memory.getShards(), memory.getInitialCapacityPerShard(),
+                directory, memory.getSnapshotInterval(), memory.getLogFlushInterval());
+    }
+
+    /**
+     * Archivado de dna_records: solo con el backend jpa y {@code mutant.storage.archive.enabled=true}.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "mutant.storage.type", havingValue = "jpa", matchIfMissing = true)
+    static class ArchiveConfig {
+
+        @Bean
+        @ConditionalOnProperty(name = "mutant.storage.archive.enabled", havingValue = "true")
+        public DnaArchive dnaArchive(StorageProperties properties) {
+            StorageProperties.Archive archive = properties.getArchive();
+            return new DnaArchive(Path.of(archive.getDirectory()), archive.getBlockRecords());
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "mutant.storage.archive.enabled", havingValue = "true")
+        public DnaRecordArchiver dnaRecordArchiver(JdbcTemplate jdbcTemplate, DnaArchive dnaArchive,
+                                                   StorageProperties properties) {
+            StorageProperties.Archive archive = properties.getArchive();
+            return new DnaRecordArchiver(jdbcTemplate, dnaArchive, archive.getRetention(), archive.getInterval());
+        }
+    }
+}
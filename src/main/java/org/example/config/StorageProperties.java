@@ -0,0 +1,99 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades {@code mutant.storage.*}: qué backend guarda los veredictos.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.storage")
+public class StorageProperties {
+
+    /**
+     * Backend de almacenamiento: jpa (tabla dna_records) o memory.
+     */
+    private Type type = Type.JPA;
+
+    private Memory memory = new Memory();
+
+    private Wal wal = new Wal();
+
+    private Archive archive = new Archive();
+
+    public enum Type {
+        JPA,
+        MEMORY
+    }
+
+    /**
+     * Configuración del backend en memoria ({@code mutant.storage.memory.*}).
+     */
+    @Data
+    public static class Memory {
+
+        private int shards = 64;
+
+        private int initialCapacityPerShard = 4096;
+
+        /**
+         * Directorio del snapshot y del log. Vacío = sin persistencia.
+         */
+        private String directory;
+
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+
+        private Duration logFlushInterval = Duration.ofMillis(200);
+    }
+
+    /**
+     * Write-ahead log delante de dna_records ({@code mutant.storage.wal.*}).
+     * Solo aplica al backend jpa.
+     */
+    @Data
+    public static class Wal {
+
+        private boolean enabled = false;
+
+        private String directory = "./data/wal";
+
+        /**
+         * Ventana para agrupar escrituras en un mismo fsync (0 = sincronizar enseguida).
+         */
+        private Duration fsyncInterval = Duration.ZERO;
+
+        /**
+         * Cada cuánto se cargan en dna_records los segmentos cerrados del log.
+         */
+        private Duration applyInterval = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Archivado por día de dna_records ({@code mutant.storage.archive.*}).
+     * Solo aplica al backend jpa.
+     */
+    @Data
+    public static class Archive {
+
+        private boolean enabled = false;
+
+        private String directory = "./data/archive";
+
+        /**
+         * Días que se conservan en la tabla; los anteriores se mueven a particiones comprimidas.
+         */
+        private Duration retention = Duration.ofDays(30);
+
+        /**
+         * Cada cuánto se buscan días para archivar.
+         */
+        private Duration interval = Duration.ofHours(1);
+
+        /**
+         * Registros por bloque comprimido: es lo que se descomprime en cada búsqueda.
+         */
+        private int blockRecords = 1024;
+    }
+}
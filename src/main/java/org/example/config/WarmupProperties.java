@@ -0,0 +1,42 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Propiedades {@code mutant.warmup.*}: calentamiento al iniciar, antes de que la
+ * instancia se declare lista para recibir tráfico.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * N de las matrices sintéticas: una clase por tamaño (chicas, medianas, grandes).
+     */
+    private List<Integer> sizes = List.of(6, 32, 128, 512);
+
+    /**
+     * Celdas a recorrer por tamaño; las detecciones por tamaño son cells / N²
+     * (al menos 1 y como mucho {@link #maxIterations}).
+     */
+    private long cells = 20_000_000;
+
+    private int maxIterations = 20_000;
+
+    /**
+     * Veredictos recientes de dna_records a precargar en el near cache (0 = ninguno).
+     */
+    private int preloadRecent = 50_000;
+
+    /**
+     * Tiempo máximo del calentamiento; al agotarse se deja de calentar y la instancia
+     * queda lista igual.
+     */
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
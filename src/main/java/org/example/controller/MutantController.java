@@ -6,17 +6,35 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.DnaRequest;
+import org.example.dto.JobResponse;
 import org.example.dto.StatsResponse;
+import org.example.service.MutantJobService;
+import org.example.service.MutantJobService.Job;
 import org.example.service.MutantService;
-import org.example.service.StatsService;
+import org.example.service.SequenceAnalyzer;
+import org.example.service.SequenceAnalyzer.Analysis;
+import org.example.service.SequenceAnalyzer.Run;
+import org.example.service.SequenceAnalyzer.Summary;
+import org.example.service.StatsSnapshotService;
+import org.example.service.StatsSnapshotService.StatsSnapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.Reader;
+
 /**
  * Controlador REST que expone los endpoints para detección de mutantes.
  */
@@ -26,8 +44,15 @@ import jakarta.validation.Valid;
 @Tag(name = "Mutant Detector", description = "API para detección de mutantes mediante análisis de ADN")
 public class MutantController {
 
+    // Respuestas de POST /mutant: sin cuerpo, se arman una sola vez y se reutilizan
+    private static final ResponseEntity<Void> MUTANT = ResponseEntity.ok().build();
+    private static final ResponseEntity<Void> HUMAN = ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+
     private final MutantService mutantService;
-    private final StatsService statsService;
+    private final MutantJobService mutantJobService;
+    private final StatsSnapshotService statsSnapshotService;
+    private final SequenceAnalyzer sequenceAnalyzer;
+    private final ObjectMapper objectMapper;
 
     /**
      * Endpoint para verificar si un ADN pertenece a un mutante.
@@ -62,16 +87,174 @@ public class MutantController {
     public ResponseEntity<Void> isMutant(@Valid @RequestBody DnaRequest request) {
         boolean isMutant = mutantService.processDna(request.getDna());
 
-        if (isMutant) {
-            return ResponseEntity.ok().build();
-        } else {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
+        return isMutant ? MUTANT : HUMAN;
+    }
+
+    /**
+     * Endpoint para verificar un ADN que llega como texto, una fila por línea.
+     *
+     * Pensado para productores que generan el ADN fila por fila: el body puede enviarse
+     * chunked y se procesa a medida que llega, sin armar la matriz (memoria O(N)).
+     *
+     * @param body filas de ADN separadas por saltos de línea
+     * @return 200 OK si es mutante, 403 Forbidden si es humano
+     */
+    @PostMapping(value = "/mutant/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(
+            summary = "Verificar un ADN enviado fila por fila",
+            description = "Recibe el ADN como text/plain, una fila por línea (admite transferencia " +
+                    "chunked), y lo analiza a medida que llegan las filas con memoria O(N)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "El ADN pertenece a un mutante", content = @Content),
+            @ApiResponse(responseCode = "403", description = "El ADN pertenece a un humano", content = @Content),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "ADN inválido (filas de distinto largo, caracteres inválidos, etc.)",
+                    content = @Content(schema = @Schema(implementation = Object.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "No disponible con mutant.detection.canonical-hash: usar POST /mutant",
+                    content = @Content(schema = @Schema(implementation = Object.class))
+            )
+    })
+    public ResponseEntity<Void> isMutantStream(Reader body) throws IOException {
+        return mutantService.processDnaStream(body) ? MUTANT : HUMAN;
+    }
+
+    /**
+     * Endpoint para verificar un ADN muy grande sin mantener la conexión abierta.
+     *
+     * Responde enseguida con el id del job (el hash del ADN firmado) y la URL para consultarlo;
+     * la detección corre en segundo plano. Un ADN ya analizado o con un job en curso
+     * no se vuelve a detectar: se devuelve ese veredicto o ese job.
+     *
+     * @param request Objeto con la secuencia de ADN a analizar
+     * @return 202 Accepted con el job pendiente, 200 OK si el veredicto ya existía
+     */
+    @PostMapping(value = "/mutant/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Verificar un ADN de forma asíncrona",
+            description = "Encola la detección y devuelve {\"id\", \"state\"} con Location apuntando a " +
+                    "GET /mutant/jobs/{id}. Si el ADN ya fue analizado devuelve 200 con el veredicto."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Detección encolada o en curso",
+                    content = @Content(schema = @Schema(implementation = JobResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "El ADN ya tenía veredicto",
+                    content = @Content(schema = @Schema(implementation = JobResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "ADN inválido (matriz no cuadrada, caracteres inválidos, etc.)",
+                    content = @Content(schema = @Schema(implementation = Object.class))
+            ),
+            @ApiResponse(responseCode = "503", description = "La cola de jobs está llena", content = @Content)
+    })
+    public ResponseEntity<JobResponse> submitJob(@Valid @RequestBody DnaRequest request) {
+        Job job = mutantJobService.submit(request.getDna());
+        ResponseEntity.BodyBuilder response = job.state() == MutantJobService.State.PENDING
+                ? ResponseEntity.accepted().header(HttpHeaders.RETRY_AFTER, "1")
+                : ResponseEntity.ok();
+        return response.header(HttpHeaders.LOCATION, "/mutant/jobs/" + job.id()).body(toResponse(job));
+    }
+
+    /**
+     * Endpoint para consultar un job de POST /mutant/jobs.
+     *
+     * @param id id del job
+     * @return el estado del job (con el veredicto si terminó), 404 si no existe o venció sin veredicto
+     */
+    @GetMapping(value = "/mutant/jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Consultar una verificación asíncrona",
+            description = "Devuelve {\"id\", \"state\"} con state PENDING, DONE (con \"mutant\") o FAILED " +
+                    "(con \"error\")."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estado del job",
+                    content = @Content(schema = @Schema(implementation = JobResponse.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Job inexistente o vencido", content = @Content)
+    })
+    public ResponseEntity<JobResponse> getJob(@PathVariable String id) {
+        return mutantJobService.find(id)
+                .map(job -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(toResponse(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint de análisis detallado: todas las rachas de K o más letras iguales (K=4 por defecto).
+     *
+     * El ADN se valida y se analiza antes de responder, dentro del permiso de admisión,
+     * con el tiempo máximo de la detección y en el carril de su tamaño; el body solo
+     * escribe las rachas ya encontradas (a lo sumo maxResults) y al final los totales.
+     *
+     * @param request    Objeto con la secuencia de ADN a analizar
+     * @param maxResults máximo de rachas a devolver (acotado por la configuración)
+     * @return JSON con las rachas y los totales
+     */
+    @PostMapping(value = "/mutant/analysis", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Analizar todas las secuencias de un ADN",
+            description = "Devuelve cada racha de K (4 por defecto) o más letras iguales (dirección, fila y columna de " +
+                    "inicio, base y largo) y los totales: {\"size\", \"runs\": [...], \"total_runs\", " +
+                    "\"sequences\", \"truncated\", \"mutant\"}. Con más rachas que maxResults, las " +
+                    "restantes solo se cuentan."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Análisis del ADN", content = @Content),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "ADN inválido (matriz no cuadrada, caracteres inválidos, etc.)",
+                    content = @Content(schema = @Schema(implementation = Object.class))
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> analyze(@Valid @RequestBody DnaRequest request,
+                                                         @RequestParam(required = false) Integer maxResults) {
+        Analysis analysis = sequenceAnalyzer.analyze(request.getDna(), sequenceAnalyzer.limit(maxResults));
+        Summary summary = analysis.summary();
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeNumberField("size", summary.size());
+                json.writeArrayFieldStart("runs");
+                for (Run run : analysis.runs()) {
+                    json.writeStartObject();
+                    json.writeStringField("direction", run.direction().name());
+                    json.writeNumberField("row", run.row());
+                    json.writeNumberField("col", run.col());
+                    json.writeStringField("base", String.valueOf(run.base()));
+                    json.writeNumberField("length", run.length());
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeNumberField("total_runs", summary.runs());
+                json.writeNumberField("sequences", summary.sequences());
+                json.writeBooleanField("truncated", summary.truncated());
+                json.writeBooleanField("mutant", summary.mutant());
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /**
      * Endpoint para obtener estadísticas de verificaciones de ADN.
      *
+     * La respuesta sale de un snapshot ya serializado (ver {@link StatsSnapshotService})
+     * y lleva ETag y Last-Modified: un poll con If-None-Match / If-Modified-Since que
+     * coincide recibe 304 sin cuerpo.
+     *
      * @return Objeto con cantidad de mutantes, humanos y ratio
      */
     @GetMapping("/stats")
@@ -85,10 +268,32 @@ public class MutantController {
                     responseCode = "200",
                     description = "Estadísticas obtenidas exitosamente",
                     content = @Content(schema = @Schema(implementation = StatsResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Las estadísticas no cambiaron desde el ETag / fecha enviados",
+                    content = @Content
             )
     })
-    public ResponseEntity<StatsResponse> stats() {
-        StatsResponse stats = statsService.getStats();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<byte[]> stats(WebRequest webRequest) {
+        StatsSnapshot snapshot = statsSnapshotService.current();
+        CacheControl cacheControl = statsSnapshotService.getStaleness().isZero()
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(statsSnapshotService.getStaleness());
+
+        if (webRequest.checkNotModified(snapshot.eTag(), snapshot.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                .lastModified(snapshot.lastModified())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
+    }
+
+    private static JobResponse toResponse(Job job) {
+        return new JobResponse(job.id(), job.state().name(), job.mutant(), job.error());
     }
 }
@@ -0,0 +1,41 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * DTO para la respuesta de POST /mutant/jobs y GET /mutant/jobs/{id}.
+ * Contiene el estado de una detección asíncrona y, al terminar, su veredicto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Estado de una detección asíncrona de ADN")
+public class JobResponse {
+
+    @Schema(
+            description = "Id del job (hash SHA-256 del ADN seguido de su firma)",
+            example = "5f1b7c0e9d3a2b4c6d8e0f1a3b5c7d9e1f2a4b6c8d0e2f4a6b8c0d2e4f6a8b0c9e8d7c6b5a4f3e2d1c0b9a8f7e6d5c4b3a"
+    )
+    private String id;
+
+    @Schema(
+            description = "PENDING mientras se detecta, DONE con el veredicto o FAILED",
+            example = "DONE"
+    )
+    private String state;
+
+    @Schema(
+            description = "true si es mutante (solo con state=DONE)",
+            example = "true"
+    )
+    private Boolean mutant;
+
+    @Schema(
+            description = "Motivo del fallo (solo con state=FAILED)",
+            example = "Se superó el tiempo máximo de detección"
+    )
+    private String error;
+}
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "dna_records", indexes = {
         @Index(name = "idx_dna_hash", columnList = "dna_hash"),
-        @Index(name = "idx_is_mutant", columnList = "is_mutant")
+        @Index(name = "idx_is_mutant", columnList = "is_mutant"),
+        @Index(name = "idx_created_at", columnList = "created_at")
 })
 @Data
 @NoArgsConstructor
@@ -21,8 +22,17 @@ import java.time.LocalDateTime;
 @Builder
 public class DnaRecord {
 
+    /**
+     * Nombre de la secuencia que alimenta los ids. También la usa el insert
+     * masivo nativo de {@code DnaRecordBulkRepositoryImpl}.
+     */
+    public static final String ID_SEQUENCE = "dna_records_seq";
+
+    /**
+     * Id generado por secuencia (pooled-lo) para permitir inserts en batch.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(sequenceName = ID_SEQUENCE)
     private Long id;
 
     /**
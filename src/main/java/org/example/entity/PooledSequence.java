@@ -0,0 +1,28 @@
+package org.example.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un identificador que se genera con una secuencia de base de datos
+ * usando el optimizador pooled-lo de Hibernate.
+ *
+ * A diferencia de {@code GenerationType.IDENTITY}, el id se conoce antes del
+ * INSERT, por lo que Hibernate puede agrupar varios inserts en un mismo batch JDBC.
+ * El tamaño del bloque reservado por cada llamada a la secuencia se configura con
+ * la propiedad {@value PooledSequenceGenerator#ALLOCATION_SIZE_SETTING}.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PooledSequence {
+
+    /**
+     * Nombre de la secuencia en la base de datos.
+     */
+    String sequenceName();
+}
@@ -0,0 +1,21 @@
+package org.example.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+
+//Excepción para un body comprimido que no se puede descomprimir (400) o que descomprimido supera el máximo (413).
+//Es una IOException porque sale del InputStream que leen Jackson y el Reader de /mutant/stream.
+public class CompressedBodyException extends IOException {
+
+    private final HttpStatus status;
+
+    public CompressedBodyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
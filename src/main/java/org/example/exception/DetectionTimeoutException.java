@@ -0,0 +1,13 @@
+package org.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+//Excepción para indicar que la detección superó el tiempo máximo por request
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DetectionTimeoutException extends RuntimeException {
+
+    public DetectionTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+//Excepción para indicar que POST /mutant/stream no está disponible con la configuración actual
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DnaStreamUnavailableException extends RuntimeException {
+
+    public DnaStreamUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+//Excepción para indicar que la matriz de ADN supera el N máximo configurado
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class DnaTooLargeException extends RuntimeException {
+
+    public DnaTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.exception;
+
+/**
+ * Motivos por los que un ADN es inválido, con un código estable para los clientes.
+ *
+ * El código viaja en el campo {@code code} del cuerpo de error (400) y el mensaje
+ * es el mismo de siempre.
+ */
+public enum DnaValidationError {
+
+    EMPTY("DNA_EMPTY", "El ADN no puede ser nulo ni vacío"),
+    TOO_SMALL("DNA_TOO_SMALL", "El ADN debe ser una matriz cuadrada mínima de 4x4"),
+    NULL_ROW("DNA_NULL_ROW", "Las filas de ADN no pueden ser nulas"),
+    NOT_SQUARE("DNA_NOT_SQUARE", "El ADN debe ser una matriz cuadrada NxN"),
+    INVALID_BASE("DNA_INVALID_BASE", "El ADN solo puede contener las letras A, C, G y T");
+
+    private final String code;
+    private final String message;
+
+    DnaValidationError(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cuerpos JSON de error ya serializados, con el formato de siempre:
+ * {@code {"timestamp":..., "status":..., "error":..., "message":..., "path":...}}
+ * (más {@code "code"} cuando el error tiene un {@link DnaValidationError}).
+ *
+ * Por cada combinación estado + mensaje + path se arma una vez el JSON dividido en
+ * dos mitades alrededor del timestamp; un error solo copia esas mitades y el
+ * timestamp actual en un único byte[], sin Map, sin Jackson y sin formatear fechas
+ * (el timestamp se reformatea como mucho una vez por segundo).
+ *
+ * Los mensajes conocidos de validación se cargan al iniciar; los demás se agregan
+ * la primera vez que aparecen, hasta {@value #MAX_TEMPLATES} plantillas (los
+ * mensajes con partes variables no llenan la tabla: pasado el límite se arman sin
+ * guardarse).
+ */
+public final class ErrorResponses {
+
+    public static final String MUTANT_PATH = "/mutant";
+
+    static final int MAX_TEMPLATES = 256;
+
+    /**
+     * Mensajes de Bean Validation sobre DnaRequest y de body ilegible
+     * (los de {@link DnaValidationError} se cargan con su código).
+     */
+    static final List<String> KNOWN_BAD_REQUEST_MESSAGES = List.of(
+            "Validation failed: El ADN no puede ser nulo",
+            "Validation failed: El ADN no puede estar vacío",
+            "Validation failed: Invalid DNA sequence: must be a square NxN matrix (minimum 4x4) "
+                    + "with only A, T, C, G characters",
+            "Request body is missing or malformed");
+
+    private static final byte[] PREFIX = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    // Headers de solo lectura compartidos: ResponseEntity no los copia
+    private static final HttpHeaders JSON_HEADERS = jsonHeaders(null);
+    private static final Map<Long, HttpHeaders> RETRY_AFTER_HEADERS = new ConcurrentHashMap<>();
+
+    private static final Map<Key, byte[]> SUFFIXES = new ConcurrentHashMap<>();
+    private static volatile Timestamp timestamp = new Timestamp(-1, new byte[0]);
+
+    static {
+        for (String message : KNOWN_BAD_REQUEST_MESSAGES) {
+            suffix(HttpStatus.BAD_REQUEST, null, message, MUTANT_PATH);
+        }
+        for (DnaValidationError error : DnaValidationError.values()) {
+            suffix(HttpStatus.BAD_REQUEST, error.getCode(), error.getMessage(), MUTANT_PATH);
+        }
+    }
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * Respuesta de error para el path de POST /mutant.
+     */
+    public static ResponseEntity<byte[]> of(HttpStatus status, String message) {
+        return new ResponseEntity<>(body(status, null, message, MUTANT_PATH), JSON_HEADERS, status);
+    }
+
+    /**
+     * Respuesta de error para el path del request.
+     */
+    public static ResponseEntity<byte[]> of(HttpStatus status, String message, String path) {
+        return new ResponseEntity<>(body(status, null, message, path), JSON_HEADERS, status);
+    }
+
+    /**
+     * 400 de POST /mutant para un ADN inválido, con su código.
+     */
+    public static ResponseEntity<byte[]> of(DnaValidationError error) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        return new ResponseEntity<>(body(status, error.getCode(), error.getMessage(), MUTANT_PATH),
+                JSON_HEADERS, status);
+    }
+
+    /**
+     * Respuesta de error con un header Retry-After, para el path del request.
+     */
+    public static ResponseEntity<byte[]> retryAfter(HttpStatus status, String message, long seconds, String path) {
+        HttpHeaders headers = RETRY_AFTER_HEADERS.computeIfAbsent(seconds, ErrorResponses::jsonHeaders);
+        return new ResponseEntity<>(body(status, null, message, path), headers, status);
+    }
+
+    /**
+     * JSON de error en UTF-8 con el timestamp actual.
+     */
+    public static byte[] body(HttpStatus status, String message, String path) {
+        return body(status, null, message, path);
+    }
+
+    private static byte[] body(HttpStatus status, String code, String message, String path) {
+        byte[] suffix = suffix(status, code, message, path);
+        byte[] now = timestamp();
+
+        byte[] body = new byte[PREFIX.length + now.length + suffix.length];
+        System.arraycopy(PREFIX, 0, body, 0, PREFIX.length);
+        System.arraycopy(now, 0, body, PREFIX.length, now.length);
+        System.arraycopy(suffix, 0, body, PREFIX.length + now.length, suffix.length);
+        return body;
+    }
+
+    private static byte[] suffix(HttpStatus status, String code, String message, String path) {
+        Key key = new Key(status.value(), code, path, message);
+        byte[] suffix = SUFFIXES.get(key);
+        if (suffix != null) {
+            return suffix;
+        }
+
+        suffix = ("\",\"status\":" + status.value()
+                + ",\"error\":\"" + escape(status.getReasonPhrase())
+                + "\",\"message\":\"" + escape(message)
+                + (code != null ? "\",\"code\":\"" + escape(code) : "")
+                + "\",\"path\":\"" + escape(path) + "\"}").getBytes(StandardCharsets.UTF_8);
+        if (SUFFIXES.size() < MAX_TEMPLATES) {
+            SUFFIXES.putIfAbsent(key, suffix);
+        }
+        return suffix;
+    }
+
+    /**
+     * Fecha y hora local con resolución de segundos, reformateada al cambiar de segundo.
+     */
+    private static byte[] timestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        Timestamp current = timestamp;
+        if (current.second() != second) {
+            String formatted = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZONE).toString();
+            current = new Timestamp(second, formatted.getBytes(StandardCharsets.UTF_8));
+            timestamp = current;
+        }
+        return current.bytes();
+    }
+
+    private static HttpHeaders jsonHeaders(Long retryAfterSeconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (retryAfterSeconds != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private record Key(int status, String code, String path, String message) {
+    }
+
+    private record Timestamp(long second, byte[] bytes) {
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -7,13 +8,14 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Manejador global de excepciones para la API.
  * Captura excepciones y las convierte en respuestas HTTP apropiadas.
+ *
+ * Los cuerpos salen ya serializados de {@link ErrorResponses}: con mucho tráfico
+ * inválido, cada error no arma un Map ni pasa por Jackson.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -22,59 +24,83 @@ public class GlobalExceptionHandler {
      * Maneja errores de validación de Bean Validation (@NotNull, @NotEmpty, etc.)
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Bad Request");
-        response.put("message", "Validation failed: " + ex.getBindingResult().getAllErrors().get(0).getDefaultMessage());
-        response.put("path", "/mutant");
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    public ResponseEntity<byte[]> handleValidationErrors(MethodArgumentNotValidException ex) {
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST,
+                "Validation failed: " + ex.getBindingResult().getAllErrors().get(0).getDefaultMessage());
     }
 
     /**
-     * Maneja errores de ADN inválido (matriz no cuadrada, caracteres inválidos, etc.)
+     * Maneja errores de ADN inválido (matriz no cuadrada, caracteres inválidos, etc.),
+     * con el código de {@link DnaValidationError} cuando lo tiene
      */
     @ExceptionHandler(InvalidDnaException.class)
-    public ResponseEntity<Map<String, Object>> handleInvalidDnaException(InvalidDnaException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Bad Request");
-        response.put("message", ex.getMessage());
-        response.put("path", "/mutant");
+    public ResponseEntity<byte[]> handleInvalidDnaException(InvalidDnaException ex) {
+        if (ex.getError() != null) {
+            return ErrorResponses.of(ex.getError());
+        }
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * Maneja matrices de ADN más grandes que el N máximo configurado
+     */
+    @ExceptionHandler(DnaTooLargeException.class)
+    public ResponseEntity<byte[]> handleDnaTooLarge(DnaTooLargeException ex) {
+        return ErrorResponses.of(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage());
+    }
+
+    /**
+     * Maneja detecciones que superaron el tiempo máximo por request
+     */
+    @ExceptionHandler(DetectionTimeoutException.class)
+    public ResponseEntity<byte[]> handleDetectionTimeout(DetectionTimeoutException ex) {
+        return ErrorResponses.of(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    /**
+     * Maneja POST /mutant/stream con mutant.detection.canonical-hash activo
+     */
+    @ExceptionHandler(DnaStreamUnavailableException.class)
+    public ResponseEntity<byte[]> handleDnaStreamUnavailable(DnaStreamUnavailableException ex,
+                                                             HttpServletRequest request) {
+        return ErrorResponses.of(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+    }
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    /**
+     * Maneja bodies comprimidos corruptos o que descomprimidos superan el máximo
+     */
+    @ExceptionHandler(CompressedBodyException.class)
+    public ResponseEntity<byte[]> handleCompressedBody(CompressedBodyException ex) {
+        return ErrorResponses.of(ex.getStatus(), ex.getMessage());
+    }
+
+    /**
+     * Maneja un carril saturado (el executor de matrices grandes o el carril de
+     * duplicados, detección o /stats), con el path del request que se rechazó
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<byte[]> handleRejectedExecution(RejectedExecutionException ex, HttpServletRequest request) {
+        return ErrorResponses.retryAfter(HttpStatus.SERVICE_UNAVAILABLE, "Server overloaded, retry later", 1,
+                request.getRequestURI());
     }
 
     /**
      * Maneja errores cuando el body del request no es válido o está vacío
      */
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<Map<String, Object>> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Bad Request");
-        response.put("message", "Request body is missing or malformed");
-        response.put("path", "/mutant");
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    public ResponseEntity<byte[]> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
+        // Spring (y Jackson) envuelven las IOException del body, también las de la descompresión
+        if (ex.getMostSpecificCause() instanceof CompressedBodyException compressed) {
+            return handleCompressedBody(compressed);
+        }
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, "Request body is missing or malformed");
     }
 
     /**
      * Maneja cualquier otra excepción no capturada
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now().toString());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        response.put("error", "Internal Server Error");
-        response.put("message", "An unexpected error occurred");
-        response.put("path", "/mutant");
-
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
+        return ErrorResponses.of(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
     }
 }
@@ -3,11 +3,48 @@ package org.example.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 //Excepción para indicar que el ADN recibido es invalido
+//
+//Es una excepción de control de flujo (el ADN inválido es tráfico normal), así que no
+//guarda stack trace: crearla no recorre la pila. Para los errores de DnaValidationError
+//hay una instancia compartida por código (of), sin costo por request.
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class InvalidDnaException extends RuntimeException {
 
+    private static final Map<DnaValidationError, InvalidDnaException> SHARED = new EnumMap<>(DnaValidationError.class);
+
+    static {
+        for (DnaValidationError error : DnaValidationError.values()) {
+            SHARED.put(error, new InvalidDnaException(error));
+        }
+    }
+
+    private final DnaValidationError error;
+
     public InvalidDnaException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.error = null;
+    }
+
+    public InvalidDnaException(DnaValidationError error) {
+        super(error.getMessage(), null, false, false);
+        this.error = error;
+    }
+
+    /**
+     * Instancia compartida (inmutable: sin stack trace ni suprimidas) para el error.
+     */
+    public static InvalidDnaException of(DnaValidationError error) {
+        return SHARED.get(error);
+    }
+
+    /**
+     * Código del error, o null si se creó con un mensaje libre.
+     */
+    public DnaValidationError getError() {
+        return error;
     }
 }
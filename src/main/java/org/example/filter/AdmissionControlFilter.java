@@ -0,0 +1,110 @@
+package org.example.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.concurrency.AdaptiveConcurrencyLimiter;
+import org.example.config.AdmissionProperties;
+import org.example.exception.ErrorResponses;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Control de admisión delante de POST /mutant.
+ *
+ * Cada request pide al {@link AdaptiveConcurrencyLimiter} tantos permisos como su costo
+ * estimado (Content-Length / cellsPerPermit, es decir ~N² de la matriz). Si no hay lugar
+ * se responde enseguida con 503 (o 429) y Retry-After, antes de leer o parsear el body:
+ * bajo sobrecarga es mejor rechazar rápido que encolar en Tomcat y hacer esperar a todos.
+ *
+ * Métricas: {@code mutant.admission.limit}, {@code mutant.admission.inflight} y
+ * {@code mutant.admission.rejected}.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final AdmissionProperties properties;
+    private final Counter rejected;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, AdmissionProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.properties = properties;
+
+        Gauge.builder("mutant.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Límite actual de permisos concurrentes de POST /mutant")
+                .register(meterRegistry);
+        Gauge.builder("mutant.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Permisos en uso por requests de POST /mutant en curso")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("mutant.admission.rejected")
+                .description("Requests de POST /mutant rechazados por sobrecarga")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        int weight = weightOf(request);
+
+        if (!limiter.tryAcquire(weight)) {
+            rejected.increment();
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sampled = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Solo los veredictos (200/403) reflejan el costo real de procesar la matriz
+            int status = response.getStatus();
+            if (status == HttpStatus.OK.value() || status == HttpStatus.FORBIDDEN.value()) {
+                limiter.onSuccess(weight, System.nanoTime() - start);
+                sampled = true;
+            }
+        } finally {
+            if (!sampled) {
+                limiter.onIgnore(weight);
+            }
+        }
+    }
+
+    /**
+     * Permisos que ocupa el request: ~N² celdas de la matriz según el tamaño del body.
+     * Un body comprimido no dice nada de N y pesa como uno sin Content-Length.
+     */
+    int weightOf(HttpServletRequest request) {
+        long length = request.getContentLengthLong();
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (length < 0 || (encoding != null && !"identity".equalsIgnoreCase(encoding.strip()))) {
+            return properties.getUnknownLengthWeight();
+        }
+        long weight = (length + properties.getCellsPerPermit() - 1) / properties.getCellsPerPermit();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, weight));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.valueOf(properties.getRejectStatus());
+
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Mismo formato que GlobalExceptionHandler, ya serializado
+        response.getOutputStream().write(
+                ErrorResponses.body(status, "Server overloaded, retry later", request.getRequestURI()));
+    }
+}
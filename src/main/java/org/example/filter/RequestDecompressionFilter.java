@@ -0,0 +1,248 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.exception.CompressedBodyException;
+import org.example.exception.ErrorResponses;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Acepta bodies comprimidos (Content-Encoding gzip o deflate) en los POST de /mutant.
+ *
+ * El body se descomprime a medida que Jackson (o el Reader de /mutant/stream) lo lee,
+ * sin armarlo completo en memoria; un ADN de 4 letras comprime varias veces, así que
+ * el upload es mucho más chico. El controller ve un request sin Content-Encoding ni
+ * Content-Length.
+ *
+ * Contra las bombas de descompresión, lo descomprimido tiene el mismo máximo que un
+ * body sin comprimir: al pasarlo se corta la lectura con 413, sin seguir inflando.
+ * Solo se admite una codificación; cualquier otra (zstd, br, varias encadenadas) se
+ * rechaza con 415 antes de leer el body.
+ */
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private static final List<String> HIDDEN_HEADERS = List.of(
+            HttpHeaders.CONTENT_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT));
+
+    private final long maxDecompressedBytes;
+
+    /**
+     * @param maxDecompressedBytes bytes máximos del body ya descomprimido
+     */
+    public RequestDecompressionFilter(long maxDecompressedBytes) {
+        this.maxDecompressedBytes = maxDecompressedBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING).strip().toLowerCase(Locale.ROOT);
+        switch (encoding) {
+            case "identity" -> filterChain.doFilter(request, response);
+            case "gzip", "x-gzip", "deflate" ->
+                    filterChain.doFilter(new DecompressedRequest(request, encoding, maxDecompressedBytes), response);
+            default -> {
+                HttpStatus status = HttpStatus.UNSUPPORTED_MEDIA_TYPE;
+                response.setStatus(status.value());
+                response.setHeader("Accept-Encoding", "gzip, deflate");
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                // Mismo formato que GlobalExceptionHandler, ya serializado
+                response.getOutputStream().write(
+                        ErrorResponses.body(status, "Unsupported Content-Encoding", request.getRequestURI()));
+            }
+        }
+    }
+
+    /**
+     * Request con el body descomprimido y sin los headers del body comprimido.
+     */
+    private static final class DecompressedRequest extends HttpServletRequestWrapper {
+
+        private final String encoding;
+        private final long maxBytes;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        DecompressedRequest(HttpServletRequest request, String encoding, long maxBytes) {
+            super(request);
+            this.encoding = encoding;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (reader != null) {
+                throw new IllegalStateException("getReader() ya fue llamado");
+            }
+            if (inputStream == null) {
+                inputStream = new DecompressingInputStream(super.getInputStream(), encoding, maxBytes);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String characterEncoding = getCharacterEncoding();
+                Charset charset = characterEncoding != null ? Charset.forName(characterEncoding) : StandardCharsets.UTF_8;
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(DecompressedRequest::isHidden);
+            return Collections.enumeration(names);
+        }
+
+        private static boolean isHidden(String name) {
+            return HIDDEN_HEADERS.contains(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Descomprime de a bloques; entrega como mucho {@code maxBytes} y, si el body sigue,
+     * corta con {@link CompressedBodyException} (413).
+     * Los errores del formato comprimido salen como {@link CompressedBodyException} (400).
+     */
+    private static final class DecompressingInputStream extends ServletInputStream {
+
+        private final ServletInputStream compressed;
+        private final String encoding;
+        private final long maxBytes;
+        // Buffer de read() de a un byte, para no crear un arreglo por llamada
+        private final byte[] single = new byte[1];
+        private InputStream decompressed;
+        private long read;
+        private boolean finished;
+
+        DecompressingInputStream(ServletInputStream compressed, String encoding, long maxBytes) {
+            this.compressed = compressed;
+            this.encoding = encoding;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (finished) {
+                return -1;
+            }
+            try {
+                long remaining = maxBytes - read;
+                if (remaining == 0) {
+                    // Se entregó el máximo: solo se acepta que el body termine ahí
+                    if (decompressed().read() >= 0) {
+                        throw new CompressedBodyException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                "Decompressed request body too large");
+                    }
+                    finished = true;
+                    return -1;
+                }
+                int n = decompressed().read(buffer, offset, (int) Math.min(length, remaining));
+                if (n < 0) {
+                    finished = true;
+                    return -1;
+                }
+                read += n;
+                return n;
+            } catch (ZipException | EOFException e) {
+                throw new CompressedBodyException(HttpStatus.BAD_REQUEST, "Malformed compressed request body");
+            }
+        }
+
+        /**
+         * El GZIPInputStream lee la cabecera al crearse: se crea en la primera lectura,
+         * para que un gzip inválido también dé 400.
+         */
+        private InputStream decompressed() throws IOException {
+            if (decompressed == null) {
+                decompressed = "deflate".equals(encoding)
+                        ? new InflaterInputStream(compressed)
+                        : new GZIPInputStream(compressed, 8192);
+            }
+            return decompressed;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            // Como pide ServletInputStream si la lectura no bloqueante no está disponible
+            throw new IllegalStateException("Lectura no bloqueante no soportada con bodies comprimidos");
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decompressed != null) {
+                decompressed.close();
+            } else {
+                compressed.close();
+            }
+        }
+    }
+}
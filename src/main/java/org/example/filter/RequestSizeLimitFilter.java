@@ -0,0 +1,49 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.exception.ErrorResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rechaza con 413 los POST cuyo Content-Length ya indica una matriz más grande que
+ * la permitida, antes de que Jackson lea y parsee el body completo.
+ *
+ * Un body sin Content-Length (chunked) pasa: el N se controla igual en
+ * {@link org.example.service.MutantDetector} después del parseo.
+ */
+public class RequestSizeLimitFilter extends OncePerRequestFilter {
+
+    private final long maxBodyBytes;
+
+    public RequestSizeLimitFilter(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (request.getContentLengthLong() <= maxBodyBytes) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpStatus status = HttpStatus.PAYLOAD_TOO_LARGE;
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Mismo formato que GlobalExceptionHandler, ya serializado
+        response.getOutputStream().write(
+                ErrorResponses.body(status, "Request body too large", request.getRequestURI()));
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JDK Flight Recorder para una etapa de MutantService.processDna
+ * (hash, lookup, detect o persist), con el tamaño de la matriz y el veredicto, o la
+ * excepción si el request falló.
+ *
+ * Se ve en JDK Mission Control junto a GC, safepoints y locks del mismo hilo, que es
+ * lo que permite saber a qué se debe un pico de latencia.
+ */
+@Name(DnaStageEvent.NAME)
+@Label("DNA Stage")
+@Category({"Mutant Detector", "processDna"})
+@Description("Etapa de MutantService.processDna")
+@StackTrace(false)
+public class DnaStageEvent extends Event {
+
+    public static final String NAME = "org.example.DnaStage";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Matrix Size")
+    @Description("N de la matriz NxN")
+    int matrixSize;
+
+    @Label("Mutant")
+    boolean mutant;
+
+    @Label("Stored Verdict")
+    @Description("El veredicto salió del almacenamiento (sin detección)")
+    boolean stored;
+
+    @Label("Error")
+    @Description("Excepción con la que terminó el request (null si terminó con veredicto)")
+    String error;
+}
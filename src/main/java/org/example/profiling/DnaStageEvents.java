@@ -0,0 +1,117 @@
+package org.example.profiling;
+
+import jdk.jfr.EventType;
+
+/**
+ * Eventos {@link DnaStageEvent} de un processDna.
+ *
+ * Cada etapa se abre y se cierra en su momento, pero los eventos se confirman juntos
+ * al final, cuando ya se conocen el tamaño y el veredicto ({@link #verdict}) o la
+ * excepción ({@link #fail}): {@link #commit} va en un finally, así un request que falla
+ * (por ejemplo por tiempo máximo) también queda en la grabación. Si ninguna grabación de JFR
+ * tiene habilitado el evento, {@link #start()} devuelve una instancia compartida que
+ * no hace nada: ni eventos ni asignaciones, solo una lectura de
+ * {@link EventType#isEnabled()} por request.
+ */
+public final class DnaStageEvents {
+
+    public enum Stage {
+        HASH, LOOKUP, DETECT, PERSIST;
+
+        private final String label = name().toLowerCase();
+    }
+
+    private static final EventType TYPE = EventType.getEventType(DnaStageEvent.class);
+    private static final DnaStageEvents DISABLED = new DnaStageEvents(null);
+
+    // null = evento deshabilitado
+    private final DnaStageEvent[] events;
+
+    // Resultado del request (solo con el evento habilitado: DISABLED es compartida)
+    private boolean mutant;
+    private boolean stored;
+    private String error;
+
+    private DnaStageEvents(DnaStageEvent[] events) {
+        this.events = events;
+    }
+
+    public static DnaStageEvents start() {
+        return TYPE.isEnabled() ? new DnaStageEvents(new DnaStageEvent[Stage.values().length]) : DISABLED;
+    }
+
+    /**
+     * Si alguna grabación de JFR tiene habilitado {@link DnaStageEvent}.
+     */
+    public static boolean isRecording() {
+        return TYPE.isEnabled();
+    }
+
+    public void begin(Stage stage) {
+        if (events == null) {
+            return;
+        }
+        DnaStageEvent event = new DnaStageEvent();
+        event.stage = stage.label;
+        event.begin();
+        events[stage.ordinal()] = event;
+    }
+
+    public void end(Stage stage) {
+        if (events == null) {
+            return;
+        }
+        DnaStageEvent event = events[stage.ordinal()];
+        if (event != null) {
+            event.end();
+        }
+    }
+
+    /**
+     * Registra el veredicto del request.
+     *
+     * @param stored si el veredicto salió del almacenamiento
+     */
+    public void verdict(boolean mutant, boolean stored) {
+        if (events == null) {
+            return;
+        }
+        this.mutant = mutant;
+        this.stored = stored;
+    }
+
+    /**
+     * Registra la excepción con la que terminó el request.
+     */
+    public void fail(Throwable failure) {
+        if (events == null) {
+            return;
+        }
+        this.error = failure.getClass().getSimpleName();
+    }
+
+    /**
+     * Confirma las etapas que se registraron (una etapa cortada por una excepción
+     * termina acá).
+     *
+     * @param matrixSize N de la matriz (0 si no se llegó a conocer)
+     */
+    public void commit(int matrixSize) {
+        if (events == null) {
+            return;
+        }
+        for (DnaStageEvent event : events) {
+            if (event != null) {
+                event.matrixSize = matrixSize;
+                event.mutant = mutant;
+                event.stored = stored;
+                event.error = error;
+                event.commit();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return events != null;
+    }
+}
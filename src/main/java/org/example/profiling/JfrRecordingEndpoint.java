@@ -0,0 +1,146 @@
+package org.example.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.example.config.ProfilingProperties;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint /actuator/jfr: grabaciones de JDK Flight Recorder a pedido, acotadas en
+ * duración, antigüedad y tamaño ({@code mutant.profiling.*}).
+ *
+ * - GET  /actuator/jfr        estado de la grabación
+ * - POST /actuator/jfr/start  inicia una grabación (body opcional: settings, duration)
+ * - POST /actuator/jfr/stop   la detiene (los datos quedan para el dump)
+ * - GET  /actuator/jfr/dump   descarga el .jfr (también con la grabación en curso)
+ *
+ * Cada grabación habilita {@link DnaStageEvent}; sin grabación el evento está
+ * deshabilitado y processDna no crea eventos. Hay una sola grabación a la vez.
+ * Deshabilitado por defecto: {@code management.endpoint.jfr.enabled=true}.
+ */
+@Component
+@Endpoint(id = "jfr", enableByDefault = false)
+public class JfrRecordingEndpoint {
+
+    static final String RECORDING_NAME = "mutant-detector";
+
+    private final ProfilingProperties properties;
+
+    // Última grabación (en curso o detenida); se cierra al iniciar otra
+    private Recording recording;
+    private String recordingSettings;
+
+    public JfrRecordingEndpoint(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("settings", recordingSettings);
+            status.put("startTime", recording.getStartTime());
+            status.put("stopTime", recording.getStopTime());
+            status.put("duration", recording.getDuration());
+            status.put("maxAge", recording.getMaxAge());
+            status.put("maxSize", recording.getMaxSize());
+            status.put("size", recording.getSize());
+        }
+        status.put("dnaStageEventEnabled", DnaStageEvents.isRecording());
+        return status;
+    }
+
+    /**
+     * @param action   start o stop
+     * @param settings configuración de JFR para start ("default" o "profile")
+     * @param duration duración de la grabación, acotada por {@code mutant.profiling.max-duration}
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> control(@Selector String action, @Nullable String settings,
+                                                    @Nullable Duration duration) {
+        switch (action) {
+            case "start" -> start(settings != null ? settings : properties.getSettings(), duration);
+            case "stop" -> stop();
+            default -> throw new InvalidEndpointRequestException("Acción desconocida: " + action,
+                    "Acción desconocida (start o stop)");
+        }
+        return status();
+    }
+
+    /**
+     * Vuelca la grabación a {@code mutant.profiling.dump-directory} y la devuelve.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource dump(@Selector String action) {
+        if (!"dump".equals(action)) {
+            return null;
+        }
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            throw new InvalidEndpointRequestException("No hay grabación para volcar", "No hay grabación para volcar");
+        }
+        Path file = Path.of(properties.getDumpDirectory(), RECORDING_NAME + ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo volcar la grabación de JFR", e);
+        }
+        return new FileSystemResource(file);
+    }
+
+    private void start(String settings, Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("Ya hay una grabación en curso", "Ya hay una grabación en curso");
+        }
+        if (!"default".equals(settings) && !"profile".equals(settings)) {
+            throw new InvalidEndpointRequestException("Configuración de JFR desconocida: " + settings,
+                    "Configuración de JFR desconocida (default o profile)");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("No se pudo leer la configuración de JFR " + settings, e);
+        }
+
+        Duration maxDuration = properties.getMaxDuration();
+        Recording next = new Recording(configuration);
+        next.setName(RECORDING_NAME);
+        next.enable(DnaStageEvent.class);
+        next.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        next.setMaxAge(properties.getMaxAge());
+        next.setMaxSize(properties.getMaxSize().toBytes());
+        next.setToDisk(true);
+        next.start();
+        recording = next;
+        recordingSettings = settings;
+    }
+
+    private void stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("No hay una grabación en curso", "No hay una grabación en curso");
+        }
+        recording.stop();
+    }
+}
@@ -0,0 +1,359 @@
+package org.example.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Partición archivada de dna_records: los veredictos de un día en un archivo comprimido.
+ *
+ * Formato (todo big-endian):
+ * - bloques: registros de {@value VerdictLog#RECORD_SIZE} bytes (hash + veredicto) ordenados
+ *   por hash, de a {@code blockRecords} por bloque, cada bloque comprimido con Deflate,
+ * - footer: día, totales (registros, mutantes, humanos), índice de bloques (offset, largo,
+ *   cantidad y primer hash de cada uno) y un filtro de Bloom con todos los hashes,
+ * - trailer: offset del footer y número mágico.
+ *
+ * Al abrirla solo se cargan en memoria el footer (índice + Bloom), no los registros.
+ * Una búsqueda descarta casi todos los hashes ausentes con el Bloom; si pasa, busca
+ * el bloque por el índice, lee y descomprime solo ese bloque y hace búsqueda binaria.
+ */
+public class ArchivePartition implements AutoCloseable {
+
+    private static final int MAGIC = 0x4D564131;  // "MVA1"
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int HASH_SIZE = VerdictLog.HASH_SIZE;
+    private static final int RECORD_SIZE = VerdictLog.RECORD_SIZE;
+    private static final int BLOOM_BITS_PER_RECORD = 10;
+    private static final int BLOOM_HASHES = 7;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final LocalDate day;
+    private final long records;
+    private final long mutants;
+    private final long humans;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final int[] blockRecords;
+    private final byte[][] blockFirstHash;
+    private final long[] bloom;
+
+    private ArchivePartition(Path file, FileChannel channel, ByteBuffer footer) {
+        this.file = file;
+        this.channel = channel;
+        this.day = LocalDate.ofEpochDay(footer.getLong());
+        this.records = footer.getLong();
+        this.mutants = footer.getLong();
+        this.humans = footer.getLong();
+
+        int blocks = footer.getInt();
+        this.blockOffsets = new long[blocks];
+        this.blockLengths = new int[blocks];
+        this.blockRecords = new int[blocks];
+        this.blockFirstHash = new byte[blocks][HASH_SIZE];
+        for (int i = 0; i < blocks; i++) {
+            blockOffsets[i] = footer.getLong();
+            blockLengths[i] = footer.getInt();
+            blockRecords[i] = footer.getInt();
+            footer.get(blockFirstHash[i]);
+        }
+
+        this.bloom = new long[footer.getInt()];
+        footer.asLongBuffer().get(bloom);
+    }
+
+    /**
+     * Abre una partición existente cargando su footer.
+     */
+    public static ArchivePartition open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Formato de partición desconocido: " + file);
+            }
+            ByteBuffer footer = readFully(channel, footerOffset, (int) (size - TRAILER_SIZE - footerOffset));
+            return new ArchivePartition(file, channel, footer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return el veredicto (1 mutante, 0 humano) o -1 si el hash no está en la partición
+     */
+    public int find(byte[] hash) {
+        if (!mightContain(hash)) {
+            return -1;
+        }
+
+        // Último bloque cuyo primer hash es <= al buscado
+        int low = 0;
+        int high = blockFirstHash.length - 1;
+        int block = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(blockFirstHash[mid], hash) <= 0) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (block < 0) {
+            return -1;
+        }
+
+        byte[] data = readBlock(block);
+        low = 0;
+        high = blockRecords[block] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = mid * RECORD_SIZE;
+            int cmp = Arrays.compareUnsigned(data, offset, offset + HASH_SIZE, hash, 0, HASH_SIZE);
+            if (cmp == 0) {
+                return data[offset + HASH_SIZE];
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getMutants() {
+        return mutants;
+    }
+
+    public long getHumans() {
+        return humans;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error cerrando la partición " + file, e);
+        }
+    }
+
+    private boolean mightContain(byte[] hash) {
+        long bits = (long) bloom.length * Long.SIZE;
+        long h1 = ByteBuffer.wrap(hash).getLong(0);
+        long h2 = ByteBuffer.wrap(hash).getLong(8) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] readBlock(int block) {
+        byte[] data = new byte[blockRecords[block] * RECORD_SIZE];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(readFully(channel, blockOffsets[block], blockLengths[block]));
+            int total = 0;
+            while (total < data.length && !inflater.finished()) {
+                int inflated = inflater.inflate(data, total, data.length - total);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    // Bloque truncado: no llega más entrada y el loop no avanzaría nunca
+                    throw new IllegalStateException("Bloque truncado en la partición " + file);
+                }
+                total += inflated;
+            }
+            if (total < data.length) {
+                throw new IllegalStateException("Bloque incompleto en la partición " + file);
+            }
+            return data;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo la partición " + file, e);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Bloque corrupto en la partición " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Fin de archivo inesperado");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Escribe una partición nueva. Los registros deben llegar ordenados por hash.
+     */
+    public static class Writer implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final LocalDate day;
+        private final int recordsPerBlock;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final ByteBuffer block;
+        private final long[] bloom;
+        private ByteBuffer index;
+
+        private byte[] lastHash;
+        private byte[] blockFirstHash;
+        private int blockCount;
+        private long records;
+        private long mutants;
+        private long humans;
+        private long position;
+
+        /**
+         * @param expectedRecords registros que se van a escribir (dimensiona el filtro de Bloom)
+         * @param recordsPerBlock registros por bloque comprimido
+         */
+        public Writer(Path file, LocalDate day, long expectedRecords, int recordsPerBlock) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.day = day;
+            this.recordsPerBlock = recordsPerBlock;
+            this.block = ByteBuffer.allocate(recordsPerBlock * RECORD_SIZE);
+            this.bloom = new long[(int) Math.max(1, (Math.max(1, expectedRecords) * BLOOM_BITS_PER_RECORD + 63) / 64)];
+
+            long blocks = Math.max(1, (expectedRecords + recordsPerBlock - 1) / recordsPerBlock);
+            this.index = ByteBuffer.allocate((int) (blocks * (Long.BYTES + 2 * Integer.BYTES + HASH_SIZE)));
+        }
+
+        public void add(byte[] hash, boolean mutant) throws IOException {
+            if (lastHash != null && Arrays.compareUnsigned(lastHash, hash) >= 0) {
+                throw new IllegalStateException("Los registros de la partición deben llegar ordenados y sin repetir");
+            }
+            lastHash = hash;
+
+            if (block.position() == 0) {
+                blockFirstHash = hash;
+            }
+            block.put(hash, 0, HASH_SIZE).put((byte) (mutant ? 1 : 0));
+            addToBloom(hash);
+            records++;
+            if (mutant) {
+                mutants++;
+            } else {
+                humans++;
+            }
+
+            if (!block.hasRemaining()) {
+                writeBlock();
+            }
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * Escribe el último bloque, el footer y el trailer, y sincroniza el archivo.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                if (block.position() > 0) {
+                    writeBlock();
+                }
+
+                long footerOffset = position;
+                ByteBuffer header = ByteBuffer.allocate(4 * Long.BYTES + Integer.BYTES);
+                header.putLong(day.toEpochDay()).putLong(records).putLong(mutants).putLong(humans).putInt(blockCount);
+                write(header.flip());
+                write(index.flip());
+
+                ByteBuffer bloomBuffer = ByteBuffer.allocate(Integer.BYTES + bloom.length * Long.BYTES);
+                bloomBuffer.putInt(bloom.length);
+                bloomBuffer.asLongBuffer().put(bloom);
+                bloomBuffer.position(bloomBuffer.capacity());
+                write(bloomBuffer.flip());
+
+                write(ByteBuffer.allocate(TRAILER_SIZE).putLong(footerOffset).putInt(MAGIC).flip());
+                channel.force(true);
+            } finally {
+                deflater.end();
+                channel.close();
+            }
+        }
+
+        private void writeBlock() throws IOException {
+            int recordCount = block.position() / RECORD_SIZE;
+            deflater.reset();
+            deflater.setInput(block.array(), 0, block.position());
+            deflater.finish();
+
+            byte[] compressed = new byte[block.position() + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+
+            ensureIndexCapacity();
+            index.putLong(position).putInt(length).putInt(recordCount).put(blockFirstHash, 0, HASH_SIZE);
+            write(ByteBuffer.wrap(compressed, 0, length));
+            blockCount++;
+            block.clear();
+        }
+
+        private void ensureIndexCapacity() {
+            int entry = Long.BYTES + 2 * Integer.BYTES + HASH_SIZE;
+            if (index.remaining() < entry) {
+                // Llegaron más registros que los esperados: agrandamos el índice
+                // (el Bloom queda igual; solo sube un poco su tasa de falsos positivos)
+                ByteBuffer bigger = ByteBuffer.allocate(index.capacity() * 2 + entry);
+                index = bigger.put(index.flip());
+            }
+        }
+
+        private void addToBloom(byte[] hash) {
+            long bits = (long) bloom.length * Long.SIZE;
+            long h1 = ByteBuffer.wrap(hash).getLong(0);
+            long h2 = ByteBuffer.wrap(hash).getLong(8) | 1;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                bloom[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        private void write(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.NearVerdictCache;
+import org.example.cache.RemoteVerdictCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link DnaVerdictStore} con caché de dos niveles delante de otro store.
+ *
+ * Búsqueda: near cache (local, acotado) → caché remoto (compartido entre réplicas) →
+ * store. Un acierto en un nivel inferior se copia a los superiores. Al guardar un
+ * veredicto nuevo se escribe en el store y después en ambos cachés, así un ADN repetido
+ * que llega a otra réplica se resuelve en el caché remoto sin ir a la base.
+ *
+ * Los veredictos son inmutables: no hay invalidación. Un error del caché remoto se
+ * loguea y se trata como un miss. Los conteos siempre salen del store.
+ */
+@Slf4j
+public class CachingVerdictStore implements DnaVerdictStore, AutoCloseable {
+
+    private final DnaVerdictStore delegate;
+    private final NearVerdictCache nearCache;
+    private final RemoteVerdictCache remoteCache;
+
+    private final Counter nearHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+
+    /**
+     * @param nearCache   caché local (null = sin near cache)
+     * @param remoteCache caché remoto (null = sin nivel remoto)
+     */
+    public CachingVerdictStore(DnaVerdictStore delegate, NearVerdictCache nearCache,
+                               RemoteVerdictCache remoteCache, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.nearCache = nearCache;
+        this.remoteCache = remoteCache;
+
+        this.nearHits = lookupCounter(meterRegistry, "near");
+        this.remoteHits = lookupCounter(meterRegistry, "remote");
+        this.misses = lookupCounter(meterRegistry, "store");
+        if (nearCache != null) {
+            Gauge.builder("mutant.cache.near.size", nearCache, NearVerdictCache::size)
+                    .description("Veredictos en el near cache")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Optional<Boolean> findVerdict(String dnaHash) {
+        if (nearCache != null) {
+            Boolean near = nearCache.get(dnaHash);
+            if (near != null) {
+                nearHits.increment();
+                return Optional.of(near);
+            }
+        }
+
+        Optional<Boolean> remote = remoteGet(dnaHash);
+        if (remote.isPresent()) {
+            remoteHits.increment();
+            putNear(dnaHash, remote.get());
+            return remote;
+        }
+
+        misses.increment();
+        Optional<Boolean> stored = delegate.findVerdict(dnaHash);
+        stored.ifPresent(mutant -> {
+            putNear(dnaHash, mutant);
+            remotePut(dnaHash, mutant);
+        });
+        return stored;
+    }
+
+    @Override
+    public boolean save(String dnaHash, boolean mutant) {
+        boolean inserted = delegate.save(dnaHash, mutant);
+        // Aunque otro request lo haya guardado antes, el veredicto es el mismo
+        putNear(dnaHash, mutant);
+        remotePut(dnaHash, mutant);
+        return inserted;
+    }
+
+    @Override
+    public long countMutants() {
+        return delegate.countMutants();
+    }
+
+    @Override
+    public long countHumans() {
+        return delegate.countHumans();
+    }
+
+    @Override
+    public Map<String, Boolean> findRecentVerdicts(int limit) {
+        return delegate.findRecentVerdicts(limit);
+    }
+
+    /**
+     * Copia al near cache los veredictos más recientes del store. Se insertan del más
+     * viejo al más nuevo, así los más nuevos son los últimos en descartarse. El caché
+     * remoto no se toca: es compartido y ya lo mantienen las demás réplicas.
+     */
+    @Override
+    public int preload(int limit) {
+        if (nearCache == null) {
+            return 0;
+        }
+        List<Map.Entry<String, Boolean>> recent = new ArrayList<>(delegate.findRecentVerdicts(limit).entrySet());
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            nearCache.put(recent.get(i).getKey(), recent.get(i).getValue());
+        }
+        return recent.size();
+    }
+
+    /**
+     * Cierra el store envuelto (por ejemplo, el write-ahead log).
+     */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void putNear(String dnaHash, boolean mutant) {
+        if (nearCache != null) {
+            nearCache.put(dnaHash, mutant);
+        }
+    }
+
+    private Optional<Boolean> remoteGet(String dnaHash) {
+        if (remoteCache == null) {
+            return Optional.empty();
+        }
+        try {
+            return remoteCache.get(dnaHash);
+        } catch (RuntimeException e) {
+            log.warn("Error leyendo el caché remoto de veredictos; se consulta el store", e);
+            return Optional.empty();
+        }
+    }
+
+    private void remotePut(String dnaHash, boolean mutant) {
+        if (remoteCache == null) {
+            return;
+        }
+        try {
+            remoteCache.put(dnaHash, mutant);
+        } catch (RuntimeException e) {
+            log.warn("Error escribiendo el caché remoto de veredictos", e);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("mutant.cache.lookups")
+                .description("Búsquedas de veredictos según el nivel que las resolvió")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
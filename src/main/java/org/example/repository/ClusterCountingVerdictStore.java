@@ -0,0 +1,146 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.stats.GCounter;
+import org.example.stats.StatsCounterStore;
+import org.example.stats.StatsCounterStore.Counters;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link DnaVerdictStore} cuyos conteos salen de G-counters compartidos entre réplicas,
+ * sin COUNT sobre la tabla en cada /stats.
+ *
+ * Cada nodo cuenta los veredictos que él insertó (un hash se inserta una sola vez en
+ * todo el cluster, así que la suma de todos los nodos es el total). Cada
+ * {@code publishInterval} publica su entrada en el {@link StatsCounterStore} y trae el
+ * estado mezclado. Los conteos son ese estado con la entrada propia al día: la demora
+ * para ver lo que insertaron otros nodos es a lo sumo un intervalo.
+ *
+ * Los registros anteriores a habilitar los contadores se cargan una única vez, con un
+ * COUNT, en la entrada {@value #BASELINE_NODE}.
+ *
+ * Solo se cuentan los veredictos que el delegate reporta como nuevos: un duplicado
+ * ({@code save} devuelve false) no suma.
+ */
+@Slf4j
+public class ClusterCountingVerdictStore implements DnaVerdictStore, AutoCloseable {
+
+    static final String BASELINE_NODE = "baseline";
+
+    private final DnaVerdictStore delegate;
+    private final StatsCounterStore counterStore;
+    private final String nodeId;
+    private final ScheduledExecutorService publisher;
+
+    private final AtomicLong localMutants = new AtomicLong();
+    private final AtomicLong localHumans = new AtomicLong();
+    private volatile Counters merged;
+
+    /**
+     * @param nodeId          identificador único de esta réplica
+     * @param publishInterval cada cuánto se publica y se trae el estado del cluster
+     */
+    public ClusterCountingVerdictStore(DnaVerdictStore delegate, StatsCounterStore counterStore,
+                                       String nodeId, Duration publishInterval) {
+        this.delegate = delegate;
+        this.counterStore = counterStore;
+        this.nodeId = nodeId;
+
+        Counters current = counterStore.read();
+        if (!hasBaseline(current)) {
+            // Primer nodo del cluster: los registros existentes entran como línea base. Si
+            // varios nodos arrancan a la vez, solo uno la crea (create-if-absent) y los demás
+            // leen la suya: nadie inserta antes de que exista, así que ese COUNT es exacto
+            counterStore.publishIfAbsent(BASELINE_NODE, delegate.countMutants(), delegate.countHumans());
+            current = counterStore.read();
+        }
+        // Si el id ya existía (reinicio con id fijo) seguimos desde su valor: el contador no baja
+        localMutants.set(current.mutants().get(nodeId));
+        localHumans.set(current.humans().get(nodeId));
+        this.merged = current;
+
+        this.publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-counter-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleWithFixedDelay(this::syncQuietly,
+                publishInterval.toMillis(), publishInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Boolean> findVerdict(String dnaHash) {
+        return delegate.findVerdict(dnaHash);
+    }
+
+    @Override
+    public Map<String, Boolean> findRecentVerdicts(int limit) {
+        return delegate.findRecentVerdicts(limit);
+    }
+
+    @Override
+    public boolean save(String dnaHash, boolean mutant) {
+        boolean inserted = delegate.save(dnaHash, mutant);
+        if (inserted) {
+            (mutant ? localMutants : localHumans).incrementAndGet();
+        }
+        return inserted;
+    }
+
+    @Override
+    public long countMutants() {
+        return withLocal(merged.mutants(), localMutants.get());
+    }
+
+    @Override
+    public long countHumans() {
+        return withLocal(merged.humans(), localHumans.get());
+    }
+
+    /**
+     * Publica la entrada de este nodo y trae el estado mezclado del cluster.
+     */
+    public void sync() {
+        counterStore.publish(nodeId, localMutants.get(), localHumans.get());
+        merged = counterStore.read();
+    }
+
+    @Override
+    public void close() throws Exception {
+        publisher.shutdownNow();
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron publicar los contadores finales de {}", nodeId, e);
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static boolean hasBaseline(Counters counters) {
+        return counters.mutants().entries().containsKey(BASELINE_NODE)
+                || counters.humans().entries().containsKey(BASELINE_NODE);
+    }
+
+    private long withLocal(GCounter counter, long local) {
+        // Lo propio puede estar más adelantado que lo último publicado
+        return counter.value() - counter.get(nodeId) + Math.max(counter.get(nodeId), local);
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            // Los contadores locales no se pierden: se publican en la próxima vuelta
+            log.warn("Error sincronizando los contadores de /stats", e);
+        }
+    }
+}
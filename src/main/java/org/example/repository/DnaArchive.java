@@ -0,0 +1,223 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Veredictos archivados fuera de dna_records: un directorio de {@link ArchivePartition},
+ * una o más por día ({@code dna-records-AAAA-MM-DD-N.part}).
+ *
+ * Las particiones son inmutables; sus totales se suman a los de la tabla para que /stats
+ * siga contando los registros archivados. Una partición nueva suma sus totales en el
+ * mismo paso en que sus filas salen de la tabla ({@link #write(LocalDate, long,
+ * RecordSource, Runnable)}), y los conteos combinados ({@link #countMutants(LongSupplier)})
+ * no pueden leerse en el medio: ninguna fila se cuenta dos veces.
+ */
+@Slf4j
+public class DnaArchive implements AutoCloseable {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("dna-records-(\\d{4}-\\d{2}-\\d{2})-(\\d+)\\.part");
+
+    private final Path directory;
+    private final int recordsPerBlock;
+    private final List<ArchivePartition> partitions = new CopyOnWriteArrayList<>();
+    private final AtomicLong mutants = new AtomicLong();
+    private final AtomicLong humans = new AtomicLong();
+
+    // Write: publicar los totales de una partición y borrar sus filas. Read: conteo de tabla + archivo
+    private final ReadWriteLock countLock = new ReentrantReadWriteLock();
+
+    /**
+     * @param recordsPerBlock registros por bloque comprimido de las particiones nuevas
+     */
+    public DnaArchive(Path directory, int recordsPerBlock) {
+        this.directory = directory;
+        this.recordsPerBlock = recordsPerBlock;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.sorted().toList()) {
+                    if (PARTITION_NAME.matcher(file.getFileName().toString()).matches()) {
+                        add(ArchivePartition.open(file));
+                    } else if (file.getFileName().toString().endsWith(".part.tmp")) {
+                        // Escritura interrumpida: los registros siguen en la tabla
+                        Files.delete(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el archivo de veredictos en " + directory, e);
+        }
+        log.info("Archivo de veredictos: {} particiones, {} mutantes y {} humanos",
+                partitions.size(), mutants.get(), humans.get());
+    }
+
+    public Optional<Boolean> findVerdict(String dnaHash) {
+        if (partitions.isEmpty()) {
+            return Optional.empty();
+        }
+
+        byte[] hash = HexFormat.of().parseHex(dnaHash);
+        for (ArchivePartition partition : partitions) {
+            int verdict = partition.find(hash);
+            if (verdict >= 0) {
+                return Optional.of(verdict == 1);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public long countMutants() {
+        return mutants.get();
+    }
+
+    public long countHumans() {
+        return humans.get();
+    }
+
+    /**
+     * Mutantes de la tabla ({@code table}) más los archivados, sin ver un archivado a medias.
+     */
+    public long countMutants(LongSupplier table) {
+        return withCountLock(table, mutants);
+    }
+
+    /**
+     * Humanos de la tabla ({@code table}) más los archivados, sin ver un archivado a medias.
+     */
+    public long countHumans(LongSupplier table) {
+        return withCountLock(table, humans);
+    }
+
+    /**
+     * Escribe una partición nueva para el día y la publica para búsquedas y conteos.
+     * Se escribe en un temporal y se renombra: una partición visible siempre está completa.
+     *
+     * @param expectedRecords registros que va a escribir {@code source}
+     * @return la partición publicada, o vacío si {@code source} no escribió registros
+     */
+    public Optional<ArchivePartition> write(LocalDate day, long expectedRecords,
+                                            RecordSource source) throws IOException {
+        return write(day, expectedRecords, source, () -> { });
+    }
+
+    /**
+     * Igual que {@link #write(LocalDate, long, RecordSource)}, quitando de la tabla los
+     * registros archivados. La partición se publica primero para búsquedas (un hash puede
+     * estar un momento en los dos lados) y después, junto con {@code removeFromTable} y
+     * sin conteos en curso, para los totales.
+     *
+     * @param removeFromTable borra de la tabla las filas archivadas (corre aunque
+     *                        {@code source} no haya escrito registros nuevos)
+     */
+    public synchronized Optional<ArchivePartition> write(LocalDate day, long expectedRecords,
+                                                         RecordSource source,
+                                                         Runnable removeFromTable) throws IOException {
+        Path file = directory.resolve(String.format("dna-records-%s-%d.part", day, nextPart(day)));
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        long written;
+        try (ArchivePartition.Writer writer = new ArchivePartition.Writer(tmp, day, expectedRecords, recordsPerBlock)) {
+            source.writeTo(writer);
+            written = writer.getRecords();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        if (written == 0) {
+            Files.delete(tmp);
+            publish(null, removeFromTable);
+            return Optional.empty();
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+
+        ArchivePartition partition = ArchivePartition.open(file);
+        partitions.add(partition);
+        publish(partition, removeFromTable);
+        return Optional.of(partition);
+    }
+
+    /**
+     * Días con al menos una partición.
+     */
+    public List<LocalDate> getDays() {
+        return partitions.stream().map(ArchivePartition::getDay).distinct().sorted().toList();
+    }
+
+    public List<ArchivePartition> getPartitions() {
+        return List.copyOf(partitions);
+    }
+
+    @Override
+    public void close() {
+        for (ArchivePartition partition : partitions) {
+            partition.close();
+        }
+    }
+
+    private void add(ArchivePartition partition) {
+        partitions.add(partition);
+        mutants.addAndGet(partition.getMutants());
+        humans.addAndGet(partition.getHumans());
+    }
+
+    private void publish(ArchivePartition partition, Runnable removeFromTable) {
+        countLock.writeLock().lock();
+        try {
+            removeFromTable.run();
+            if (partition != null) {
+                mutants.addAndGet(partition.getMutants());
+                humans.addAndGet(partition.getHumans());
+            }
+        } finally {
+            countLock.writeLock().unlock();
+        }
+    }
+
+    private long withCountLock(LongSupplier table, AtomicLong archived) {
+        countLock.readLock().lock();
+        try {
+            return table.getAsLong() + archived.get();
+        } finally {
+            countLock.readLock().unlock();
+        }
+    }
+
+    private int nextPart(LocalDate day) {
+        int next = 1;
+        for (ArchivePartition partition : new ArrayList<>(partitions)) {
+            Matcher matcher = PARTITION_NAME.matcher(partition.getFile().getFileName().toString());
+            if (matcher.matches() && matcher.group(1).equals(day.toString())) {
+                next = Math.max(next, Integer.parseInt(matcher.group(2)) + 1);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Escribe los registros de una partición nueva en {@link #write}.
+     */
+    @FunctionalInterface
+    public interface RecordSource {
+        void writeTo(ArchivePartition.Writer writer) throws IOException;
+    }
+}
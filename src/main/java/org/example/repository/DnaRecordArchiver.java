@@ -0,0 +1,182 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rotación de dna_records por día de {@code created_at}.
+ *
+ * La tabla queda como la partición "caliente" con los últimos {@code retention} días.
+ * Cada {@code interval} se toma el día más viejo que ya salió de la retención y:
+ * 1) se escriben sus registros, ordenados por hash, en una {@link ArchivePartition},
+ * 2) la partición se publica en el {@link DnaArchive} para búsquedas,
+ * 3) se borran esas filas de la tabla y la partición suma sus totales en un solo paso:
+ *    /stats nunca cuenta el día en los dos lados.
+ * Si el proceso se corta entre 2 y 3, al arrancar se omiten los hashes que ya están
+ * archivados y se termina de borrar el día, antes de que nadie cuente.
+ *
+ * H2 no tiene particionamiento nativo y el esquema lo maneja Hibernate, así que la
+ * rotación se hace igual en H2 y PostgreSQL: la tabla solo conserva los días recientes.
+ */
+@Slf4j
+public class DnaRecordArchiver implements AutoCloseable {
+
+    private static final String OLDEST_SQL = "SELECT MIN(created_at) FROM dna_records";
+    private static final String COUNT_DAY_SQL =
+            "SELECT COUNT(*) FROM dna_records WHERE created_at >= ? AND created_at < ?";
+    private static final String SELECT_DAY_SQL =
+            "SELECT dna_hash, is_mutant FROM dna_records WHERE created_at >= ? AND created_at < ? ORDER BY dna_hash";
+    private static final String DELETE_DAY_SQL =
+            "DELETE FROM dna_records WHERE created_at >= ? AND created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DnaArchive archive;
+    private final Duration retention;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param retention días que se conservan en la tabla
+     * @param interval  cada cuánto se busca un día para archivar (null = solo manual)
+     */
+    public DnaRecordArchiver(JdbcTemplate jdbcTemplate, DnaArchive archive, Duration retention, Duration interval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = archive;
+        this.retention = retention;
+
+        // Un día con partición y filas en la tabla es un archivado interrumpido: hasta
+        // terminarlo, sus registros se contarían dos veces
+        resumeInterrupted();
+
+        if (interval == null) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dna-records-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Archiva todos los días fuera de la retención.
+     *
+     * @return cantidad de registros archivados
+     */
+    public long archiveExpired() {
+        return archiveBefore(LocalDate.now().minusDays(retention.toDays()));
+    }
+
+    /**
+     * Archiva los días anteriores a {@code cutoff} (exclusive), del más viejo al más nuevo.
+     *
+     * @return cantidad de registros archivados
+     */
+    public synchronized long archiveBefore(LocalDate cutoff) {
+        long archived = 0;
+        while (true) {
+            Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_SQL, Timestamp.class);
+            if (oldest == null || !oldest.toLocalDateTime().toLocalDate().isBefore(cutoff)) {
+                return archived;
+            }
+            archived += archiveDay(oldest.toLocalDateTime().toLocalDate());
+        }
+    }
+
+    private synchronized void resumeInterrupted() {
+        try {
+            for (LocalDate day : archive.getDays()) {
+                Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+                Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+                Long remaining = jdbcTemplate.queryForObject(COUNT_DAY_SQL, Long.class, from, to);
+                if (remaining != null && remaining > 0) {
+                    log.info("Terminando el archivado interrumpido de {} ({} filas en dna_records)", day, remaining);
+                    archiveDay(day);
+                }
+            }
+        } catch (RuntimeException e) {
+            // No frena el arranque: la próxima vuelta programada termina el día
+            log.error("No se pudo terminar un archivado interrumpido; se reintentará", e);
+        }
+    }
+
+    private long archiveDay(LocalDate day) {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+
+        Long expected = jdbcTemplate.queryForObject(COUNT_DAY_SQL, Long.class, from, to);
+        long written;
+        AtomicInteger deleted = new AtomicInteger();
+        try {
+            // Las filas se borran cuando la partición ya está publicada: no se pierden veredictos
+            Optional<ArchivePartition> partition = archive.write(day, expected == null ? 0 : expected,
+                    writer -> streamDay(from, to, writer),
+                    () -> deleted.set(jdbcTemplate.update(DELETE_DAY_SQL, from, to)));
+            written = partition.map(ArchivePartition::getRecords).orElse(0L);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo archivar el día " + day, e);
+        }
+
+        log.info("Archivado {}: {} registros en partición, {} filas borradas de dna_records", day, written, deleted.get());
+        return written;
+    }
+
+    private void streamDay(Timestamp from, Timestamp to, ArchivePartition.Writer writer) throws IOException {
+        HexFormat hex = HexFormat.of();
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SELECT_DAY_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(1000);
+                ps.setTimestamp(1, from);
+                ps.setTimestamp(2, to);
+                return ps;
+            }, (ResultSet rs) -> {
+                String dnaHash = rs.getString(1);
+                // Ya archivado en una vuelta anterior que no llegó a borrar las filas
+                if (archive.findVerdict(dnaHash).isPresent()) {
+                    return;
+                }
+                try {
+                    writer.add(hex.parseHex(dnaHash), rs.getBoolean(2));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void archiveQuietly() {
+        try {
+            archiveExpired();
+        } catch (RuntimeException e) {
+            // Las filas siguen en la tabla: se reintenta en la próxima vuelta
+            log.error("Error archivando dna_records; se reintentará", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
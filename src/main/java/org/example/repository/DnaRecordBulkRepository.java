@@ -0,0 +1,23 @@
+package org.example.repository;
+
+import org.example.entity.DnaRecord;
+
+import java.util.Collection;
+
+/**
+ * Operaciones de escritura masiva sobre la tabla dna_records.
+ *
+ * Se implementa con JDBC en lugar de JPA para enviar los inserts en batches
+ * sin cargar cada entidad en el contexto de persistencia.
+ */
+public interface DnaRecordBulkRepository {
+
+    /**
+     * Inserta los registros en batches, ignorando los que ya existen por dna_hash
+     * (MERGE en H2, ON CONFLICT DO NOTHING en PostgreSQL).
+     *
+     * @param records registros a insertar (solo se usan dnaHash y mutant)
+     * @return cantidad de filas efectivamente insertadas
+     */
+    int bulkInsertIgnoringDuplicates(Collection<DnaRecord> records);
+}
@@ -0,0 +1,87 @@
+package org.example.repository;
+
+import org.example.entity.DnaRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementación JDBC de {@link DnaRecordBulkRepository}.
+ *
+ * Spring Data la combina automáticamente con {@link DnaRecordRepository}
+ * por el sufijo "Impl".
+ */
+public class DnaRecordBulkRepositoryImpl implements DnaRecordBulkRepository {
+
+    // MERGE estándar (SQL:2008): lo soportan H2 y PostgreSQL 15+
+    private static final String MERGE_SQL =
+            "MERGE INTO dna_records t " +
+            "USING (VALUES (CAST(? AS VARCHAR(64)), CAST(? AS BOOLEAN))) AS s (dna_hash, is_mutant) " +
+            "ON t.dna_hash = s.dna_hash " +
+            "WHEN NOT MATCHED THEN INSERT (id, dna_hash, is_mutant, created_at) " +
+            "VALUES (NEXT VALUE FOR " + DnaRecord.ID_SEQUENCE + ", s.dna_hash, s.is_mutant, LOCALTIMESTAMP)";
+
+    private static final String POSTGRES_SQL =
+            "INSERT INTO dna_records (id, dna_hash, is_mutant, created_at) " +
+            "VALUES (nextval('" + DnaRecord.ID_SEQUENCE + "'), ?, ?, LOCALTIMESTAMP) " +
+            "ON CONFLICT (dna_hash) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private volatile String insertSql;
+
+    public DnaRecordBulkRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                       @Value("${mutant.persistence.bulk-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int bulkInsertIgnoringDuplicates(Collection<DnaRecord> records) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        List<DnaRecord> rows = new ArrayList<>(records);
+        int[][] results = jdbcTemplate.batchUpdate(insertSql(), rows, batchSize, (ps, record) -> {
+            ps.setString(1, record.getDnaHash());
+            ps.setBoolean(2, record.isMutant());
+        });
+
+        // Los drivers pueden devolver SUCCESS_NO_INFO (-2): solo contamos filas confirmadas
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count > 0) {
+                    inserted += count;
+                }
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Elige la sentencia según el motor de base de datos (se resuelve una sola vez).
+     */
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        metaData -> metaData.getDatabaseProductName());
+                sql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_SQL : MERGE_SQL;
+            } catch (MetaDataAccessException e) {
+                sql = MERGE_SQL;
+            }
+            insertSql = sql;
+        }
+        return sql;
+    }
+}
@@ -1,16 +1,35 @@
 package org.example.repository;
 
 import org.example.entity.DnaRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 //Repositorio JPA para acceder a la tabla dna_records
-public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long> {
+public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long>, DnaRecordBulkRepository {
 
+    // Lectura sin transacción: la conexión se usa solo durante el SELECT
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     Optional<DnaRecord> findByDnaHash(String dnaHash);
 
     long countByMutantTrue();
 
     long countByMutantFalse();
+
+    // Hash y veredicto de los registros más nuevos (por idx_created_at), sin cargar entidades
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Query("select r.dnaHash as dnaHash, r.mutant as mutant from DnaRecord r order by r.createdAt desc, r.id desc")
+    List<HashVerdict> findRecentVerdicts(Pageable pageable);
+
+    interface HashVerdict {
+
+        String getDnaHash();
+
+        Boolean getMutant();
+    }
 }
@@ -0,0 +1,139 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Verifica al arrancar que la tabla dna_records tenga las columnas e índices
+ * que necesitan las consultas calientes (findByDnaHash y los COUNT de /stats).
+ *
+ * Es útil en producción, donde el esquema no lo crea Hibernate (ddl-auto=validate/none)
+ * y un índice faltante solo se notaría como latencia alta bajo carga.
+ * Solo se registra con el backend jpa; se desactiva con {@code mutant.schema.verify=false}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mutant.storage.type", havingValue = "jpa", matchIfMissing = true)
+public class DnaRecordSchemaVerifier implements ApplicationRunner {
+
+    private static final String TABLE = "dna_records";
+    private static final List<String> REQUIRED_COLUMNS = List.of("id", "dna_hash", "is_mutant", "created_at");
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final boolean failOnError;
+
+    public DnaRecordSchemaVerifier(DataSource dataSource,
+                                   @Value("${mutant.schema.verify:true}") boolean enabled,
+                                   @Value("${mutant.schema.fail-on-error:false}") boolean failOnError) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.failOnError = failOnError;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> problems = verify();
+
+        if (problems.isEmpty()) {
+            log.info("Esquema de {} verificado correctamente", TABLE);
+            return;
+        }
+
+        String message = "Problemas en el esquema de " + TABLE + ": " + String.join("; ", problems);
+        if (failOnError) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Devuelve la lista de problemas encontrados (vacía si el esquema es correcto).
+     */
+    public List<String> verify() throws SQLException {
+        List<String> problems = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = resolveTableName(metaData);
+
+            if (table == null) {
+                problems.add("la tabla no existe");
+                return problems;
+            }
+
+            List<String> columns = new ArrayList<>();
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                while (rs.next()) {
+                    columns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.contains(column)) {
+                    problems.add("falta la columna " + column);
+                }
+            }
+
+            // dna_hash debe tener índice único: es la búsqueda de cada POST /mutant
+            if (!hasIndexOn(metaData, connection.getCatalog(), table, "dna_hash", true)) {
+                problems.add("falta el índice único sobre dna_hash");
+            }
+
+            // is_mutant indexado acelera los COUNT de /stats
+            if (!hasIndexOn(metaData, connection.getCatalog(), table, "is_mutant", false)) {
+                problems.add("falta el índice sobre is_mutant");
+            }
+
+            // created_at indexado: el archivado recorre y borra la tabla por día
+            if (!hasIndexOn(metaData, connection.getCatalog(), table, "created_at", false)) {
+                problems.add("falta el índice sobre created_at");
+            }
+        }
+
+        return problems;
+    }
+
+    /**
+     * Los motores guardan los identificadores en mayúsculas (H2) o minúsculas (PostgreSQL).
+     */
+    private String resolveTableName(DatabaseMetaData metaData) throws SQLException {
+        for (String candidate : List.of(TABLE, TABLE.toUpperCase(Locale.ROOT))) {
+            try (ResultSet rs = metaData.getTables(null, null, candidate, new String[]{"TABLE", "BASE TABLE"})) {
+                if (rs.next()) {
+                    return rs.getString("TABLE_NAME");
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean hasIndexOn(DatabaseMetaData metaData, String catalog, String table,
+                               String column, boolean unique) throws SQLException {
+        try (ResultSet rs = metaData.getIndexInfo(catalog, null, table, unique, true)) {
+            while (rs.next()) {
+                String indexed = rs.getString("COLUMN_NAME");
+                if (indexed != null && indexed.equalsIgnoreCase(column)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
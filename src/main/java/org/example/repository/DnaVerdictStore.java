@@ -0,0 +1,53 @@
+package org.example.repository;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Almacenamiento de veredictos de ADN (hash → mutante/humano).
+ *
+ * Es el punto de extensión que usan MutantService y StatsService para no depender
+ * de un motor concreto. Se elige con la propiedad {@code mutant.storage.type}:
+ * - jpa    → {@link JpaVerdictStore} (tabla dna_records, por defecto)
+ * - memory → {@link InMemoryVerdictStore} (mapa en memoria con snapshot y log en disco)
+ */
+public interface DnaVerdictStore {
+
+    /**
+     * Busca el veredicto guardado para un hash de ADN.
+     *
+     * @param dnaHash hash SHA-256 en hexadecimal
+     * @return true/false si ya fue analizado, vacío si no existe
+     */
+    Optional<Boolean> findVerdict(String dnaHash);
+
+    /**
+     * Guarda un veredicto. Si el hash ya existe no se modifica.
+     *
+     * @return true si el registro se insertó, false si ya existía
+     */
+    boolean save(String dnaHash, boolean mutant);
+
+    long countMutants();
+
+    long countHumans();
+
+    /**
+     * Veredictos guardados más recientes, del más nuevo al más viejo.
+     * Los stores que no pueden listarlos devuelven un mapa vacío.
+     *
+     * @param limit cantidad máxima de veredictos
+     */
+    default Map<String, Boolean> findRecentVerdicts(int limit) {
+        return Map.of();
+    }
+
+    /**
+     * Carga en los cachés de este store los veredictos más recientes (warm-up al iniciar).
+     *
+     * @return veredictos cargados (0 si el store no tiene caché)
+     */
+    default int preload(int limit) {
+        return 0;
+    }
+}
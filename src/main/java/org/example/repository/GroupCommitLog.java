@@ -0,0 +1,192 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escritura durable sobre un {@link VerdictLog} con group commit.
+ *
+ * Los hilos que llaman a {@link #appendDurably(byte[], boolean)} agregan su registro
+ * al buffer y esperan. Un único hilo "flusher" hace un fsync por grupo: todos los
+ * registros que llegaron mientras se ejecutaba el fsync anterior (o durante el
+ * intervalo configurado) se confirman juntos con un solo fsync.
+ *
+ * Con {@code fsyncInterval = 0} el flusher sincroniza apenas hay registros pendientes;
+ * un intervalo mayor agranda los grupos a costa de latencia por escritura.
+ *
+ * Si un fsync falla, solo fallan los registros todavía sin confirmar: se descartan del
+ * log ({@link VerdictLog#discardUnsynced()}), así no se aplican después de haberle
+ * respondido un error al cliente, y el siguiente grupo vuelve a intentar normalmente.
+ */
+@Slf4j
+public class GroupCommitLog implements AutoCloseable {
+
+    private final VerdictLog verdictLog;
+    private final long fsyncIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final Thread flusher;
+
+    // Protegidos por lock: el grupo que está juntando registros
+    private Batch current = new Batch();
+    private boolean closed;
+
+    public GroupCommitLog(VerdictLog verdictLog, Duration fsyncInterval) {
+        this.verdictLog = verdictLog;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.flusher = new Thread(this::flushLoop, "verdict-wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Agrega el registro y vuelve recién cuando está sincronizado en disco.
+     *
+     * @throws UncheckedIOException si falló el fsync del grupo (el registro se descartó
+     *                              del log: no se va a aplicar)
+     */
+    public void appendDurably(byte[] hash, boolean mutant) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("El log de veredictos está cerrado");
+            }
+            verdictLog.append(hash, mutant);
+            Batch batch = current;
+            batch.records++;
+            pending.signal();
+
+            boolean interrupted = false;
+            while (!batch.done) {
+                try {
+                    synced.await();
+                } catch (InterruptedException e) {
+                    // No podemos abandonar la escritura a medias: esperamos igual
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (batch.failure != null) {
+                throw batch.failure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public VerdictLog getVerdictLog() {
+        return verdictLog;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            lock.lock();
+            try {
+                while (current.records == 0 && !closed) {
+                    pending.awaitUninterruptibly();
+                }
+                if (current.records == 0) {
+                    return;  // cerrado y sin pendientes
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (fsyncIntervalNanos > 0) {
+                // Dejamos que se acumulen más escrituras en el mismo grupo
+                sleepQuietly(fsyncIntervalNanos);
+            }
+
+            Batch batch;
+            lock.lock();
+            try {
+                batch = current;
+                current = new Batch();
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException error = null;
+            try {
+                verdictLog.flush(true);
+            } catch (RuntimeException e) {
+                log.error("Falló el fsync del log de veredictos; se descartan los registros sin confirmar", e);
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    // Lo que siguió al último fsync correcto no es confiable: se descarta del
+                    // log junto con su grupo y con el que se estaba juntando (sus registros
+                    // pudieron bajar en el mismo write). Nadie puede agregar mientras tanto.
+                    discardUnsynced(error);
+                    fail(current, error);
+                    current = new Batch();
+                    fail(batch, error);
+                }
+                batch.done = true;
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void discardUnsynced(RuntimeException error) {
+        try {
+            verdictLog.discardUnsynced();
+        } catch (RuntimeException e) {
+            error.addSuppressed(e);
+            log.error("No se pudieron descartar del log los registros sin confirmar", e);
+        }
+    }
+
+    private static void fail(Batch batch, RuntimeException error) {
+        batch.failure = error;
+        batch.done = true;
+    }
+
+    private static void sleepQuietly(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        verdictLog.close();
+    }
+
+    /**
+     * Registros que se confirman con el mismo fsync. Protegido por lock.
+     */
+    private static final class Batch {
+        private int records;
+        private boolean done;
+        private RuntimeException failure;
+    }
+}
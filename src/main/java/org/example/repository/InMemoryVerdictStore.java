@@ -0,0 +1,223 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementación de {@link DnaVerdictStore} en memoria, sin JPA ni base de datos.
+ *
+ * Los veredictos viven en un {@link ShardedVerdictMap} indexado por los primeros
+ * 128 bits del hash SHA-256. Si se configura un directorio, la durabilidad es relajada:
+ * - cada veredicto nuevo se agrega a un {@link VerdictLog} que se baja a disco cada
+ *   {@code logFlushInterval} (un crash puede perder ese último intervalo),
+ * - cada {@code snapshotInterval} se escribe un snapshot completo y se borran los
+ *   segmentos de log que ya quedaron incluidos en él.
+ * Al arrancar se carga el snapshot y se reproducen los segmentos restantes.
+ */
+@Slf4j
+public class InMemoryVerdictStore implements DnaVerdictStore, AutoCloseable {
+
+    private static final int SNAPSHOT_MAGIC = 0x4D565331;  // "MVS1"
+    private static final String SNAPSHOT_FILE = "verdicts.snapshot";
+
+    private final ShardedVerdictMap map;
+    private final Path directory;
+    private final VerdictLog verdictLog;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Store solo en memoria, sin persistencia.
+     */
+    public InMemoryVerdictStore(int shards, int initialCapacityPerShard) {
+        this(shards, initialCapacityPerShard, null, null, null);
+    }
+
+    /**
+     * @param directory        directorio de snapshot y log (null = sin persistencia)
+     * @param snapshotInterval cada cuánto se toma un snapshot
+     * @param logFlushInterval cada cuánto se baja el log a disco
+     */
+    public InMemoryVerdictStore(int shards, int initialCapacityPerShard, Path directory,
+                                Duration snapshotInterval, Duration logFlushInterval) {
+        this.map = new ShardedVerdictMap(shards, initialCapacityPerShard);
+        this.directory = directory;
+
+        if (directory == null) {
+            this.verdictLog = null;
+            this.scheduler = null;
+            return;
+        }
+
+        this.verdictLog = new VerdictLog(directory);
+        recover();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verdict-store-persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushLogQuietly,
+                logFlushInterval.toMillis(), logFlushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Boolean> findVerdict(String dnaHash) {
+        int verdict = map.get(high(dnaHash), low(dnaHash));
+        return verdict < 0 ? Optional.empty() : Optional.of(verdict == 1);
+    }
+
+    @Override
+    public boolean save(String dnaHash, boolean mutant) {
+        boolean inserted = map.putIfAbsent(high(dnaHash), low(dnaHash), mutant);
+        if (inserted && verdictLog != null) {
+            verdictLog.append(HexFormat.of().parseHex(dnaHash), mutant);
+        }
+        return inserted;
+    }
+
+    @Override
+    public long countMutants() {
+        return map.countMutants();
+    }
+
+    @Override
+    public long countHumans() {
+        return map.countHumans();
+    }
+
+    /**
+     * Escribe un snapshot completo y descarta los segmentos de log que cubre.
+     */
+    public synchronized void snapshot() throws IOException {
+        if (verdictLog == null) {
+            return;
+        }
+
+        // Todo lo que está en los segmentos cerrados ya está en el mapa
+        long closedSegment = verdictLog.rotate();
+
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            IOException[] error = new IOException[1];
+            map.forEach((hi, lo, mutant) -> {
+                if (error[0] != null) {
+                    return;
+                }
+                try {
+                    out.writeLong(hi);
+                    out.writeLong(lo);
+                    out.writeByte(mutant ? 1 : 0);
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            });
+            if (error[0] != null) {
+                throw error[0];
+            }
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        verdictLog.deleteSegmentsUpTo(closedSegment);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            snapshot();
+        } catch (IOException e) {
+            log.error("No se pudo escribir el snapshot final; se conserva el log", e);
+        }
+        verdictLog.close();
+    }
+
+    private void recover() {
+        try {
+            long fromSnapshot = loadSnapshot(directory.resolve(SNAPSHOT_FILE));
+            long fromLog = verdictLog.replay((hash, mutant) -> {
+                ByteBuffer key = ByteBuffer.wrap(hash);
+                map.putIfAbsent(key.getLong(0), key.getLong(8), mutant);
+            });
+            log.info("Store en memoria recuperado: {} veredictos del snapshot, {} registros del log",
+                    fromSnapshot, fromLog);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo recuperar el store en memoria desde " + directory, e);
+        }
+    }
+
+    private long loadSnapshot(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        long records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Formato de snapshot desconocido: " + file);
+            }
+            while (true) {
+                long hi;
+                try {
+                    hi = in.readLong();
+                } catch (EOFException end) {
+                    return records;
+                }
+                map.putIfAbsent(hi, in.readLong(), in.readByte() == 1);
+                records++;
+            }
+        }
+    }
+
+    private void flushLogQuietly() {
+        try {
+            verdictLog.flush();
+        } catch (RuntimeException e) {
+            log.error("Error bajando el log de veredictos a disco", e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Error escribiendo el snapshot de veredictos", e);
+        }
+    }
+
+    /**
+     * Primeros 64 bits del hash hexadecimal.
+     */
+    static long high(String dnaHash) {
+        return Long.parseUnsignedLong(dnaHash, 0, 16, 16);
+    }
+
+    /**
+     * Siguientes 64 bits del hash hexadecimal.
+     */
+    static long low(String dnaHash) {
+        return Long.parseUnsignedLong(dnaHash, 16, 32, 16);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.repository;
+
+import org.example.entity.DnaRecord;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementación de {@link DnaVerdictStore} sobre la tabla dna_records (JPA/Hibernate).
+ *
+ * Si hay un {@link DnaArchive}, los días viejos ya no están en la tabla: las búsquedas
+ * que no encuentran el hash en la tabla siguen en las particiones archivadas y los
+ * conteos suman los totales archivados (sin ver un día a medio mover, ver {@link DnaArchive}).
+ */
+public class JpaVerdictStore implements DnaVerdictStore {
+
+    private final DnaRecordRepository dnaRecordRepository;
+    private final DnaArchive archive;
+
+    public JpaVerdictStore(DnaRecordRepository dnaRecordRepository) {
+        this(dnaRecordRepository, null);
+    }
+
+    public JpaVerdictStore(DnaRecordRepository dnaRecordRepository, DnaArchive archive) {
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.archive = archive;
+    }
+
+    @Override
+    public Optional<Boolean> findVerdict(String dnaHash) {
+        Optional<Boolean> verdict = dnaRecordRepository.findByDnaHash(dnaHash).map(DnaRecord::isMutant);
+        if (verdict.isPresent() || archive == null) {
+            return verdict;
+        }
+        return archive.findVerdict(dnaHash);
+    }
+
+    /**
+     * Inserta en una transacción corta (la de {@code saveAndFlush}). Si otro request
+     * insertó el mismo hash en paralelo, el índice único lo rechaza y se toma como
+     * existente.
+     *
+     * El flush es explícito para cumplir el contrato de {@link DnaVerdictStore#save}
+     * aunque quien llama tenga una transacción abierta: sin él, el INSERT quedaría para
+     * el commit y un duplicado devolvería true.
+     */
+    @Override
+    public boolean save(String dnaHash, boolean mutant) {
+        DnaRecord record = DnaRecord.builder()
+                .dnaHash(dnaHash)
+                .mutant(mutant)
+                .build();
+
+        try {
+            dnaRecordRepository.saveAndFlush(record);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public long countMutants() {
+        if (archive == null) {
+            return dnaRecordRepository.countByMutantTrue();
+        }
+        return archive.countMutants(dnaRecordRepository::countByMutantTrue);
+    }
+
+    @Override
+    public long countHumans() {
+        if (archive == null) {
+            return dnaRecordRepository.countByMutantFalse();
+        }
+        return archive.countHumans(dnaRecordRepository::countByMutantFalse);
+    }
+
+    /**
+     * Solo los de la tabla: los archivados son, por definición, los más viejos.
+     */
+    @Override
+    public Map<String, Boolean> findRecentVerdicts(int limit) {
+        Map<String, Boolean> recent = new LinkedHashMap<>();
+        if (limit <= 0) {
+            return recent;
+        }
+        for (DnaRecordRepository.HashVerdict verdict : dnaRecordRepository.findRecentVerdicts(PageRequest.of(0, limit))) {
+            recent.put(verdict.getDnaHash(), verdict.getMutant());
+        }
+        return recent;
+    }
+}
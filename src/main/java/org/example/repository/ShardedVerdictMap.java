@@ -0,0 +1,258 @@
+package org.example.repository;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa hash de 128 bits → veredicto, dividido en shards y sin locks en el camino caliente.
+ *
+ * Cada shard es una tabla de direccionamiento abierto (sondeo lineal) sobre arrays
+ * primitivos: dos longs por clave y un int de estado por slot. No se crean objetos
+ * por entrada, así que millones de veredictos no generan presión sobre el GC.
+ *
+ * Protocolo de un slot: EMPTY → CLAIMED (CAS del insertador) → MUTANT/HUMAN (publicado).
+ * - Las lecturas nunca bloquean: un slot CLAIMED todavía no es visible y se saltea.
+ * - Las inserciones solo esperan si otro hilo está escribiendo un slot de su misma
+ *   secuencia de sondeo (para no duplicar la clave).
+ * - Solo el redimensionamiento de un shard toma el monitor de ese shard.
+ *
+ * Las entradas nunca se borran: los veredictos son inmutables.
+ */
+public class ShardedVerdictMap {
+
+    private static final int EMPTY = 0;
+    private static final int CLAIMED = 1;
+    private static final int MUTANT = 2;
+    private static final int HUMAN = 3;
+
+    private static final double MAX_LOAD = 0.75;
+
+    private final Shard[] shards;
+    private final int shardMask;
+
+    /**
+     * @param shardCount              cantidad de shards (se redondea a potencia de 2)
+     * @param initialCapacityPerShard slots iniciales por shard (se redondea a potencia de 2)
+     */
+    public ShardedVerdictMap(int shardCount, int initialCapacityPerShard) {
+        int count = powerOfTwo(Math.max(1, shardCount));
+        int capacity = powerOfTwo(Math.max(16, initialCapacityPerShard));
+
+        this.shards = new Shard[count];
+        this.shardMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(capacity);
+        }
+    }
+
+    /**
+     * @return 1 si es mutante, 0 si es humano, -1 si la clave no existe
+     */
+    public int get(long hi, long lo) {
+        Shard shard = shardFor(hi, lo);
+        Table table = shard.table;
+
+        int verdict = table.get(hi, lo);
+        if (verdict < 0 && shard.table != table) {
+            // Hubo un redimensionamiento mientras leíamos: reintentamos en la tabla nueva
+            verdict = shard.table.get(hi, lo);
+        }
+        return verdict;
+    }
+
+    /**
+     * Inserta la clave si no existe.
+     *
+     * @return true si la clave era nueva
+     */
+    public boolean putIfAbsent(long hi, long lo, boolean mutant) {
+        Shard shard = shardFor(hi, lo);
+        boolean inserted = false;
+
+        while (true) {
+            Table table = shard.table;
+            if (table.sealed) {
+                shard.awaitResize(table);
+                continue;
+            }
+
+            int result = table.insert(hi, lo, mutant);
+            if (result == Table.FULL) {
+                shard.resize(table);
+                continue;
+            }
+            inserted |= result == Table.INSERTED;
+
+            // Si la tabla se selló mientras publicábamos, el resize pudo no copiar
+            // nuestra entrada: la insertamos otra vez en la tabla nueva (idempotente)
+            if (!table.sealed) {
+                if (table.size.get() > table.threshold) {
+                    shard.resize(table);
+                }
+                return inserted;
+            }
+        }
+    }
+
+    public long countMutants() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.table.mutants.get();
+        }
+        return total;
+    }
+
+    public long countHumans() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.table.humans.get();
+        }
+        return total;
+    }
+
+    public long size() {
+        return countMutants() + countHumans();
+    }
+
+    /**
+     * Recorre todas las entradas publicadas (vista débilmente consistente).
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (Shard shard : shards) {
+            shard.table.forEach(consumer);
+        }
+    }
+
+    private Shard shardFor(long hi, long lo) {
+        return shards[(int) (lo ^ (lo >>> 32)) & shardMask];
+    }
+
+    private static int powerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+
+    /**
+     * Recibe cada entrada del mapa en {@link #forEach(EntryConsumer)}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long hi, long lo, boolean mutant);
+    }
+
+    private static final class Shard {
+
+        private volatile Table table;
+
+        Shard(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        synchronized void resize(Table current) {
+            if (table != current) {
+                return;  // otro hilo ya lo redimensionó
+            }
+
+            // Primero sellamos y después copiamos: cualquier entrada que se publique
+            // luego de la copia será reinsertada por su propio hilo al ver el sello
+            current.sealed = true;
+            Table bigger = new Table(current.capacity << 1);
+            current.forEach((hi, lo, mutant) -> bigger.insert(hi, lo, mutant));
+            table = bigger;
+        }
+
+        void awaitResize(Table sealed) {
+            while (table == sealed) {
+                synchronized (this) {
+                    // El resize termina al liberar el monitor
+                }
+            }
+        }
+    }
+
+    private static final class Table {
+
+        static final int INSERTED = 0;
+        static final int EXISTING = 1;
+        static final int FULL = 2;
+
+        final int capacity;
+        final int mask;
+        final int threshold;
+        final AtomicLongArray keys;
+        final AtomicIntegerArray states;
+        final AtomicLong size = new AtomicLong();
+        final AtomicLong mutants = new AtomicLong();
+        final AtomicLong humans = new AtomicLong();
+        volatile boolean sealed;
+
+        Table(int capacity) {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.threshold = (int) (capacity * MAX_LOAD);
+            this.keys = new AtomicLongArray(capacity * 2);
+            this.states = new AtomicIntegerArray(capacity);
+        }
+
+        int get(long hi, long lo) {
+            int index = indexFor(hi);
+            for (int probes = 0; probes < capacity; probes++) {
+                int state = states.get(index);
+                if (state == EMPTY) {
+                    return -1;
+                }
+                if (state != CLAIMED && keys.get(index * 2) == hi && keys.get(index * 2 + 1) == lo) {
+                    return state == MUTANT ? 1 : 0;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        int insert(long hi, long lo, boolean mutant) {
+            int index = indexFor(hi);
+            for (int probes = 0; probes < capacity; probes++) {
+                int state = states.get(index);
+
+                if (state == EMPTY) {
+                    if (states.compareAndSet(index, EMPTY, CLAIMED)) {
+                        keys.set(index * 2, hi);
+                        keys.set(index * 2 + 1, lo);
+                        size.incrementAndGet();
+                        (mutant ? mutants : humans).incrementAndGet();
+                        states.set(index, mutant ? MUTANT : HUMAN);  // publicación
+                        return INSERTED;
+                    }
+                    state = states.get(index);
+                }
+
+                // Esperamos a que termine de escribirse para saber si es nuestra clave
+                while (state == CLAIMED) {
+                    Thread.onSpinWait();
+                    state = states.get(index);
+                }
+
+                if (keys.get(index * 2) == hi && keys.get(index * 2 + 1) == lo) {
+                    return EXISTING;
+                }
+                index = (index + 1) & mask;
+            }
+            return FULL;
+        }
+
+        void forEach(EntryConsumer consumer) {
+            for (int i = 0; i < capacity; i++) {
+                int state = states.get(i);
+                if (state == MUTANT || state == HUMAN) {
+                    consumer.accept(keys.get(i * 2), keys.get(i * 2 + 1), state == MUTANT);
+                }
+            }
+        }
+
+        private int indexFor(long hi) {
+            long h = hi * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Log de solo escritura al final (append-only) con los veredictos nuevos.
+ *
+ * Se escribe en segmentos {@code verdicts-NNNNNN.log} dentro de un directorio.
+ * Cada registro ocupa {@value #RECORD_SIZE} bytes: los 32 bytes del hash SHA-256 y un
+ * byte con el veredicto. Los registros se acumulan en un buffer en memoria y se bajan
+ * al archivo con {@link #flush(boolean)}, que llama el dueño del log (periódicamente o,
+ * en {@link GroupCommitLog}, antes de confirmar cada grupo de escrituras).
+ *
+ * Para consolidar se rota el segmento ({@link #rotate()}) y, una vez que su contenido
+ * quedó guardado en otro lado (snapshot o tabla), se borran los segmentos cerrados
+ * ({@link #deleteSegmentsUpTo(long)}).
+ */
+@Slf4j
+public class VerdictLog implements AutoCloseable {
+
+    public static final int HASH_SIZE = 32;
+    public static final int RECORD_SIZE = HASH_SIZE + 1;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("verdicts-(\\d+)\\.log");
+    private static final int BUFFER_SIZE = RECORD_SIZE * 4096;
+
+    private final Path directory;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private FileChannel channel;
+    private long segment;
+
+    // Bytes del segmento actual que ya pasaron por un fsync correcto
+    private long syncedPosition;
+
+    public VerdictLog(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            List<Long> existing = segments();
+            this.segment = existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1;
+            this.channel = open(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el log de veredictos en " + directory, e);
+        }
+    }
+
+    /**
+     * Agrega un registro al buffer (se persiste en el próximo flush).
+     *
+     * @param hash los {@value #HASH_SIZE} bytes del hash SHA-256
+     */
+    public synchronized void append(byte[] hash, boolean mutant) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            writeBuffer();
+        }
+        buffer.put(hash, 0, HASH_SIZE).put((byte) (mutant ? 1 : 0));
+    }
+
+    /**
+     * Escribe el buffer en el segmento actual.
+     *
+     * @param fsync si además se fuerza el contenido a disco. El fsync se hace fuera
+     *              del lock para no frenar a los hilos que siguen agregando registros.
+     */
+    public void flush(boolean fsync) {
+        FileChannel target;
+        long position;
+        synchronized (this) {
+            writeBuffer();
+            target = channel;
+            position = position();
+        }
+
+        if (fsync) {
+            try {
+                target.force(false);
+            } catch (ClosedChannelException e) {
+                // Se rotó en el medio: rotate() ya forzó ese segmento a disco
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error sincronizando el log de veredictos", e);
+            }
+            synchronized (this) {
+                if (channel == target) {
+                    syncedPosition = Math.max(syncedPosition, position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Descarta lo que no pasó por un fsync correcto: el buffer y, en el segmento
+     * actual, lo escrito después del último fsync. Tras un fsync fallido no se sabe qué
+     * llegó al disco, así que esos registros no deben reproducirse.
+     */
+    public synchronized void discardUnsynced() {
+        buffer.clear();
+        try {
+            channel.truncate(syncedPosition);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error descartando registros del log de veredictos", e);
+        }
+    }
+
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * Cierra el segmento actual y empieza uno nuevo.
+     *
+     * @return número del último segmento cerrado
+     */
+    public synchronized long rotate() {
+        writeBuffer();
+        try {
+            channel.force(false);
+            channel.close();
+            long closed = segment;
+            segment++;
+            channel = open(segment);
+            syncedPosition = 0;
+            return closed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error rotando el log de veredictos", e);
+        }
+    }
+
+    /**
+     * Borra los segmentos con número menor o igual al indicado.
+     */
+    public void deleteSegmentsUpTo(long lastSegment) throws IOException {
+        for (long number : segments()) {
+            if (number <= lastSegment) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+    }
+
+    /**
+     * Números de los segmentos en disco, incluido el que se está escribiendo.
+     */
+    public List<Long> segments() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    numbers.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    /**
+     * Reproduce todos los registros de los segmentos existentes, en orden.
+     *
+     * @return cantidad de registros leídos
+     */
+    public long replay(RecordConsumer consumer) throws IOException {
+        long records = 0;
+        for (long number : segments()) {
+            records += replay(number, consumer);
+        }
+        return records;
+    }
+
+    /**
+     * Reproduce los registros de un segmento.
+     * Un registro incompleto al final (escritura cortada) se ignora.
+     *
+     * @return cantidad de registros leídos
+     */
+    public long replay(long segmentNumber, RecordConsumer consumer) throws IOException {
+        long records = 0;
+        ByteBuffer read = ByteBuffer.allocate(BUFFER_SIZE);
+
+        try (FileChannel in = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.READ)) {
+            int bytesRead;
+            do {
+                bytesRead = in.read(read);
+                read.flip();
+                while (read.remaining() >= RECORD_SIZE) {
+                    byte[] hash = new byte[HASH_SIZE];
+                    read.get(hash);
+                    consumer.accept(hash, read.get() == 1);
+                    records++;
+                }
+                read.compact();
+            } while (bytesRead >= 0);
+
+            if (read.position() > 0) {
+                log.warn("Segmento {} con {} bytes finales incompletos: se ignoran", segmentNumber, read.position());
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public synchronized void close() {
+        writeBuffer();
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error cerrando el log de veredictos", e);
+        }
+    }
+
+    private void writeBuffer() {
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error escribiendo el log de veredictos", e);
+        }
+    }
+
+    private long position() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo el tamaño del log de veredictos", e);
+        }
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("verdicts-%06d.log", number));
+    }
+
+    /**
+     * Recibe cada registro en {@link #replay(RecordConsumer)}.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(byte[] hash, boolean mutant);
+    }
+}
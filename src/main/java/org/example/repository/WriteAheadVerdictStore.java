@@ -0,0 +1,217 @@
+package org.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaRecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link DnaVerdictStore} sobre dna_records con un write-ahead log delante.
+ *
+ * Un veredicto nuevo se confirma cuando quedó sincronizado en el log
+ * ({@link GroupCommitLog}), sin esperar un commit de la base por request.
+ * Mientras tanto se sirve desde un mapa de pendientes. Un aplicador en segundo
+ * plano rota el log cada {@code applyInterval}, carga los segmentos cerrados en
+ * dna_records con el insert masivo y recién entonces los borra.
+ *
+ * Al arrancar se aplican los segmentos que quedaron en disco (por ejemplo, tras
+ * una caída), así que ningún veredicto confirmado se pierde.
+ */
+@Slf4j
+public class WriteAheadVerdictStore implements DnaVerdictStore, AutoCloseable {
+
+    private final DnaVerdictStore delegate;
+    private final DnaRecordRepository dnaRecordRepository;
+    private final GroupCommitLog groupCommitLog;
+    private final VerdictLog verdictLog;
+    private final ScheduledExecutorService applier;
+
+    private final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+    private final AtomicLong pendingMutants = new AtomicLong();
+    private final AtomicLong pendingHumans = new AtomicLong();
+    private final AtomicLong appendedSinceRotate = new AtomicLong();
+
+    // Los conteos leen base + pendientes; el aplicador mueve de uno a otro con el write lock
+    private final ReadWriteLock applyLock = new ReentrantReadWriteLock();
+
+    /**
+     * @param delegate      store de dna_records para búsquedas y conteos
+     * @param directory     directorio de los segmentos del log
+     * @param fsyncInterval ventana de agrupamiento del fsync (0 = sincronizar enseguida)
+     * @param applyInterval cada cuánto se cargan los segmentos en la base
+     */
+    public WriteAheadVerdictStore(DnaVerdictStore delegate, DnaRecordRepository dnaRecordRepository,
+                                  Path directory, Duration fsyncInterval, Duration applyInterval) {
+        this.delegate = delegate;
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.verdictLog = new VerdictLog(directory);
+        this.groupCommitLog = new GroupCommitLog(verdictLog, fsyncInterval);
+
+        // Segmentos de una ejecución anterior que no llegaron a aplicarse
+        long recovered = applyClosedSegments();
+        if (recovered > 0) {
+            log.info("Write-ahead log: {} veredictos pendientes aplicados al arrancar", recovered);
+        }
+
+        this.applier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verdict-wal-applier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        applier.scheduleWithFixedDelay(this::applyQuietly,
+                applyInterval.toMillis(), applyInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Boolean> findVerdict(String dnaHash) {
+        Boolean verdict = pending.get(dnaHash);
+        return verdict != null ? Optional.of(verdict) : delegate.findVerdict(dnaHash);
+    }
+
+    /**
+     * Los de la tabla: los pendientes de aplicar ya se resuelven en memoria.
+     */
+    @Override
+    public Map<String, Boolean> findRecentVerdicts(int limit) {
+        return delegate.findRecentVerdicts(limit);
+    }
+
+    /**
+     * @return false si el hash ya estaba pendiente o en dna_records: quien cuenta los
+     *         veredictos nuevos (por ejemplo {@link ClusterCountingVerdictStore}) no suma
+     *         un duplicado
+     */
+    @Override
+    public boolean save(String dnaHash, boolean mutant) {
+        // Con el read lock el aplicador no puede pasar el hash de pendientes a la tabla en el medio
+        applyLock.readLock().lock();
+        try {
+            if (pending.containsKey(dnaHash) || delegate.findVerdict(dnaHash).isPresent()
+                    || pending.putIfAbsent(dnaHash, mutant) != null) {
+                return false;
+            }
+        } finally {
+            applyLock.readLock().unlock();
+        }
+
+        AtomicLong counter = mutant ? pendingMutants : pendingHumans;
+        counter.incrementAndGet();
+        try {
+            groupCommitLog.appendDurably(HexFormat.of().parseHex(dnaHash), mutant);
+        } catch (RuntimeException e) {
+            pending.remove(dnaHash);
+            counter.decrementAndGet();
+            throw e;
+        }
+
+        appendedSinceRotate.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public long countMutants() {
+        applyLock.readLock().lock();
+        try {
+            return delegate.countMutants() + pendingMutants.get();
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long countHumans() {
+        applyLock.readLock().lock();
+        try {
+            return delegate.countHumans() + pendingHumans.get();
+        } finally {
+            applyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rota el log y carga en la base todos los segmentos cerrados.
+     *
+     * @return cantidad de registros aplicados
+     */
+    public synchronized long apply() {
+        if (appendedSinceRotate.getAndSet(0) > 0) {
+            verdictLog.rotate();
+        }
+        return applyClosedSegments();
+    }
+
+    private synchronized long applyClosedSegments() {
+        long applied = 0;
+        try {
+            List<Long> segments = verdictLog.segments();
+            // El último segmento es el que se está escribiendo
+            for (long segment : segments.subList(0, Math.max(0, segments.size() - 1))) {
+                applied += applySegment(segment);
+                verdictLog.deleteSegmentsUpTo(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error aplicando el write-ahead log de veredictos", e);
+        }
+        return applied;
+    }
+
+    private long applySegment(long segment) throws IOException {
+        List<DnaRecord> records = new ArrayList<>();
+        verdictLog.replay(segment, (hash, mutant) -> records.add(DnaRecord.builder()
+                .dnaHash(HexFormat.of().formatHex(hash))
+                .mutant(mutant)
+                .build()));
+
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        applyLock.writeLock().lock();
+        try {
+            dnaRecordRepository.bulkInsertIgnoringDuplicates(records);
+            for (DnaRecord record : records) {
+                if (pending.remove(record.getDnaHash(), record.isMutant())) {
+                    (record.isMutant() ? pendingMutants : pendingHumans).decrementAndGet();
+                }
+            }
+        } finally {
+            applyLock.writeLock().unlock();
+        }
+        return records.size();
+    }
+
+    private void applyQuietly() {
+        try {
+            apply();
+        } catch (RuntimeException e) {
+            // Los segmentos quedan en disco y se reintentan en la próxima vuelta
+            log.error("Error aplicando el write-ahead log; se reintentará", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        applier.shutdownNow();
+        try {
+            apply();
+        } catch (RuntimeException e) {
+            log.error("No se pudo aplicar el write-ahead log al cerrar; se aplicará al arrancar", e);
+        }
+        groupCommitLog.close();
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.service;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Matrices char[][] reutilizables para la detección, una por hilo.
+ *
+ * Cada hilo (de Tomcat o del executor de matrices grandes) guarda la última matriz que
+ * usó; la siguiente detección de un N igual o menor la reutiliza en lugar de asignar
+ * N filas nuevas. Las capacidades se redondean a múltiplos de {@value #SIZE_CLASS_STEP}
+ * (clases de tamaño) para que matrices de N parecidos compartan buffer; los motores
+ * reciben N aparte y nunca leen más allá.
+ *
+ * La memoria retenida entre todos los hilos está acotada por {@code maxRetainedBytes}:
+ * si devolver una matriz la superaría, se descarta y queda para el GC. Las matrices
+ * menores a {@code minSize} no pasan por el pool (asignarlas es más barato que
+ * buscarlas).
+ *
+ * Los buffers quedan asociados al hilo. Si el hilo termina (Tomcat achica su pool, por
+ * ejemplo), su buffer se libera con él: un {@link Cleaner} descuenta esos bytes de los
+ * retenidos cuando el GC junta el slot del hilo, así el máximo no queda ocupado por
+ * hilos que ya no existen.
+ */
+public class DetectionBufferPool {
+
+    static final int SIZE_CLASS_STEP = 64;
+
+    // Un hilo para todos los pools: solo descuenta bytes de hilos terminados
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final int minSize;
+    private final long maxRetainedBytes;
+
+    private final ThreadLocal<Slot> slots = new ThreadLocal<>();
+
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param minSize          N mínimo para usar el pool
+     * @param maxRetainedBytes memoria máxima retenida entre todos los hilos
+     */
+    public DetectionBufferPool(int minSize, long maxRetainedBytes) {
+        this.minSize = minSize;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /**
+     * Matriz de al menos n×n para el hilo actual (filas de al menos n).
+     * Se devuelve con {@link #release} en el mismo hilo.
+     */
+    public char[][] borrow(int n) {
+        if (n < minSize) {
+            return new char[n][n];
+        }
+        Slot slot = slots.get();
+        char[][] buffer = slot != null ? slot.buffer : null;
+        if (buffer != null && buffer.length >= n) {
+            slot.take();
+            hits.increment();
+            return buffer;
+        }
+        misses.increment();
+        int capacity = sizeClass(n);
+        return new char[capacity][capacity];
+    }
+
+    /**
+     * Devuelve la matriz al hilo actual; si ya guarda una más grande o se superaría el
+     * máximo retenido, se descarta.
+     */
+    public void release(char[][] buffer) {
+        if (buffer.length < minSize) {
+            return;
+        }
+        Slot slot = slots.get();
+        char[][] current = slot != null ? slot.buffer : null;
+        if (current != null && current.length >= buffer.length) {
+            dropped.increment();
+            return;
+        }
+
+        long delta = bytes(buffer) - (current != null ? bytes(current) : 0);
+        if (retainedBytes.addAndGet(delta) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-delta);
+            dropped.increment();
+            return;
+        }
+        if (slot == null) {
+            slot = new Slot(retainedBytes);
+            slots.set(slot);
+        }
+        slot.hold(buffer);
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    static int sizeClass(int n) {
+        return (n + SIZE_CLASS_STEP - 1) / SIZE_CLASS_STEP * SIZE_CLASS_STEP;
+    }
+
+    /**
+     * Bytes de los datos de la matriz (2 por char), sin cabeceras de objetos.
+     */
+    private static long bytes(char[][] buffer) {
+        return 2L * buffer.length * buffer.length;
+    }
+
+    /**
+     * Buffer de un hilo. Lo referencia solo el ThreadLocal del hilo: cuando el hilo
+     * termina, el GC lo junta y {@link Held} devuelve sus bytes.
+     */
+    private static final class Slot {
+
+        private final Held held;
+        private char[][] buffer;
+
+        Slot(AtomicLong retainedBytes) {
+            this.held = new Held(retainedBytes);
+            CLEANER.register(this, held);
+        }
+
+        /**
+         * Guarda el buffer; sus bytes ya se sumaron a los retenidos.
+         */
+        void hold(char[][] next) {
+            buffer = next;
+            held.bytes = bytes(next);
+        }
+
+        /**
+         * Saca el buffer (ya no cuenta como retenido).
+         */
+        void take() {
+            buffer = null;
+            held.run();
+        }
+    }
+
+    /**
+     * Bytes que retiene un slot; sin referencia al slot, para que el GC lo pueda juntar.
+     */
+    private static final class Held implements Runnable {
+
+        private final AtomicLong retainedBytes;
+        // Lo escribe el hilo dueño y lo lee el Cleaner cuando ese hilo ya terminó
+        private volatile long bytes;
+
+        Held(AtomicLong retainedBytes) {
+            this.retainedBytes = retainedBytes;
+        }
+
+        @Override
+        public void run() {
+            retainedBytes.addAndGet(-bytes);
+            bytes = 0;
+        }
+    }
+}
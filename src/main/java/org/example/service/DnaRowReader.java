@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.example.exception.DnaTooLargeException;
+import org.example.exception.DnaValidationError;
+import org.example.exception.InvalidDnaException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lee un ADN en texto, una fila por línea, sin dejar crecer una línea más allá del máximo.
+ *
+ * {@link java.io.BufferedReader#readLine} junta la línea entera antes de devolverla: un
+ * body sin saltos de línea terminaría en un único String del tamaño del body. Acá la
+ * fila se corta apenas pasa el máximo: la primera no puede superar
+ * {@code mutant.detection.max-size} (413) y las siguientes no pueden ser más largas que
+ * la primera (400, la matriz no es cuadrada).
+ *
+ * Los espacios al principio y al final de cada línea se ignoran y las líneas vacías se
+ * saltean. Cada lectura del Reader controla el tiempo máximo de la detección, así un
+ * body que llega de a poco tampoco lo puede estirar.
+ *
+ * La fila devuelta se reutiliza en la siguiente llamada. No es thread-safe.
+ */
+class DnaRowReader {
+
+    private final Reader reader;
+    private final long deadline;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder row = new StringBuilder();
+
+    private int limit;
+    private boolean first = true;
+    private int position;
+    private int length;
+
+    /**
+     * @param maxSize  largo máximo de la primera fila (N máximo)
+     * @param deadline instante (System.nanoTime) en que se agota el tiempo de la detección
+     */
+    DnaRowReader(Reader reader, int maxSize, long deadline) {
+        this.reader = reader;
+        this.limit = maxSize;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return la siguiente fila no vacía, o null al terminar el body
+     * @throws DnaTooLargeException si la primera fila supera el máximo
+     * @throws InvalidDnaException si una fila es más larga que la primera
+     */
+    CharSequence next() throws IOException {
+        row.setLength(0);
+        // Espacios dentro de la fila: solo se agregan si después viene otra base
+        int spaces = 0;
+        int c;
+        while ((c = read()) >= 0) {
+            if (c == '\n' || c == '\r') {
+                if (row.length() > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                if (row.length() > 0) {
+                    spaces++;
+                }
+                continue;
+            }
+            if (row.length() + spaces >= limit) {
+                throw tooLong();
+            }
+            for (; spaces > 0; spaces--) {
+                row.append(' ');
+            }
+            row.append((char) c);
+        }
+        if (row.length() == 0) {
+            return null;
+        }
+        if (first) {
+            first = false;
+            limit = row.length();
+        }
+        return row;
+    }
+
+    private RuntimeException tooLong() {
+        if (first) {
+            return new DnaTooLargeException("El ADN no puede superar " + limit + "x" + limit);
+        }
+        return InvalidDnaException.of(DnaValidationError.NOT_SQUARE);
+    }
+
+    private int read() throws IOException {
+        if (position == length) {
+            MutantDetector.checkDeadline(deadline);
+            length = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (length <= 0) {
+                length = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
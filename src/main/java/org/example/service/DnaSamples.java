@@ -0,0 +1,57 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Matrices de ADN sintéticas: las usa el calentamiento al iniciar y, desde los tests,
+ * los fixtures y benchmarks del detector.
+ */
+public final class DnaSamples {
+
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    private DnaSamples() {
+    }
+
+    /**
+     * Matriz sin ninguna secuencia (celda = BASES[(fila + 2 * col) % 4]): horizontal,
+     * vertical y ambas diagonales cambian de letra en cada paso, así que la detección
+     * recorre la matriz completa.
+     */
+    public static List<String> humanMatrix(int n) {
+        List<String> dna = new ArrayList<>(n);
+        for (int row = 0; row < n; row++) {
+            StringBuilder sb = new StringBuilder(n);
+            for (int col = 0; col < n; col++) {
+                sb.append(BASES[(row + 2 * col) % BASES.length]);
+            }
+            dna.add(sb.toString());
+        }
+        return dna;
+    }
+
+    /**
+     * Matriz de n×n con las 4 bases al azar.
+     */
+    public static List<String> randomMatrix(Random random, int n) {
+        return randomMatrix(random, n, BASES.length);
+    }
+
+    /**
+     * Matriz de n×n con las primeras {@code alphabet} bases (A, C, G, T) al azar: con 2
+     * o 3 bases aparecen muchas más secuencias que con 4.
+     */
+    public static List<String> randomMatrix(Random random, int n, int alphabet) {
+        List<String> dna = new ArrayList<>(n);
+        for (int row = 0; row < n; row++) {
+            StringBuilder sb = new StringBuilder(n);
+            for (int col = 0; col < n; col++) {
+                sb.append(BASES[random.nextInt(alphabet)]);
+            }
+            dna.add(sb.toString());
+        }
+        return dna;
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.service;
+
+/**
+ * Las 8 simetrías del cuadrado (rotaciones y espejos) aplicadas a un ADN NxN sin
+ * copiar la matriz: cada transformación es solo una forma de traducir (fila, columna)
+ * a la celda de origen.
+ *
+ * Ninguna cambia el veredicto: rotar o reflejar convierte filas en columnas y una
+ * diagonal en la otra, así que las secuencias son las mismas. La forma canónica es la
+ * menor de las 8 en orden lexicográfico (fila por fila), y se elige descartando
+ * transformaciones celda a celda: en un ADN cualquiera quedan una o dos después de
+ * unas pocas celdas, solo las matrices simétricas llegan a recorrerse completas.
+ */
+public final class DnaSymmetry {
+
+    /**
+     * 0 = identidad, 1-3 = rotaciones de 90°, 180° y 270° (horario),
+     * 4 = transpuesta, 5 = espejo horizontal, 6 = espejo vertical, 7 = antitranspuesta.
+     */
+    public static final int TRANSFORMS = 8;
+
+    public static final int IDENTITY = 0;
+
+    private static final int ALL = (1 << TRANSFORMS) - 1;
+
+    private DnaSymmetry() {
+    }
+
+    /**
+     * Transformación que da la forma canónica (la de menor índice si hay empate,
+     * es decir, si la matriz es simétrica).
+     *
+     * @param rows matriz NxN (todas las filas de largo N)
+     */
+    public static int canonicalTransform(String[] rows) {
+        int n = rows.length;
+        int candidates = ALL;
+        char[] cells = new char[TRANSFORMS];
+
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                char min = Character.MAX_VALUE;
+                for (int t = 0; t < TRANSFORMS; t++) {
+                    if ((candidates & (1 << t)) != 0) {
+                        cells[t] = cell(rows, t, row, col);
+                        if (cells[t] < min) {
+                            min = cells[t];
+                        }
+                    }
+                }
+                for (int t = 0; t < TRANSFORMS; t++) {
+                    if ((candidates & (1 << t)) != 0 && cells[t] != min) {
+                        candidates &= ~(1 << t);
+                    }
+                }
+                if (Integer.bitCount(candidates) == 1) {
+                    return Integer.numberOfTrailingZeros(candidates);
+                }
+            }
+        }
+        return Integer.numberOfTrailingZeros(candidates);
+    }
+
+    /**
+     * Celda (row, col) de la matriz transformada.
+     */
+    public static char cell(String[] rows, int transform, int row, int col) {
+        int last = rows.length - 1;
+        switch (transform) {
+            case 0:
+                return rows[row].charAt(col);
+            case 1:
+                return rows[last - col].charAt(row);
+            case 2:
+                return rows[last - row].charAt(last - col);
+            case 3:
+                return rows[col].charAt(last - row);
+            case 4:
+                return rows[col].charAt(row);
+            case 5:
+                return rows[row].charAt(last - col);
+            case 6:
+                return rows[last - row].charAt(col);
+            case 7:
+                return rows[last - col].charAt(last - row);
+            default:
+                throw new IllegalArgumentException("Transformación inválida: " + transform);
+        }
+    }
+
+    /**
+     * Si el ADN es una matriz cuadrada sin filas nulas (las demás reglas las valida
+     * el detector); solo esas tienen forma canónica.
+     */
+    static boolean isSquare(String[] rows) {
+        int n = rows.length;
+        if (n == 0) {
+            return false;
+        }
+        for (String row : rows) {
+            if (row == null || row.length() != n) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
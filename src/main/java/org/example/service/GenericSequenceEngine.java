@@ -0,0 +1,107 @@
+package org.example.service;
+
+/**
+ * Motor de detección generalizado: un ADN es mutante si tiene al menos {@code threshold}
+ * secuencias de {@code sequenceLength} letras iguales consecutivas.
+ *
+ * Cuenta igual que {@link MutantDetector}: cada ventana de K letras iguales es una
+ * secuencia, así que una racha de largo L aporta L - K + 1. En lugar de comparar K
+ * celdas desde cada posición, recorre cada línea (filas, columnas y diagonales de al
+ * menos K celdas) una vez llevando el largo de la racha actual: O(N²) para cualquier K,
+ * y corta apenas llega al umbral.
+ *
+ * Con K=4 y T=2 MutantDetector no lo usa: mantiene su camino especializado.
+ */
+public class GenericSequenceEngine {
+
+    private final int sequenceLength;
+    private final int threshold;
+
+    /**
+     * @param sequenceLength K, largo de una secuencia (al menos 2)
+     * @param threshold      T, secuencias necesarias para ser mutante (al menos 1)
+     */
+    public GenericSequenceEngine(int sequenceLength, int threshold) {
+        if (sequenceLength < 2) {
+            throw new IllegalArgumentException("El largo de secuencia debe ser al menos 2: " + sequenceLength);
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("El umbral de secuencias debe ser al menos 1: " + threshold);
+        }
+        this.sequenceLength = sequenceLength;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param matrix   matriz NxN ya validada
+     * @param deadline instante (System.nanoTime) en que se agota el tiempo de la detección
+     * @return true si tiene al menos {@code threshold} secuencias
+     */
+    public boolean isMutant(char[][] matrix, long deadline) {
+        return isMutant(matrix, matrix.length, deadline);
+    }
+
+    /**
+     * Igual que {@link #isMutant(char[][], long)} sobre las primeras n filas y columnas
+     * de una matriz que puede ser más grande (un buffer de {@link DetectionBufferPool}).
+     */
+    public boolean isMutant(char[][] matrix, int n, long deadline) {
+        int k = sequenceLength;
+        int found = 0;
+
+        // Filas (→) y columnas (↓)
+        for (int i = 0; i < n; i++) {
+            MutantDetector.checkDeadline(deadline);
+            found += scan(matrix, n, i, 0, 0, 1, threshold - found);
+            if (found >= threshold) return true;
+            found += scan(matrix, n, 0, i, 1, 0, threshold - found);
+            if (found >= threshold) return true;
+        }
+
+        // Diagonales con al menos K celdas: ↘ desde la primera fila y columna,
+        // ↗ desde la última fila y la primera columna
+        for (int i = 0; i <= n - k; i++) {
+            MutantDetector.checkDeadline(deadline);
+            found += scan(matrix, n, 0, i, 1, 1, threshold - found);
+            if (found >= threshold) return true;
+            found += scan(matrix, n, n - 1, i, -1, 1, threshold - found);
+            if (found >= threshold) return true;
+            if (i > 0) {
+                found += scan(matrix, n, i, 0, 1, 1, threshold - found);
+                if (found >= threshold) return true;
+                found += scan(matrix, n, n - 1 - i, 0, -1, 1, threshold - found);
+                if (found >= threshold) return true;
+            }
+        }
+        return false;
+    }
+
+    public int getSequenceLength() {
+        return sequenceLength;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Cuenta las ventanas de K letras iguales de una línea, hasta {@code needed}.
+     */
+    private int scan(char[][] matrix, int n, int row, int col, int rowStep, int colStep, int needed) {
+        int found = 0;
+        int run = 0;
+        char previous = 0;
+
+        while (row >= 0 && row < n && col < n) {
+            char base = matrix[row][col];
+            run = base == previous ? run + 1 : 1;
+            previous = base;
+            if (run >= sequenceLength && ++found >= needed) {
+                return found;
+            }
+            row += rowStep;
+            col += colStep;
+        }
+        return found;
+    }
+}
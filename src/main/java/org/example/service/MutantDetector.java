@@ -1,6 +1,13 @@
 package org.example.service;
 
+import org.example.cache.RowFingerprintCache;
+import org.example.config.DetectionProperties;
+import org.example.exception.DetectionTimeoutException;
+import org.example.exception.DnaTooLargeException;
+import org.example.exception.DnaValidationError;
 import org.example.exception.InvalidDnaException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,6 +19,24 @@ import java.util.Set;
  * Un ADN es mutante si contiene MÁS DE UNA secuencia de 4 letras
  * iguales consecutivas en cualquier dirección (horizontal, vertical,
  * diagonal descendente o diagonal ascendente).
+ *
+ * El costo está acotado: N no puede superar {@code mutant.detection.max-size} y la
+ * validación + detección se cortan si pasan {@code mutant.detection.time-budget}
+ * (se controla una vez por fila, sin frenar el recorrido).
+ *
+ * El largo de secuencia K y el umbral T son configurables
+ * ({@code mutant.detection.sequence-length} y {@code threshold}). Con los valores por
+ * defecto (K=4, T=2: "más de una secuencia de 4") se usa el recorrido especializado de
+ * esta clase, con comparaciones desenrolladas; cualquier otra combinación pasa por
+ * {@link GenericSequenceEngine}.
+ *
+ * Con {@code mutant.detection.partial-cache.enabled} la detección pasa por
+ * {@link PartialMatchEngine}, que reutiliza los conteos de filas y franjas de filas ya
+ * vistas: un ADN que repite casi todas las filas de otro solo recuenta las que cambiaron.
+ *
+ * La matriz char[][] de cada detección sale de un {@link DetectionBufferPool}
+ * ({@code mutant.detection.buffers.*}): los hilos reutilizan su buffer en lugar de
+ * asignar N filas nuevas por request.
  */
 @Service
 public class MutantDetector {
@@ -19,29 +44,168 @@ public class MutantDetector {
     private static final int SEQUENCE_LENGTH = 4;
     private static final Set<Character> VALID_BASES = Set.of('A', 'T', 'C', 'G');
 
+    private static final int DEFAULT_THRESHOLD = 2;
+
+    private final int maxSize;
+    private final long timeBudgetNanos;
+
+    // null = K=4/T=2 con el recorrido especializado
+    private final GenericSequenceEngine genericEngine;
+
+    // null = sin caché de conteos parciales
+    private final PartialMatchEngine partialMatchEngine;
+
+    // null = cada detección asigna su matriz
+    private final DetectionBufferPool bufferPool;
+
+    /**
+     * Detector con los límites por defecto de {@link DetectionProperties}.
+     */
+    public MutantDetector() {
+        this(new DetectionProperties());
+    }
+
+    public MutantDetector(DetectionProperties properties) {
+        this(properties, (DetectionBufferPool) null);
+    }
+
+    /**
+     * Detector con el pool de buffers, si está habilitado ({@code mutant.detection.buffers.enabled}).
+     */
+    @Autowired
+    public MutantDetector(DetectionProperties properties, ObjectProvider<DetectionBufferPool> bufferPool) {
+        this(properties, bufferPool.getIfAvailable());
+    }
+
+    /**
+     * @param bufferPool matrices reutilizables (null = cada detección asigna su matriz)
+     */
+    public MutantDetector(DetectionProperties properties, DetectionBufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+        this.maxSize = properties.getMaxSize();
+        this.timeBudgetNanos = properties.getTimeBudget().toNanos();
+        boolean specialized = properties.getSequenceLength() == SEQUENCE_LENGTH
+                && properties.getThreshold() == DEFAULT_THRESHOLD;
+        this.genericEngine = specialized
+                ? null
+                : new GenericSequenceEngine(properties.getSequenceLength(), properties.getThreshold());
+        DetectionProperties.PartialCache partialCache = properties.getPartialCache();
+        this.partialMatchEngine = partialCache.isEnabled()
+                ? new PartialMatchEngine(properties.getSequenceLength(), properties.getThreshold(),
+                        new RowFingerprintCache(partialCache.getMaxEntries()))
+                : null;
+    }
+
     /**
      * Método principal: valida el ADN y verifica si es mutante.
      *
      * @param dna Lista de strings representando la matriz de ADN
-     * @return true si es mutante (>1 secuencia), false si es humano
+     * @return true si es mutante (>1 secuencia, o al menos T con la configuración), false si es humano
      * @throws InvalidDnaException si el ADN es inválido
+     * @throws DnaTooLargeException si N supera el máximo configurado
+     * @throws DetectionTimeoutException si se agotó el tiempo máximo de detección
      */
     public boolean isMutant(List<String> dna) {
-        // Validamos el ADN. Si es inválido, lanza InvalidDnaException → HTTP 400.
-        validateDna(dna);
+        return isMutant(dna, timeBudgetNanos);
+    }
+
+    /**
+     * Igual que {@link #isMutant(List)} con otro tiempo máximo (los jobs asíncronos
+     * no tienen un request esperando y usan {@code mutant.jobs.time-budget}).
+     *
+     * @param timeBudgetNanos tiempo máximo de validación + detección, en nanosegundos
+     */
+    public boolean isMutant(List<String> dna, long timeBudgetNanos) {
+        return isMutant(dna, timeBudgetNanos, true);
+    }
+
+    /**
+     * Igual que {@link #isMutant(List)} sin leer ni llenar el caché de conteos parciales:
+     * para detecciones sintéticas (el calentamiento) que no deben ocupar el lugar de las
+     * filas de ADN reales.
+     */
+    boolean isMutantUncached(List<String> dna) {
+        return isMutant(dna, timeBudgetNanos, false);
+    }
+
+    private boolean isMutant(List<String> dna, long timeBudgetNanos, boolean partialCache) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+
+        // Validamos el ADN. Si es inválido, lanza InvalidDnaException → HTTP 400
+        // (instancia compartida y sin stack trace: no cuesta nada por request).
+        DnaValidationError error = validateDna(dna, deadline);
+        if (error != null) {
+            throw InvalidDnaException.of(error);
+        }
 
         int n = dna.size();
 
-        // Conversión a char[][] para acceso O(1) más rápido
-        char[][] matrix = new char[n][n];
-        for (int i = 0; i < n; i++) {
-            matrix[i] = dna.get(i).toCharArray();
+        // Conversión a char[][] para acceso O(1) más rápido, sobre un buffer del pool
+        // (puede ser más grande que n×n: los motores solo leen las primeras n filas y columnas)
+        char[][] matrix = bufferPool != null ? bufferPool.borrow(n) : new char[n][n];
+        try {
+            for (int i = 0; i < n; i++) {
+                dna.get(i).getChars(0, n, matrix[i], 0);
+            }
+
+            if (partialCache && partialMatchEngine != null) {
+                return partialMatchEngine.isMutant(matrix, n, deadline);
+            }
+            if (genericEngine != null) {
+                return genericEngine.isMutant(matrix, n, deadline);
+            }
+            return isMutantDefault(matrix, n, deadline);
+        } finally {
+            if (bufferPool != null) {
+                bufferPool.release(matrix);
+            }
         }
+    }
+
+    /**
+     * Caché de conteos parciales, o null si está deshabilitado.
+     */
+    public RowFingerprintCache getPartialCache() {
+        return partialMatchEngine != null ? partialMatchEngine.getCache() : null;
+    }
+
+    /**
+     * N máximo aceptado (mutant.detection.max-size).
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Tiempo máximo por defecto de validación + detección, en nanosegundos.
+     */
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    /**
+     * Largo de secuencia K configurado.
+     */
+    public int getSequenceLength() {
+        return genericEngine != null ? genericEngine.getSequenceLength() : SEQUENCE_LENGTH;
+    }
+
+    /**
+     * Umbral T de secuencias para ser mutante.
+     */
+    public int getThreshold() {
+        return genericEngine != null ? genericEngine.getThreshold() : DEFAULT_THRESHOLD;
+    }
 
+    /**
+     * Recorrido especializado para K=4 y T=2.
+     */
+    private boolean isMutantDefault(char[][] matrix, int n, long deadline) {
         int sequenceCount = 0;
 
         // Single Pass: recorremos la matriz una sola vez
         for (int row = 0; row < n; row++) {
+            checkDeadline(deadline);
             for (int col = 0; col < n; col++) {
 
                 // Boundary Checking + Horizontal Check
@@ -73,6 +237,51 @@ public class MutantDetector {
         return false;  // Solo encontró 0 o 1 secuencia → No es mutante
     }
 
+    /**
+     * Detector para un ADN que llega fila por fila, con los mismos límites que este.
+     */
+    public StreamingMutantDetector stream() {
+        return new StreamingMutantDetector(maxSize, getSequenceLength(), getThreshold());
+    }
+
+    /**
+     * Controla el tamaño antes de cualquier trabajo proporcional al body (el hash del ADN):
+     * ni N ni el largo de una fila pueden superar el máximo configurado.
+     *
+     * Una fila más larga que el máximo no puede formar una matriz cuadrada válida: se
+     * responde con el mismo error que daría la validación completa.
+     *
+     * @throws DnaTooLargeException si N supera el máximo configurado
+     * @throws InvalidDnaException si una fila supera el máximo
+     */
+    public void checkSize(List<String> dna) {
+        if (dna == null) {
+            return;
+        }
+        if (dna.size() > maxSize) {
+            throw new DnaTooLargeException("El ADN no puede superar " + maxSize + "x" + maxSize);
+        }
+        for (String row : dna) {
+            if (row != null && row.length() > maxSize) {
+                // Corta en la primera fila inválida: nunca recorre una fila más larga que N
+                DnaValidationError error = validateDna(dna, System.nanoTime() + timeBudgetNanos);
+                throw InvalidDnaException.of(error != null ? error : DnaValidationError.NOT_SQUARE);
+            }
+        }
+    }
+
+    /**
+     * Valida el ADN sin lanzar excepciones por ADN inválido.
+     *
+     * @param dna Lista de strings a validar
+     * @return el motivo por el que es inválido, o null si es válido
+     * @throws DnaTooLargeException si N supera el máximo configurado
+     * @throws DetectionTimeoutException si se agotó el tiempo máximo de validación
+     */
+    public DnaValidationError validate(List<String> dna) {
+        return validateDna(dna, System.nanoTime() + timeBudgetNanos);
+    }
+
     /**
      * Valida que el ADN cumpla con los requisitos:
      * - No sea null ni vacío
@@ -80,38 +289,56 @@ public class MutantDetector {
      * - Tenga tamaño mínimo 4x4
      * - Solo contenga caracteres válidos (A, T, C, G)
      *
-     * @param dna Lista de strings a validar
-     * @throws InvalidDnaException si alguna validación falla
+     * @param dna      Lista de strings a validar
+     * @param deadline instante (System.nanoTime) en que se agota el tiempo de la detección
+     * @return el primer error encontrado, o null si el ADN es válido
      */
-    private void validateDna(List<String> dna) {
+    private DnaValidationError validateDna(List<String> dna, long deadline) {
         if (dna == null || dna.isEmpty()) {
-            throw new InvalidDnaException("El ADN no puede ser nulo ni vacío");
+            return DnaValidationError.EMPTY;
         }
 
         int n = dna.size();
 
         // Tamaño mínimo 4x4
         if (n < SEQUENCE_LENGTH) {
-            throw new InvalidDnaException("El ADN debe ser una matriz cuadrada mínima de 4x4");
+            return DnaValidationError.TOO_SMALL;
+        }
+
+        // Tamaño máximo: el costo de la detección crece con N²
+        if (n > maxSize) {
+            throw new DnaTooLargeException("El ADN no puede superar " + maxSize + "x" + maxSize);
         }
 
         for (String row : dna) {
+            checkDeadline(deadline);
+
             if (row == null) {
-                throw new InvalidDnaException("Las filas de ADN no pueden ser nulas");
+                return DnaValidationError.NULL_ROW;
             }
 
             // Matriz NxN: cada fila debe tener largo = cantidad de filas
             if (row.length() != n) {
-                throw new InvalidDnaException("El ADN debe ser una matriz cuadrada NxN");
+                return DnaValidationError.NOT_SQUARE;
             }
 
-            // Validación O(1) con Set - Solo caracteres válidos
-            for (char c : row.toCharArray()) {
-                if (!VALID_BASES.contains(c)) {
-                    throw new InvalidDnaException("El ADN solo puede contener las letras A, C, G y T");
+            // Validación O(1) con Set - Solo caracteres válidos (sin copiar la fila)
+            for (int i = 0; i < n; i++) {
+                if (!VALID_BASES.contains(row.charAt(i))) {
+                    return DnaValidationError.INVALID_BASE;
                 }
             }
         }
+        return null;
+    }
+
+    /**
+     * Corta la detección si se agotó el tiempo máximo del request.
+     */
+    static void checkDeadline(long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw new DetectionTimeoutException("Se superó el tiempo máximo de detección");
+        }
     }
 
     /**
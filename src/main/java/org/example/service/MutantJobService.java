@@ -0,0 +1,290 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.example.config.JobProperties;
+import org.example.exception.DetectionTimeoutException;
+import org.example.exception.DnaValidationError;
+import org.example.exception.InvalidDnaException;
+import org.example.repository.DnaVerdictStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Detección asíncrona para ADN muy grandes (POST /mutant/jobs): el request valida el
+ * ADN, calcula su hash y responde enseguida con el id del job; la detección corre en
+ * un pool propio de pocos hilos y cola corta, y el resultado se consulta por polling.
+ *
+ * El id del job es el hash del ADN (el mismo de dna_records) seguido de una firma
+ * HMAC-SHA256 de ese hash, con una clave al azar de esta instancia. Así:
+ * - si el veredicto ya está guardado, el job nace terminado y no se encola nada;
+ * - un ADN que ya tiene un job pendiente o terminado recibe ese mismo job;
+ * - cuando un job terminado vence, su veredicto se sigue respondiendo desde la base;
+ * - GET /mutant/jobs/{id} solo responde ids emitidos por este servicio: no sirve para
+ *   preguntar el veredicto de cualquier hash sin haber enviado el ADN.
+ *
+ * Los jobs se guardan en memoria, acotados por cantidad ({@code max-entries}) y por
+ * tiempo ({@code ttl}) desde que terminan. Los pendientes no se descartan: ya los acota
+ * el pool (hilos + cola), que rechaza con {@link RejectedExecutionException} (→ 503).
+ * Un job fallido (tiempo agotado) puede volver a enviarse.
+ */
+@Service
+public class MutantJobService implements AutoCloseable {
+
+    private static final Pattern JOB_ID = Pattern.compile("[0-9a-f]{96}");
+    private static final String HMAC = "HmacSHA256";
+    private static final int HASH_LENGTH = 64;
+    // Bytes de la firma que van en el id (128 bits)
+    private static final int TAG_BYTES = 16;
+
+    private final MutantService mutantService;
+    private final MutantDetector mutantDetector;
+    private final DnaVerdictStore dnaVerdictStore;
+    private final ThreadPoolExecutor executor;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long timeBudgetNanos;
+    private final Clock clock;
+    private final SecretKeySpec key;
+
+    // Jobs por id en orden de inserción; al terminar se reinsertan al final, así los
+    // primeros terminados son los que vencen antes
+    private final LinkedHashMap<String, Entry> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public MutantJobService(MutantService mutantService, MutantDetector mutantDetector,
+                            DnaVerdictStore dnaVerdictStore, JobProperties properties, MeterRegistry meterRegistry) {
+        this(mutantService, mutantDetector, dnaVerdictStore, properties, Clock.systemUTC());
+
+        // executor.active, executor.queued, ... con name=mutant-jobs
+        new ExecutorServiceMetrics(executor, "mutant-jobs", List.of()).bindTo(meterRegistry);
+        Gauge.builder("mutant.jobs.entries", this, MutantJobService::size)
+                .description("Jobs asíncronos guardados para el polling (pendientes y terminados)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param clock reloj para el vencimiento de los jobs terminados
+     */
+    public MutantJobService(MutantService mutantService, MutantDetector mutantDetector,
+                            DnaVerdictStore dnaVerdictStore, JobProperties properties, Clock clock) {
+        this.mutantService = mutantService;
+        this.mutantDetector = mutantDetector;
+        this.dnaVerdictStore = dnaVerdictStore;
+        this.maxEntries = properties.getMaxEntries();
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.timeBudgetNanos = properties.getTimeBudget().toNanos();
+        this.clock = clock;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mutant-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Valida el ADN y encola su detección, salvo que ya tenga veredicto o job.
+     *
+     * @return el job (PENDING, o DONE si el veredicto ya estaba guardado)
+     * @throws InvalidDnaException        si el ADN es inválido
+     * @throws RejectedExecutionException si el pool y la cola de jobs están llenos
+     */
+    public Job submit(List<String> dna) {
+        DnaValidationError error = mutantDetector.validate(dna);
+        if (error != null) {
+            throw InvalidDnaException.of(error);
+        }
+        String hash = mutantService.hash(dna);
+        String id = hash + tag(hash);
+
+        // Un job pendiente o terminado del mismo ADN: no hace falta ni la base
+        Job known = active(id);
+        if (known != null) {
+            return known;
+        }
+        Optional<Boolean> stored = dnaVerdictStore.findVerdict(hash);
+        if (stored.isPresent()) {
+            return Job.done(id, stored.get());
+        }
+
+        Job pending = new Job(id, State.PENDING, null, null);
+        synchronized (jobs) {
+            // Otro request con el mismo ADN pudo encolarlo mientras se buscaba el veredicto
+            Job concurrent = activeLocked(id);
+            if (concurrent != null) {
+                return concurrent;
+            }
+            jobs.remove(id);
+            jobs.put(id, new Entry(pending, Long.MAX_VALUE));
+        }
+        try {
+            executor.execute(() -> run(id, hash, dna));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(id);
+            }
+            throw e;
+        }
+        return pending;
+    }
+
+    /**
+     * Estado de un job: el guardado en memoria o, si ya venció, el veredicto de la base.
+     *
+     * @return vacío si el id no fue emitido por este servicio o no tiene job ni veredicto
+     */
+    public Optional<Job> find(String id) {
+        if (!isIssued(id)) {
+            return Optional.empty();
+        }
+        synchronized (jobs) {
+            Entry entry = jobs.get(id);
+            if (entry != null && !isExpired(entry)) {
+                return Optional.of(entry.job());
+            }
+        }
+        return dnaVerdictStore.findVerdict(id.substring(0, HASH_LENGTH)).map(mutant -> Job.done(id, mutant));
+    }
+
+    public int size() {
+        synchronized (jobs) {
+            return jobs.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Firma del hash que completa el id del job.
+     */
+    private String tag(String hash) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            byte[] tag = mac.doFinal(hash.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(tag, 0, TAG_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo firmar el id del job", e);
+        }
+    }
+
+    /**
+     * Un id con formato válido y cuya firma corresponde al hash que lleva.
+     */
+    private boolean isIssued(String id) {
+        if (!JOB_ID.matcher(id).matches()) {
+            return false;
+        }
+        String hash = id.substring(0, HASH_LENGTH);
+        return MessageDigest.isEqual(tag(hash).getBytes(StandardCharsets.US_ASCII),
+                id.substring(HASH_LENGTH).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void run(String id, String hash, List<String> dna) {
+        Job result;
+        try {
+            result = Job.done(id, mutantService.processJob(dna, hash, timeBudgetNanos));
+        } catch (DetectionTimeoutException e) {
+            result = new Job(id, State.FAILED, null, e.getMessage());
+        } catch (RuntimeException e) {
+            result = new Job(id, State.FAILED, null, "An unexpected error occurred");
+        }
+
+        synchronized (jobs) {
+            jobs.remove(id);
+            jobs.put(id, new Entry(result, clock.millis() + ttlMillis));
+            evictLocked();
+        }
+    }
+
+    private Job active(String id) {
+        synchronized (jobs) {
+            return activeLocked(id);
+        }
+    }
+
+    /**
+     * Job pendiente o terminado bien, vigente; null si no hay o si falló.
+     */
+    private Job activeLocked(String id) {
+        Entry entry = jobs.get(id);
+        if (entry == null || isExpired(entry) || entry.job().state() == State.FAILED) {
+            return null;
+        }
+        return entry.job();
+    }
+
+    /**
+     * Descarta desde el principio los terminados vencidos y, si sobran, los más viejos.
+     */
+    private void evictLocked() {
+        Iterator<Map.Entry<String, Entry>> iterator = jobs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.job().state() == State.PENDING) {
+                continue;
+            }
+            if (!isExpired(entry) && jobs.size() <= maxEntries) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.expiresAt() <= clock.millis();
+    }
+
+    public enum State {
+        PENDING, DONE, FAILED
+    }
+
+    /**
+     * @param id      hash del ADN seguido de su firma
+     * @param mutant  veredicto (solo DONE)
+     * @param error   motivo (solo FAILED)
+     */
+    public record Job(String id, State state, Boolean mutant, String error) {
+
+        static Job done(String id, boolean mutant) {
+            return new Job(id, State.DONE, mutant, null);
+        }
+    }
+
+    private record Entry(Job job, long expiresAt) {
+    }
+}
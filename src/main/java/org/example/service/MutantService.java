@@ -1,58 +1,313 @@
 package org.example.service;
 
-import lombok.RequiredArgsConstructor;
-import org.example.entity.DnaRecord;
-import org.example.repository.DnaRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.concurrency.RequestClass;
+import org.example.concurrency.RequestScheduler;
+import org.example.config.DetectionProperties;
+import org.example.exception.DnaStreamUnavailableException;
+import org.example.profiling.DnaStageEvents;
+import org.example.profiling.DnaStageEvents.Stage;
+import org.example.repository.DnaVerdictStore;
+import org.example.stats.StatsVersion;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor   // Lombok: genera constructor con los campos final
 public class MutantService {
 
-    // Dependencias: el detector y el repositorio
+    // Dependencias: el detector y el almacenamiento de veredictos (JPA o memoria)
     private final MutantDetector mutantDetector;
-    private final DnaRecordRepository dnaRecordRepository;
+    private final DnaVerdictStore dnaVerdictStore;
+
+    // Carriles por clase de trabajo: lookup, detección chica/grande (null = todo en el hilo del request, sin límites)
+    private final RequestScheduler requestScheduler;
+
+    // Versión de /stats: se incrementa con cada veredicto nuevo (null = no se lleva)
+    private final StatsVersion statsVersion;
+
+    // Hash de la forma canónica entre las 8 simetrías (mutant.detection.canonical-hash)
+    private final boolean canonicalHash;
+
+    // Prefijo del hash con K y T (vacío con K=4/T=2): un veredicto solo vale para su K/T
+    private final byte[] namespace;
+
+    // Tiempo de cada etapa de processDna (métrica mutant.process.stage)
+    private final Timer hashTimer;
+    private final Timer lookupTimer;
+    private final Timer detectTimer;
+    private final Timer persistTimer;
+
+    public MutantService(MutantDetector mutantDetector, DnaVerdictStore dnaVerdictStore, MeterRegistry meterRegistry) {
+        this(mutantDetector, dnaVerdictStore, meterRegistry, null, null, null);
+    }
+
+    @Autowired
+    public MutantService(MutantDetector mutantDetector, DnaVerdictStore dnaVerdictStore, MeterRegistry meterRegistry,
+                         RequestScheduler requestScheduler, StatsVersion statsVersion,
+                         DetectionProperties detectionProperties) {
+        this.mutantDetector = mutantDetector;
+        this.dnaVerdictStore = dnaVerdictStore;
+        this.requestScheduler = requestScheduler;
+        this.statsVersion = statsVersion;
+        this.canonicalHash = detectionProperties != null && detectionProperties.isCanonicalHash();
+        this.namespace = detectionProperties != null
+                ? namespace(detectionProperties.getSequenceLength(), detectionProperties.getThreshold())
+                : new byte[0];
+        this.hashTimer = stageTimer(meterRegistry, "hash");
+        this.lookupTimer = stageTimer(meterRegistry, "lookup");
+        this.detectTimer = stageTimer(meterRegistry, "detect");
+        this.persistTimer = stageTimer(meterRegistry, "persist");
+    }
 
     /**
-     * Procesa el ADN:
-     * 1) Calcula el hash del ADN.
-     * 2) Si el hash ya existe en la BD → reutiliza ese resultado.
-     * 3) Si no existe → llama al detector, guarda el registro y devuelve el resultado.
+     * Procesa el ADN en tres etapas, sin una transacción que las envuelva
+     * (antes de todo, N y el largo de las filas se comparan con el máximo):
+     * 1) Camino rápido: calcula el hash y busca el veredicto (lectura sin transacción).
+     *    Si ya existe → reutiliza ese resultado sin tocar el detector.
+     * 2) Si no existe → detección solo de CPU, sin ninguna conexión tomada.
+     *    Las matrices grandes se detectan en su propio executor acotado.
+     * 3) Guarda el veredicto en una transacción corta que solo cubre el INSERT.
+     *
+     * La búsqueda del paso 1 corre en el carril CACHED (el hash se calcula antes, fuera de
+     * los carriles) y el paso 2 en SMALL o LARGE según N ({@link RequestScheduler}): un
+     * duplicado nunca espera detrás de una detección.
      */
-    @Transactional
     public boolean processDna(List<String> dna) {
+        // Eventos de JFR por etapa (no hacen nada si no hay una grabación que los pida)
+        DnaStageEvents events = DnaStageEvents.start();
+
+        try {
+            // 0) El tamaño se controla antes del hash: un body enorme no llega a unirse ni hashearse
+            mutantDetector.checkSize(dna);
+
+            // 1) Hash del ADN (huella digital única), fuera de los carriles: es CPU proporcional al body
+            events.begin(Stage.HASH);
+            String hash = hashTimer.record(() -> hashDna(dna));
+            events.end(Stage.HASH);
+
+            // 2) Búsqueda del veredicto, lo único que corre en el carril de duplicados
+            Optional<Boolean> verdict = inLane(RequestClass.CACHED, () -> lookup(hash, events));
+
+            if (verdict.isPresent()) {
+                // Si ya lo analizamos antes, devolvemos el resultado guardado
+                boolean stored = verdict.get();
+                events.verdict(stored, true);
+                return stored;
+            }
+
+            // 3) Si no existe, llamamos al detector para saber si es mutante
+            events.begin(Stage.DETECT);
+            boolean isMutant = detectTimer.record(() -> detect(dna));
+            events.end(Stage.DETECT);
+
+            // 4) Guardamos el nuevo veredicto (si otro request lo guardó antes, el resultado es el mismo)
+            events.begin(Stage.PERSIST);
+            persist(hash, isMutant);
+            events.end(Stage.PERSIST);
+            events.verdict(isMutant, false);
+
+            // 5) Devolvemos el resultado al controller
+            return isMutant;
+        } catch (RuntimeException e) {
+            events.fail(e);
+            throw e;
+        } finally {
+            events.commit(dna != null ? dna.size() : 0);
+        }
+    }
+
+    /**
+     * Procesa un ADN que llega como texto, una fila por línea (por ejemplo, un upload
+     * chunked de un secuenciador), sin armar nunca la matriz completa:
+     * cada fila se valida, se suma al hash SHA-256 incremental y pasa por el
+     * {@link StreamingMutantDetector}. La memoria es O(N).
+     *
+     * Tiene los mismos límites que {@link #processDna}: ninguna fila puede crecer más allá
+     * del máximo ({@link DnaRowReader}), la lectura y la detección se cortan al agotarse
+     * {@code mutant.detection.time-budget}, y apenas la primera fila da N el resto corre
+     * en el carril SMALL o LARGE que le corresponde.
+     *
+     * Como el hash se conoce recién al final, el lookup se hace después de la detección;
+     * el veredicto guardado, si existe, es el que se devuelve. Las líneas vacías se ignoran.
+     *
+     * Con {@code mutant.detection.canonical-hash} se rechaza sin leer el body: la forma
+     * canónica necesita la matriz entera, y con el hash de las filas en el orden recibido
+     * el mismo ADN enviado a POST /mutant y acá quedaría guardado (y contado) dos veces.
+     *
+     * @throws DnaStreamUnavailableException si {@code mutant.detection.canonical-hash} está activo
+     */
+    public boolean processDnaStream(Reader reader) throws IOException {
+        if (canonicalHash) {
+            throw new DnaStreamUnavailableException(
+                    "POST /mutant/stream no está disponible con mutant.detection.canonical-hash: usar POST /mutant");
+        }
+        DnaStageEvents events = DnaStageEvents.start();
+        MessageDigest digest = digest();
+        StreamingMutantDetector stream = mutantDetector.stream();
+        long deadline = System.nanoTime() + mutantDetector.getTimeBudgetNanos();
+        DnaRowReader rows = new DnaRowReader(reader, mutantDetector.getMaxSize(), deadline);
+
+        try {
+            // La etapa detect incluye la lectura del body y el hash incremental
+            events.begin(Stage.DETECT);
+            long start = System.nanoTime();
+            CharSequence first = rows.next();
+            boolean isMutant;
+            if (first == null) {
+                isMutant = stream.finish();  // body vacío: EMPTY
+            } else {
+                try {
+                    isMutant = inDetectionLane(first.length(), () -> {
+                        try {
+                            return detectStream(rows, first, stream, digest);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, deadline);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+            detectTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            events.end(Stage.DETECT);
+
+            String hash = toHex(digest.digest());
+            events.begin(Stage.LOOKUP);
+            Optional<Boolean> existing = inLane(RequestClass.CACHED,
+                    () -> lookupTimer.record(() -> dnaVerdictStore.findVerdict(hash)));
+            events.end(Stage.LOOKUP);
+            if (existing.isPresent()) {
+                events.verdict(existing.get(), true);
+                return existing.get();
+            }
+
+            events.begin(Stage.PERSIST);
+            persist(hash, isMutant);
+            events.end(Stage.PERSIST);
+            events.verdict(isMutant, false);
+            return isMutant;
+        } catch (IOException | RuntimeException e) {
+            events.fail(e);
+            throw e;
+        } finally {
+            events.commit(stream.getRows());
+        }
+    }
+
+    /**
+     * Pasa la primera fila y las siguientes por el detector y el hash.
+     */
+    private static boolean detectStream(DnaRowReader rows, CharSequence first, StreamingMutantDetector stream,
+                                        MessageDigest digest) throws IOException {
+        byte[] ascii = new byte[first.length()];
+        for (CharSequence row = first; row != null; row = rows.next()) {
+            // accept valida la fila entera: después de esto solo tiene A, C, G y T
+            stream.accept(row);
+            for (int i = 0; i < row.length(); i++) {
+                ascii[i] = (byte) row.charAt(i);
+            }
+            if (stream.getRows() > 1) {
+                digest.update((byte) '-');
+            }
+            digest.update(ascii, 0, row.length());
+        }
+        return stream.finish();
+    }
+
+    /**
+     * Procesa el ADN de un job asíncrono ({@link MutantJobService}) cuyo hash ya se calculó.
+     *
+     * Igual que {@link #processDna} pero sin carriles: el job ya corre en el pool acotado
+     * de jobs, y mandarlo al executor de matrices grandes solo ocuparía dos hilos.
+     *
+     * @param timeBudgetNanos tiempo máximo de la detección
+     */
+    boolean processJob(List<String> dna, String hash, long timeBudgetNanos) {
+        DnaStageEvents events = DnaStageEvents.start();
 
-        // 1) Calculamos el hash del ADN (huella digital única)
-        String hash = hashDna(dna);
+        try {
+            // Otro request pudo guardar el veredicto mientras el job esperaba en la cola
+            events.begin(Stage.LOOKUP);
+            Optional<Boolean> existing = lookupTimer.record(() -> dnaVerdictStore.findVerdict(hash));
+            events.end(Stage.LOOKUP);
+            if (existing.isPresent()) {
+                events.verdict(existing.get(), true);
+                return existing.get();
+            }
 
-        // 2) Buscamos si ya existe ese ADN (por hash) en la base de datos
-        Optional<DnaRecord> existing = dnaRecordRepository.findByDnaHash(hash);
+            events.begin(Stage.DETECT);
+            boolean isMutant = detectTimer.record(() -> mutantDetector.isMutant(dna, timeBudgetNanos));
+            events.end(Stage.DETECT);
 
-        if (existing.isPresent()) {
-            // Si ya lo analizamos antes, devolvemos el resultado guardado
-            return existing.get().isMutant();
+            events.begin(Stage.PERSIST);
+            persist(hash, isMutant);
+            events.end(Stage.PERSIST);
+            events.verdict(isMutant, false);
+            return isMutant;
+        } catch (RuntimeException e) {
+            events.fail(e);
+            throw e;
+        } finally {
+            events.commit(dna.size());
         }
+    }
 
-        // 3) Si no existe en BD, llamamos al detector para saber si es mutante
-        boolean isMutant = mutantDetector.isMutant(dna);
+    /**
+     * Hash con el que se guarda el veredicto del ADN (el mismo que usa {@link #processDna}).
+     */
+    public String hash(List<String> dna) {
+        return hashTimer.record(() -> hashDna(dna));
+    }
 
-        // 4) Creamos y guardamos un nuevo registro
-        DnaRecord record = DnaRecord.builder()
-                .dnaHash(hash)
-                .mutant(isMutant)
-                .build();
+    /**
+     * Búsqueda del veredicto guardado.
+     */
+    private Optional<Boolean> lookup(String hash, DnaStageEvents events) {
+        events.begin(Stage.LOOKUP);
+        Optional<Boolean> verdict = lookupTimer.record(() -> dnaVerdictStore.findVerdict(hash));
+        events.end(Stage.LOOKUP);
+        return verdict;
+    }
 
-        dnaRecordRepository.save(record);
+    /**
+     * Corre el detector en el carril de matrices chicas (hilo actual) o, si la matriz es
+     * grande, en el executor de matrices grandes. Los dos rechazan con
+     * RejectedExecutionException si están saturados. El tiempo máximo empieza antes de
+     * pedir el carril: la espera en la cola de matrices grandes también cuenta.
+     */
+    private boolean detect(List<String> dna) {
+        long deadline = System.nanoTime() + mutantDetector.getTimeBudgetNanos();
+        return inDetectionLane(dna.size(),
+                () -> mutantDetector.isMutant(dna, deadline - System.nanoTime()), deadline);
+    }
 
-        // 5) Devolvemos el resultado al controller
-        return isMutant;
+    private <T> T inDetectionLane(int n, Supplier<T> task, long deadline) {
+        return requestScheduler != null
+                ? requestScheduler.execute(requestScheduler.classify(n), task, deadline)
+                : task.get();
+    }
+
+    private <T> T inLane(RequestClass requestClass, Supplier<T> task) {
+        return requestScheduler != null ? requestScheduler.execute(requestClass, task) : task.get();
+    }
+
+    private void persist(String hash, boolean isMutant) {
+        boolean inserted = persistTimer.record(() -> dnaVerdictStore.save(hash, isMutant));
+        if (inserted && statsVersion != null) {
+            statsVersion.increment();
+        }
     }
 
     /**
@@ -60,23 +315,101 @@ public class MutantService {
      *
      * Ejemplo:
      * ["ATGCGA", "CAGTGC"] → "ATGCGA-CAGTGC" → hash hexadecimal.
+     *
+     * Con {@code mutant.detection.canonical-hash} se hashea la forma canónica del ADN
+     * (la menor de sus 8 rotaciones y espejos, ver {@link DnaSymmetry}), así un ADN
+     * transpuesto, rotado o reflejado encuentra el registro del que ya se analizó.
+     *
+     * El veredicto depende de K y T ({@code mutant.detection.sequence-length} y
+     * {@code threshold}), así que con otros valores el hash lleva un prefijo con ellos
+     * (ver {@link #namespace}): los veredictos guardados con otra configuración no se
+     * reutilizan. Con K=4/T=2 no hay prefijo y los hashes son los de siempre.
      */
     private String hashDna(List<String> dna) {
+        if (canonicalHash) {
+            String[] rows = dna.toArray(new String[0]);
+            if (DnaSymmetry.isSquare(rows)) {
+                int transform = DnaSymmetry.canonicalTransform(rows);
+                if (transform != DnaSymmetry.IDENTITY) {
+                    String hash = hashTransformed(rows, transform);
+                    if (hash != null) {
+                        return hash;
+                    }
+                }
+            }
+        }
         String joined = String.join("-", dna);
+        byte[] digest = digest().digest(joined.getBytes(StandardCharsets.UTF_8));
+        return toHex(digest);
+    }
 
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(joined.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Mismo hash que {@link #hashDna} sobre la matriz transformada, armando de a una fila.
+     *
+     * @return null si hay caracteres fuera de ASCII (el ADN es inválido: se hashea tal cual)
+     */
+    private String hashTransformed(String[] rows, int transform) {
+        int n = rows.length;
+        MessageDigest digest = digest();
+        byte[] row = new byte[n];
 
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b));
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                char c = DnaSymmetry.cell(rows, transform, i, j);
+                if (c > 0x7F) {
+                    return null;
+                }
+                row[j] = (byte) c;
             }
+            if (i > 0) {
+                digest.update((byte) '-');
+            }
+            digest.update(row);
+        }
+        return toHex(digest.digest());
+    }
 
-            return sb.toString();
+    /**
+     * SHA-256 ya cargado con el prefijo de K y T.
+     */
+    private MessageDigest digest() {
+        MessageDigest digest = sha256();
+        digest.update(namespace);
+        return digest;
+    }
 
+    /**
+     * Prefijo del hash para K y T: vacío con los valores por defecto (K=4, T=2), así los
+     * veredictos ya guardados siguen valiendo; si no, "K=5;T=3:" en ASCII. Como ningún
+     * ADN válido tiene '=' ni ';', el prefijo no puede coincidir con otro ADN.
+     */
+    private static byte[] namespace(int sequenceLength, int threshold) {
+        if (sequenceLength == 4 && threshold == 2) {
+            return new byte[0];
+        }
+        return ("K=" + sequenceLength + ";T=" + threshold + ":").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("Error al calcular hash del ADN", e);
         }
     }
+
+    private static String toHex(byte[] digest) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("mutant.process.stage")
+                .description("Tiempo de cada etapa de MutantService.processDna")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
 }
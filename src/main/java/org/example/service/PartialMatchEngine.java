@@ -0,0 +1,180 @@
+package org.example.service;
+
+import org.example.cache.RowFingerprintCache;
+
+import java.security.SecureRandom;
+
+/**
+ * Detección que reutiliza conteos de matrices anteriores para los ADN que se repiten
+ * con solo algunas filas distintas.
+ *
+ * Cada secuencia de K letras cae en una de estas partes de la matriz:
+ * - una fila, si es horizontal;
+ * - una franja de K filas consecutivas, si es vertical o diagonal (↓, ↘ y ↗ ocupan
+ *   exactamente las filas top..top+K-1).
+ *
+ * Por eso el total de secuencias es la suma de lo que aporta cada fila más lo que
+ * aporta cada franja, y cada aporte depende solo del contenido de esas filas. Los
+ * aportes se guardan en un {@link RowFingerprintCache} con la huella de la fila o de
+ * la franja como clave. Si una matriz nueva cambia algunas filas de una ya vista, solo
+ * se recuentan esas filas y las franjas que las tocan; el resto se lee del caché.
+ *
+ * Los aportes se guardan acotados a T, porque alcanza con saber si la suma llega al
+ * umbral, y se corta igual que el detector apenas llega. Las huellas son de 64 bits
+ * con una semilla aleatoria por proceso, para que no se puedan fabricar colisiones
+ * desde afuera.
+ */
+public class PartialMatchEngine {
+
+    private static final long PRIME = 0x100000001b3L;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final int sequenceLength;
+    private final int threshold;
+    private final RowFingerprintCache cache;
+    private final long rowSeed;
+    private final long bandSeed;
+
+    /**
+     * @param sequenceLength K, largo de una secuencia
+     * @param threshold      T, secuencias necesarias para ser mutante
+     */
+    public PartialMatchEngine(int sequenceLength, int threshold, RowFingerprintCache cache) {
+        this.sequenceLength = sequenceLength;
+        this.threshold = threshold;
+        this.cache = cache;
+        SecureRandom random = new SecureRandom();
+        this.rowSeed = random.nextLong();
+        this.bandSeed = random.nextLong();
+    }
+
+    /**
+     * @param matrix   matriz NxN ya validada
+     * @param deadline instante (System.nanoTime) en que se agota el tiempo de la detección
+     * @return true si tiene al menos {@code threshold} secuencias
+     */
+    public boolean isMutant(char[][] matrix, long deadline) {
+        return isMutant(matrix, matrix.length, deadline);
+    }
+
+    /**
+     * Igual que {@link #isMutant(char[][], long)} sobre las primeras n filas y columnas
+     * de una matriz que puede ser más grande (un buffer de {@link DetectionBufferPool}).
+     */
+    public boolean isMutant(char[][] matrix, int n, long deadline) {
+        long[] fingerprints = new long[n];
+        int found = 0;
+
+        for (int row = 0; row < n; row++) {
+            MutantDetector.checkDeadline(deadline);
+
+            long fingerprint = fingerprint(matrix[row], n);
+            fingerprints[row] = fingerprint;
+            int count = cache.get(fingerprint);
+            if (count < 0) {
+                count = countRow(matrix[row], n);
+                cache.put(fingerprint, count);
+            }
+            found += count;
+            if (found >= threshold) return true;
+
+            // La franja que termina en esta fila ya tiene todas sus huellas
+            int top = row - sequenceLength + 1;
+            if (top >= 0) {
+                long band = bandFingerprint(fingerprints, top);
+                count = cache.get(band);
+                if (count < 0) {
+                    count = countBand(matrix, n, top);
+                    cache.put(band, count);
+                }
+                found += count;
+                if (found >= threshold) return true;
+            }
+        }
+        return false;
+    }
+
+    public RowFingerprintCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Secuencias horizontales de una fila, hasta T.
+     */
+    private int countRow(char[] row, int n) {
+        int found = 0;
+        int run = 0;
+        char previous = 0;
+        for (int col = 0; col < n; col++) {
+            char base = row[col];
+            run = base == previous ? run + 1 : 1;
+            previous = base;
+            if (run >= sequenceLength && ++found >= threshold) {
+                return found;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Secuencias ↓, ↘ y ↗ que ocupan las filas top..top+K-1, hasta T.
+     */
+    private int countBand(char[][] matrix, int n, int top) {
+        int k = sequenceLength;
+        int bottom = top + k - 1;
+        int found = 0;
+
+        for (int col = 0; col < n; col++) {
+            if (allEqual(matrix, top, col, 1, 0) && ++found >= threshold) {
+                return found;
+            }
+            if (col <= n - k) {
+                if (allEqual(matrix, top, col, 1, 1) && ++found >= threshold) {
+                    return found;
+                }
+                if (allEqual(matrix, bottom, col, -1, 1) && ++found >= threshold) {
+                    return found;
+                }
+            }
+        }
+        return found;
+    }
+
+    private boolean allEqual(char[][] matrix, int row, int col, int rowStep, int colStep) {
+        char base = matrix[row][col];
+        for (int i = 1; i < sequenceLength; i++) {
+            if (matrix[row + i * rowStep][col + i * colStep] != base) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long fingerprint(char[] row, int n) {
+        long hash = rowSeed;
+        for (int col = 0; col < n; col++) {
+            hash = (hash ^ row[col]) * PRIME;
+        }
+        return mix(hash ^ n);
+    }
+
+    private long bandFingerprint(long[] fingerprints, int top) {
+        long hash = bandSeed;
+        for (int i = 0; i < sequenceLength; i++) {
+            hash = Long.rotateLeft((hash ^ fingerprints[top + i]) * GOLDEN, 31);
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Mezcla final de MurmurHash3 (fmix64).
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
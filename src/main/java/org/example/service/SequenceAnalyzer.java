@@ -0,0 +1,254 @@
+package org.example.service;
+
+import org.example.concurrency.RequestScheduler;
+import org.example.config.DetectionProperties;
+import org.example.exception.DetectionTimeoutException;
+import org.example.exception.DnaValidationError;
+import org.example.exception.InvalidDnaException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Análisis detallado de un ADN: encuentra todas las rachas de K o más letras iguales
+ * (K = largo de secuencia del {@link MutantDetector}, 4 por defecto), con su dirección,
+ * coordenada de inicio, base y largo.
+ *
+ * Recorre cada línea de la matriz una sola vez por dirección (filas, columnas y las
+ * dos diagonales), llevando dónde empezó la racha actual; las diagonales más cortas
+ * que una secuencia se saltean, igual que los límites de {@link MutantDetector}.
+ * El costo es O(N²) y la memoria O(1) además de la matriz: cada racha se entrega al
+ * {@link RunListener} apenas termina y, pasado {@code maxResults}, solo se cuenta.
+ *
+ * Tiene los mismos límites que la detección: se corta al agotarse
+ * {@code mutant.detection.time-budget} (se controla una vez por línea) y
+ * {@link #analyze(List, int)} corre en el carril SMALL o LARGE según N.
+ */
+@Service
+public class SequenceAnalyzer {
+
+    /**
+     * Dirección en que avanza la racha desde su inicio.
+     */
+    public enum Direction {
+        HORIZONTAL(0, 1),      // →
+        VERTICAL(1, 0),        // ↓
+        DIAGONAL_DOWN(1, 1),   // ↘
+        DIAGONAL_UP(-1, 1);    // ↗
+
+        private final int rowStep;
+        private final int colStep;
+
+        Direction(int rowStep, int colStep) {
+            this.rowStep = rowStep;
+            this.colStep = colStep;
+        }
+    }
+
+    /**
+     * Recibe cada racha encontrada (hasta {@code maxResults}).
+     */
+    @FunctionalInterface
+    public interface RunListener {
+        void onRun(Direction direction, int row, int col, char base, int length) throws IOException;
+    }
+
+    /**
+     * Una racha encontrada, desde su inicio.
+     */
+    public record Run(Direction direction, int row, int col, char base, int length) {
+    }
+
+    /**
+     * Rachas entregadas (hasta el límite) y totales de un análisis.
+     */
+    public record Analysis(List<Run> runs, Summary summary) {
+    }
+
+    /**
+     * Totales del análisis.
+     *
+     * @param size      N, filas (y columnas) del ADN
+     * @param runs      rachas encontradas (incluidas las que no se entregaron por el límite)
+     * @param sequences ventanas de K letras iguales, como las cuenta MutantDetector
+     * @param truncated si hubo rachas que no se entregaron por {@code maxResults}
+     * @param mutant    si las secuencias llegan al umbral del detector
+     */
+    public record Summary(int size, long runs, long sequences, boolean truncated, boolean mutant) {
+    }
+
+    private final MutantDetector mutantDetector;
+    private final int maxResults;
+
+    // Carriles SMALL / LARGE (null = en el hilo actual, sin límites)
+    private final RequestScheduler requestScheduler;
+
+    public SequenceAnalyzer(MutantDetector mutantDetector, DetectionProperties properties) {
+        this(mutantDetector, properties, null);
+    }
+
+    @Autowired
+    public SequenceAnalyzer(MutantDetector mutantDetector, DetectionProperties properties,
+                            RequestScheduler requestScheduler) {
+        this.mutantDetector = mutantDetector;
+        this.maxResults = properties.getAnalysis().getMaxResults();
+        this.requestScheduler = requestScheduler;
+    }
+
+    /**
+     * Valida el ADN antes de empezar a responder.
+     *
+     * @throws InvalidDnaException si el ADN es inválido
+     */
+    public void validate(List<String> dna) {
+        DnaValidationError error = mutantDetector.validate(dna);
+        if (error != null) {
+            throw InvalidDnaException.of(error);
+        }
+    }
+
+    /**
+     * Límite de rachas a entregar: el pedido, acotado por el configurado.
+     */
+    public int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return maxResults;
+        }
+        return Math.min(requested, maxResults);
+    }
+
+    /**
+     * Valida y analiza el ADN en el carril de su tamaño, antes de que se empiece a
+     * responder: la respuesta solo escribe el resultado, ya con el permiso de admisión
+     * y el tiempo máximo aplicados. Guarda hasta {@code limit} rachas.
+     *
+     * @throws InvalidDnaException si el ADN es inválido
+     * @throws DetectionTimeoutException si se agotó el tiempo máximo
+     * @throws RejectedExecutionException si el carril está saturado
+     */
+    public Analysis analyze(List<String> dna, int limit) {
+        validate(dna);
+        // El tiempo máximo corre desde ahora, también mientras se espera el carril
+        long deadline = System.nanoTime() + mutantDetector.getTimeBudgetNanos();
+        Supplier<Analysis> task = () -> {
+            List<Run> runs = new ArrayList<>(Math.min(limit, 1024));
+            try {
+                Summary summary = analyze(dna, limit,
+                        (direction, row, col, base, length) -> runs.add(new Run(direction, row, col, base, length)),
+                        deadline);
+                return new Analysis(runs, summary);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);  // la lista no hace I/O
+            }
+        };
+        return requestScheduler != null
+                ? requestScheduler.execute(requestScheduler.classify(dna.size()), task, deadline)
+                : task.get();
+    }
+
+    /**
+     * Analiza un ADN ya validado.
+     *
+     * @throws DetectionTimeoutException si se agotó el tiempo máximo
+     */
+    public Summary analyze(List<String> dna, int limit, RunListener listener) throws IOException {
+        return analyze(dna, limit, listener, System.nanoTime() + mutantDetector.getTimeBudgetNanos());
+    }
+
+    private Summary analyze(List<String> dna, int limit, RunListener listener, long deadline) throws IOException {
+        int k = mutantDetector.getSequenceLength();
+        Scan scan = new Scan(dna.toArray(new String[0]), k, limit, listener, deadline);
+        int n = scan.n;
+
+        for (int row = 0; row < n; row++) {
+            scan.line(Direction.HORIZONTAL, row, 0);
+        }
+        for (int col = 0; col < n; col++) {
+            scan.line(Direction.VERTICAL, 0, col);
+        }
+        // Diagonales ↘ que empiezan en la primera columna y en la primera fila
+        for (int row = n - k; row > 0; row--) {
+            scan.line(Direction.DIAGONAL_DOWN, row, 0);
+        }
+        for (int col = 0; col <= n - k; col++) {
+            scan.line(Direction.DIAGONAL_DOWN, 0, col);
+        }
+        // Diagonales ↗ que empiezan en la primera columna y en la última fila
+        for (int row = k - 1; row < n - 1; row++) {
+            scan.line(Direction.DIAGONAL_UP, row, 0);
+        }
+        for (int col = 0; col <= n - k; col++) {
+            scan.line(Direction.DIAGONAL_UP, n - 1, col);
+        }
+
+        return new Summary(n, scan.runs, scan.sequences, scan.runs > limit,
+                scan.sequences >= mutantDetector.getThreshold());
+    }
+
+    /**
+     * Estado de un análisis.
+     */
+    private static final class Scan {
+
+        final String[] rows;
+        final int n;
+        final int sequenceLength;
+        final int limit;
+        final RunListener listener;
+        final long deadline;
+        long runs;
+        long sequences;
+
+        Scan(String[] rows, int sequenceLength, int limit, RunListener listener, long deadline) {
+            this.rows = rows;
+            this.n = rows.length;
+            this.sequenceLength = sequenceLength;
+            this.limit = limit;
+            this.listener = listener;
+            this.deadline = deadline;
+        }
+
+        void line(Direction direction, int startRow, int startCol) throws IOException {
+            MutantDetector.checkDeadline(deadline);
+            int row = startRow;
+            int col = startCol;
+            int runRow = row;
+            int runCol = col;
+            char runBase = rows[row].charAt(col);
+            int runLength = 0;
+
+            while (row >= 0 && row < n && col < n) {
+                char base = rows[row].charAt(col);
+                if (base == runBase) {
+                    runLength++;
+                } else {
+                    emit(direction, runRow, runCol, runBase, runLength);
+                    runRow = row;
+                    runCol = col;
+                    runBase = base;
+                    runLength = 1;
+                }
+                row += direction.rowStep;
+                col += direction.colStep;
+            }
+            emit(direction, runRow, runCol, runBase, runLength);
+        }
+
+        void emit(Direction direction, int row, int col, char base, int length) throws IOException {
+            if (length < sequenceLength) {
+                return;
+            }
+            runs++;
+            sequences += length - sequenceLength + 1;
+            if (runs <= limit) {
+                listener.onRun(direction, row, col, base, length);
+            }
+        }
+    }
+}
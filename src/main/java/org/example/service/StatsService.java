@@ -2,11 +2,11 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.StatsResponse;
-import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaVerdictStore;
 import org.springframework.stereotype.Service;
 
 /**
- * Servicio encargado de obtener estadísticas de la base de datos.
+ * Servicio encargado de obtener estadísticas del almacenamiento de veredictos.
  *
  * Es usado por el controller cuando se llama al endpoint GET /stats.
  */
@@ -15,10 +15,10 @@ import org.springframework.stereotype.Service;
 public class StatsService {
 
     /**
-     * Repositorio para consultar la tabla dna_records.
+     * Almacenamiento de veredictos (tabla dna_records o store en memoria).
      * Spring Boot inyecta esta dependencia automáticamente usando el constructor.
      */
-    private final DnaRecordRepository dnaRecordRepository;
+    private final DnaVerdictStore dnaVerdictStore;
 
     /**
      * Obtiene las estadísticas:
@@ -31,10 +31,10 @@ public class StatsService {
     public StatsResponse getStats() {
 
         // 1) Contamos cuántos registros son mutantes (mutant = true)
-        long mutants = dnaRecordRepository.countByMutantTrue();
+        long mutants = dnaVerdictStore.countMutants();
 
         // 2) Contamos cuántos registros son humanos (mutant = false)
-        long humans = dnaRecordRepository.countByMutantFalse();
+        long humans = dnaVerdictStore.countHumans();
 
         // 3) Calculamos el ratio:
         //    - si no hay humanos (humans = 0) → ratio = 0 para evitar división por cero
@@ -0,0 +1,146 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.concurrency.RequestClass;
+import org.example.concurrency.RequestScheduler;
+import org.example.config.StatsProperties;
+import org.example.dto.StatsResponse;
+import org.example.stats.StatsVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Respuesta de GET /stats ya serializada, reutilizada mientras sigue vigente.
+ *
+ * Un snapshot guarda el cuerpo JSON, su ETag (derivado de los conteos) y la fecha en
+ * que los conteos cambiaron por última vez. Se vuelve a pedir a {@link StatsService}
+ * solo cuando:
+ * - la {@link StatsVersion} cambió (se guardó un veredicto nuevo) y el snapshot es más
+ *   viejo que la ventana {@code staleness}, o
+ * - el snapshot es más viejo que {@code maxAge}, para ver los cambios que no pasan por
+ *   esta réplica (otras réplicas, veredictos que el write-ahead log aplica después).
+ *
+ * El recálculo corre en el carril STATS del {@link RequestScheduler}; servir el
+ * snapshot vigente no ocupa ningún carril.
+ */
+@Service
+public class StatsSnapshotService {
+
+    private final StatsService statsService;
+    private final StatsVersion statsVersion;
+    private final ObjectMapper objectMapper;
+    private final long stalenessMillis;
+    private final long maxAgeMillis;
+    private final Clock clock;
+
+    // Carril del recálculo (null = sin límite)
+    private final RequestScheduler requestScheduler;
+
+    private volatile StatsSnapshot snapshot;
+
+    @Autowired
+    public StatsSnapshotService(StatsService statsService, StatsVersion statsVersion,
+                                ObjectMapper objectMapper, StatsProperties statsProperties,
+                                RequestScheduler requestScheduler) {
+        this(statsService, statsVersion, objectMapper, statsProperties.getCache().getStaleness(),
+                statsProperties.getCache().getMaxAge(), Clock.systemUTC(), requestScheduler);
+    }
+
+    /**
+     * @param clock reloj para medir la edad de los snapshots
+     */
+    public StatsSnapshotService(StatsService statsService, StatsVersion statsVersion, ObjectMapper objectMapper,
+                                Duration staleness, Duration maxAge, Clock clock) {
+        this(statsService, statsVersion, objectMapper, staleness, maxAge, clock, null);
+    }
+
+    public StatsSnapshotService(StatsService statsService, StatsVersion statsVersion, ObjectMapper objectMapper,
+                                Duration staleness, Duration maxAge, Clock clock,
+                                RequestScheduler requestScheduler) {
+        this.statsService = statsService;
+        this.statsVersion = statsVersion;
+        this.objectMapper = objectMapper;
+        this.stalenessMillis = staleness.toMillis();
+        this.maxAgeMillis = maxAge.toMillis();
+        this.clock = clock;
+        this.requestScheduler = requestScheduler;
+    }
+
+    /**
+     * Snapshot vigente; lo recalcula si hace falta.
+     *
+     * Para recalcular se toma primero el permiso del carril STATS y después el monitor:
+     * los que esperan quedan acotados (y rechazados con 503) por el carril, en lugar de
+     * acumularse sin límite en el monitor.
+     */
+    public StatsSnapshot current() {
+        StatsSnapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        return requestScheduler != null
+                ? requestScheduler.execute(RequestClass.STATS, this::refreshIfStale)
+                : refreshIfStale();
+    }
+
+    public Duration getStaleness() {
+        return Duration.ofMillis(stalenessMillis);
+    }
+
+    private boolean isFresh(StatsSnapshot current) {
+        if (current == null) {
+            return false;
+        }
+        long age = clock.millis() - current.computedAt();
+        if (age < stalenessMillis) {
+            return true;
+        }
+        return current.version() == statsVersion.current() && age < maxAgeMillis;
+    }
+
+    private synchronized StatsSnapshot refreshIfStale() {
+        // Otro hilo pudo haberlo recalculado mientras esperábamos
+        StatsSnapshot current = snapshot;
+        if (!isFresh(current)) {
+            snapshot = refresh(current);
+        }
+        return snapshot;
+    }
+
+    private StatsSnapshot refresh(StatsSnapshot previous) {
+        // La versión se lee antes de contar: si un guardado llega en el medio,
+        // el próximo request vuelve a contar en vez de quedarse con un total viejo
+        long version = statsVersion.current();
+        long now = clock.millis();
+        StatsResponse stats = statsService.getStats();
+
+        String eTag = "\"" + stats.getCountMutantDna() + "-" + stats.getCountHumanDna() + "\"";
+        // Last-Modified solo avanza si los conteos cambiaron (resolución de segundos en HTTP)
+        long lastModified = previous != null && previous.eTag().equals(eTag)
+                ? previous.lastModified()
+                : now / 1000 * 1000;
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(stats);
+            return new StatsSnapshot(body, eTag, lastModified, version, now);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de /stats", e);
+        }
+    }
+
+    /**
+     * Respuesta de /stats serializada.
+     *
+     * @param body         JSON de {@link StatsResponse}
+     * @param eTag         validador fuerte, cambia con cualquier conteo
+     * @param lastModified epoch millis del último cambio de conteos
+     * @param version      {@link StatsVersion} con la que se calculó
+     * @param computedAt   epoch millis en que se calculó
+     */
+    public record StatsSnapshot(byte[] body, String eTag, long lastModified, long version, long computedAt) {
+    }
+}
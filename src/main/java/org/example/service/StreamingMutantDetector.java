@@ -0,0 +1,206 @@
+package org.example.service;
+
+import org.example.exception.DnaTooLargeException;
+import org.example.exception.DnaValidationError;
+import org.example.exception.InvalidDnaException;
+
+/**
+ * Detección de mutantes sobre un ADN que llega fila por fila.
+ *
+ * No guarda la matriz: por cada columna lleva la base y el largo de la racha que
+ * termina en la fila anterior en vertical (↓), diagonal descendente (↘) y diagonal
+ * ascendente (↗), y en horizontal solo la racha de la fila actual. La memoria es O(N)
+ * en lugar de O(N²).
+ *
+ * Cuenta lo mismo que {@link MutantDetector}: cada ventana de K letras iguales es una
+ * secuencia (una racha de largo L aporta L - K + 1). Apenas se llega al umbral T (por
+ * defecto, la segunda secuencia de 4) el veredicto queda en mutante; las filas
+ * siguientes solo se validan.
+ *
+ * N sale del largo de la primera fila. No es thread-safe: una instancia por ADN.
+ */
+public class StreamingMutantDetector {
+
+    private static final int MIN_SIZE = 4;
+
+    private final int maxSize;
+    private final int sequenceLength;
+    private final int threshold;
+
+    private int n = -1;
+    private int rows;
+    private int sequenceCount;
+
+    // Rachas que terminan en la fila anterior, indexadas por columna
+    private byte[] previousBases;
+    private int[] verticalRuns;
+    private int[] downRuns;
+    private int[] upRuns;
+
+    // Rachas de la fila actual (se intercambian con las anteriores al terminar la fila)
+    private byte[] currentBases;
+    private int[] nextVerticalRuns;
+    private int[] nextDownRuns;
+    private int[] nextUpRuns;
+
+    /**
+     * Detector con K=4 y T=2.
+     *
+     * @param maxSize N máximo permitido (mutant.detection.max-size)
+     */
+    public StreamingMutantDetector(int maxSize) {
+        this(maxSize, 4, 2);
+    }
+
+    /**
+     * @param sequenceLength K, largo de una secuencia
+     * @param threshold      T, secuencias necesarias para ser mutante
+     */
+    public StreamingMutantDetector(int maxSize, int sequenceLength, int threshold) {
+        this.maxSize = maxSize;
+        this.sequenceLength = sequenceLength;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Procesa la siguiente fila.
+     *
+     * @return true si el ADN ya llegó al umbral de secuencias con las filas recibidas
+     * @throws InvalidDnaException si la fila es inválida o sobran filas
+     * @throws DnaTooLargeException si N supera el máximo configurado
+     */
+    public boolean accept(CharSequence row) {
+        if (row == null) {
+            throw InvalidDnaException.of(DnaValidationError.NULL_ROW);
+        }
+        if (n < 0) {
+            start(row.length());
+        }
+        if (row.length() != n || rows == n) {
+            throw InvalidDnaException.of(DnaValidationError.NOT_SQUARE);
+        }
+
+        boolean counting = sequenceCount < threshold;
+        int horizontalRun = 0;
+        byte previous = 0;
+
+        for (int col = 0; col < n; col++) {
+            byte base = base(row.charAt(col));
+            currentBases[col] = base;
+            if (!counting) {
+                continue;  // ya es mutante: solo validamos
+            }
+
+            horizontalRun = base == previous ? horizontalRun + 1 : 1;
+            previous = base;
+            count(horizontalRun);
+
+            int vertical = previousBases[col] == base ? verticalRuns[col] + 1 : 1;
+            nextVerticalRuns[col] = vertical;
+            count(vertical);
+
+            int down = col > 0 && previousBases[col - 1] == base ? downRuns[col - 1] + 1 : 1;
+            nextDownRuns[col] = down;
+            count(down);
+
+            int up = col < n - 1 && previousBases[col + 1] == base ? upRuns[col + 1] + 1 : 1;
+            nextUpRuns[col] = up;
+            count(up);
+        }
+
+        swapRows();
+        rows++;
+        return isMutant();
+    }
+
+    /**
+     * Termina el ADN.
+     *
+     * @return true si es mutante (al menos T secuencias), false si es humano
+     * @throws InvalidDnaException si el ADN está vacío, es menor a 4x4 o faltan filas
+     */
+    public boolean finish() {
+        if (n < 0) {
+            throw InvalidDnaException.of(DnaValidationError.EMPTY);
+        }
+        if (rows != n) {
+            throw InvalidDnaException.of(DnaValidationError.NOT_SQUARE);
+        }
+        return isMutant();
+    }
+
+    public boolean isMutant() {
+        return sequenceCount >= threshold;
+    }
+
+    /**
+     * Filas recibidas hasta ahora.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    private void start(int size) {
+        if (size == 0) {
+            throw InvalidDnaException.of(DnaValidationError.EMPTY);
+        }
+        if (size < MIN_SIZE) {
+            throw InvalidDnaException.of(DnaValidationError.TOO_SMALL);
+        }
+        if (size > maxSize) {
+            throw new DnaTooLargeException("El ADN no puede superar " + maxSize + "x" + maxSize);
+        }
+
+        n = size;
+        previousBases = new byte[n];
+        currentBases = new byte[n];
+        verticalRuns = new int[n];
+        downRuns = new int[n];
+        upRuns = new int[n];
+        nextVerticalRuns = new int[n];
+        nextDownRuns = new int[n];
+        nextUpRuns = new int[n];
+    }
+
+    private void count(int run) {
+        if (run >= sequenceLength) {
+            sequenceCount++;
+        }
+    }
+
+    private void swapRows() {
+        byte[] bases = previousBases;
+        previousBases = currentBases;
+        currentBases = bases;
+
+        int[] runs = verticalRuns;
+        verticalRuns = nextVerticalRuns;
+        nextVerticalRuns = runs;
+
+        runs = downRuns;
+        downRuns = nextDownRuns;
+        nextDownRuns = runs;
+
+        runs = upRuns;
+        upRuns = nextUpRuns;
+        nextUpRuns = runs;
+    }
+
+    /**
+     * Código de la base (1..4); 0 queda libre para "sin fila anterior".
+     */
+    private static byte base(char c) {
+        switch (c) {
+            case 'A':
+                return 1;
+            case 'C':
+                return 2;
+            case 'G':
+                return 3;
+            case 'T':
+                return 4;
+            default:
+                throw InvalidDnaException.of(DnaValidationError.INVALID_BASE);
+        }
+    }
+}
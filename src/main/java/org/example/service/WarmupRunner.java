@@ -0,0 +1,122 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.WarmupProperties;
+import org.example.repository.DnaVerdictStore;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Calentamiento al iniciar, para que los primeros requests después de un deploy no
+ * paguen el JIT en frío ni un near cache vacío.
+ *
+ * 1) Precarga en el near cache los veredictos más recientes de dna_records (los
+ *    duplicados de las próximas horas suelen ser ADN vistos hace poco).
+ * 2) Por cada tamaño de {@code mutant.warmup.sizes} detecta matrices sintéticas de
+ *    {@link DnaSamples} (una humana, que recorre la matriz completa, y una aleatoria),
+ *    calcula su hash y las busca en el store. Nada se guarda: /stats no cambia, y la
+ *    detección no pasa por el caché de conteos parciales, que así solo tiene filas de
+ *    ADN reales.
+ *
+ * Corre como ApplicationRunner: Spring Boot publica la disponibilidad ACCEPTING_TRAFFIC
+ * (/actuator/health/readiness en UP) recién cuando terminan los runners, así que la
+ * instancia no se declara lista hasta terminar el calentamiento. Un error o el tiempo
+ * máximo agotado cortan el calentamiento, nunca el arranque.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mutant.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    // Búsquedas en el store por tamaño: alcanza para compilar el camino de la consulta
+    // sin mandar miles de SELECT a la base en cada arranque
+    private static final int STORE_LOOKUPS_PER_SIZE = 250;
+
+    private final MutantDetector mutantDetector;
+    private final MutantService mutantService;
+    private final DnaVerdictStore dnaVerdictStore;
+    private final WarmupProperties properties;
+
+    public WarmupRunner(MutantDetector mutantDetector, MutantService mutantService,
+                        DnaVerdictStore dnaVerdictStore, WarmupProperties properties) {
+        this.mutantDetector = mutantDetector;
+        this.mutantService = mutantService;
+        this.dnaVerdictStore = dnaVerdictStore;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Result result = warmUp();
+        log.info("Calentamiento {} en {} ms: {} veredictos precargados, {} detecciones, {} búsquedas{}",
+                result.complete() ? "completo" : "cortado", result.elapsedMillis(), result.preloaded(),
+                result.detections(), result.lookups(),
+                result.skippedSizes().isEmpty() ? "" : " (tamaños omitidos: " + result.skippedSizes() + ")");
+    }
+
+    /**
+     * Ejecuta el calentamiento, acotado por {@code mutant.warmup.max-duration}.
+     */
+    public Result warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+
+        int preloaded = 0;
+        try {
+            preloaded = dnaVerdictStore.preload(properties.getPreloadRecent());
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron precargar los veredictos recientes", e);
+        }
+
+        Random random = new Random(42);
+        long detections = 0;
+        long lookups = 0;
+        boolean complete = true;
+        List<Integer> skipped = new ArrayList<>();
+
+        sizes:
+        for (int n : properties.getSizes()) {
+            List<List<String>> inputs = List.of(DnaSamples.humanMatrix(n), DnaSamples.randomMatrix(random, n));
+            long iterations = Math.max(1, Math.min(properties.getMaxIterations(), properties.getCells() / ((long) n * n)));
+            try {
+                for (int i = 0; i < iterations; i++) {
+                    if (System.nanoTime() - deadline > 0) {
+                        complete = false;
+                        break sizes;
+                    }
+                    List<String> dna = inputs.get(i & 1);
+                    mutantDetector.isMutantUncached(dna);
+                    String hash = mutantService.hash(dna);
+                    detections++;
+                    if (i < STORE_LOOKUPS_PER_SIZE) {
+                        dnaVerdictStore.findVerdict(hash);
+                        lookups++;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Tamaño fuera de la configuración (N máximo, K mayor que N, tiempo por request)
+                log.debug("Calentamiento omitido para N={}", n, e);
+                skipped.add(n);
+            }
+        }
+        return new Result(preloaded, detections, lookups, complete, skipped,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param preloaded    veredictos copiados al near cache
+     * @param detections   detecciones sintéticas (cada una con su hash)
+     * @param lookups      búsquedas en el store
+     * @param complete     false si se agotó el tiempo máximo
+     * @param skippedSizes tamaños que la configuración no admite
+     */
+    public record Result(int preloaded, long detections, long lookups, boolean complete,
+                         List<Integer> skippedSizes, long elapsedMillis) {
+    }
+}
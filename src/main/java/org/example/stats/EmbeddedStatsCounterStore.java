@@ -0,0 +1,66 @@
+package org.example.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link StatsCounterStore} en el mismo proceso, en lugar de Redis.
+ *
+ * Las instancias se comparten por nombre dentro de la JVM, así varias instancias de la
+ * aplicación levantadas en un mismo test publican en el mismo almacén. Igual que
+ * {@link org.example.cache.EmbeddedRemoteVerdictCache}, cada {@link #named} toma una
+ * referencia y {@link #close} la devuelve: con la última, la instancia sale del registro.
+ */
+public class EmbeddedStatsCounterStore implements StatsCounterStore, AutoCloseable {
+
+    // Protegido por su propio lock, junto con las referencias de cada instancia
+    private static final Map<String, EmbeddedStatsCounterStore> INSTANCES = new HashMap<>();
+
+    private final String name;
+    private int references;
+    private volatile Counters counters = Counters.empty();
+
+    private EmbeddedStatsCounterStore(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Devuelve la instancia compartida con ese nombre (la crea si no existe) y toma una
+     * referencia, que se devuelve con {@link #close}.
+     */
+    public static EmbeddedStatsCounterStore named(String name) {
+        synchronized (INSTANCES) {
+            EmbeddedStatsCounterStore store = INSTANCES.computeIfAbsent(name, EmbeddedStatsCounterStore::new);
+            store.references++;
+            return store;
+        }
+    }
+
+    @Override
+    public synchronized void publish(String nodeId, long mutants, long humans) {
+        counters = counters.merge(new Counters(GCounter.of(nodeId, mutants), GCounter.of(nodeId, humans)));
+    }
+
+    @Override
+    public synchronized boolean publishIfAbsent(String nodeId, long mutants, long humans) {
+        if (counters.mutants().entries().containsKey(nodeId) || counters.humans().entries().containsKey(nodeId)) {
+            return false;
+        }
+        publish(nodeId, mutants, humans);
+        return true;
+    }
+
+    @Override
+    public Counters read() {
+        return counters;
+    }
+
+    @Override
+    public void close() {
+        synchronized (INSTANCES) {
+            if (references > 0 && --references == 0) {
+                INSTANCES.remove(name, this);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contador G-counter (CRDT de solo crecimiento): un valor por nodo.
+ *
+ * Cada nodo solo incrementa su propia entrada. Dos estados se mezclan tomando el
+ * máximo por nodo, una operación conmutativa, asociativa e idempotente: no importa
+ * el orden ni cuántas veces llegue una publicación, todas las réplicas convergen al
+ * mismo valor. El total es la suma de todas las entradas.
+ *
+ * Es inmutable: {@link #merge} devuelve un contador nuevo.
+ */
+public final class GCounter {
+
+    private static final GCounter EMPTY = new GCounter(Map.of());
+
+    private final Map<String, Long> entries;
+
+    private GCounter(Map<String, Long> entries) {
+        this.entries = entries;
+    }
+
+    public static GCounter empty() {
+        return EMPTY;
+    }
+
+    public static GCounter of(String nodeId, long value) {
+        return new GCounter(Map.of(nodeId, value));
+    }
+
+    public GCounter merge(GCounter other) {
+        Map<String, Long> merged = new HashMap<>(entries);
+        other.entries.forEach((node, value) -> merged.merge(node, value, Math::max));
+        return new GCounter(Map.copyOf(merged));
+    }
+
+    public long get(String nodeId) {
+        return entries.getOrDefault(nodeId, 0L);
+    }
+
+    public long value() {
+        long total = 0;
+        for (long value : entries.values()) {
+            total += value;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public Map<String, Long> entries() {
+        return entries;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.stats;
+
+/**
+ * Almacén compartido de los contadores de /stats de todas las réplicas.
+ *
+ * Cada nodo publica su entrada de los G-counters de mutantes y humanos; el almacén
+ * la mezcla con lo que ya tiene (máximo por nodo), así que publicar dos veces o fuera
+ * de orden es inofensivo. Es el punto de extensión para un backend real (por ejemplo
+ * un hash de Redis actualizado con un script que toma el máximo).
+ */
+public interface StatsCounterStore {
+
+    void publish(String nodeId, long mutants, long humans);
+
+    /**
+     * Crea la entrada del nodo solo si todavía no existe, de forma atómica (en Redis,
+     * {@code HSETNX}). Si varios nodos lo intentan a la vez, uno solo lo logra.
+     *
+     * @return true si la entrada se creó
+     */
+    boolean publishIfAbsent(String nodeId, long mutants, long humans);
+
+    /**
+     * @return el estado mezclado de todos los nodos
+     */
+    Counters read();
+
+    /**
+     * Estado de los dos G-counters.
+     */
+    record Counters(GCounter mutants, GCounter humans) {
+
+        public static Counters empty() {
+            return new Counters(GCounter.empty(), GCounter.empty());
+        }
+
+        public Counters merge(Counters other) {
+            return new Counters(mutants.merge(other.mutants), humans.merge(other.humans));
+        }
+
+        public boolean isEmpty() {
+            return mutants.isEmpty() && humans.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.stats;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión de los totales de /stats en esta réplica.
+ *
+ * MutantService la incrementa cada vez que persiste un DnaRecord nuevo; quien cachea
+ * la respuesta de /stats la compara para saber si sus conteos pueden haber cambiado
+ * sin volver a consultar el almacenamiento.
+ */
+@Component
+public class StatsVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void increment() {
+        version.incrementAndGet();
+    }
+}
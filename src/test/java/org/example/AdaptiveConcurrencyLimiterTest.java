@@ -0,0 +1,95 @@
+package org.example;
+
+import org.example.concurrency.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para AdaptiveConcurrencyLimiter.
+ * Total: 5 tests cubriendo admisión por peso, liberación y ajuste del límite por latencia.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    /**
+     * Simula una ronda con el límite lleno: toma todos los permisos y los libera
+     * con la latencia indicada por permiso.
+     */
+    private static void fullRound(AdaptiveConcurrencyLimiter limiter, long latencyPerPermit) {
+        int admitted = 0;
+        while (limiter.tryAcquire(1)) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.onSuccess(1, latencyPerPermit);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cuando el peso en curso supera el límite")
+    void testRejectsOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 1.5, 0.2);
+
+        assertTrue(limiter.tryAcquire(6));
+        assertTrue(limiter.tryAcquire(4));
+        assertFalse(limiter.tryAcquire(1));
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Debe admitir un request más pesado que el límite si no hay nada en curso")
+    void testAdmitsHeavyRequestWhenIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 1.5, 0.2);
+
+        assertTrue(limiter.tryAcquire(50));
+        assertFalse(limiter.tryAcquire(1));
+
+        limiter.onIgnore(50);
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire(1));
+    }
+
+    @Test
+    @DisplayName("Debe agrandar el límite mientras la latencia se mantiene estable")
+    void testLimitGrowsWithStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 10, 500, 1.5, 0.2);
+
+        for (int round = 0; round < 10; round++) {
+            fullRound(limiter, MILLIS);
+        }
+
+        assertTrue(limiter.getLimit() > 20, "límite: " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Debe achicar el límite cuando la latencia por permiso crece")
+    void testLimitShrinksWhenLatencyGrows() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 500, 1.5, 0.2);
+        for (int round = 0; round < 5; round++) {
+            fullRound(limiter, MILLIS);
+        }
+        int before = limiter.getLimit();
+
+        fullRound(limiter, 20 * MILLIS);
+
+        assertTrue(limiter.getLimit() < before, before + " -> " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 10);
+    }
+
+    @Test
+    @DisplayName("No debe cambiar el límite si el servidor está poco cargado")
+    void testLimitUnchangedWhenAppLimited() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 500, 1.5, 0.2);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire(1));
+            limiter.onSuccess(1, i % 2 == 0 ? MILLIS : 50 * MILLIS);
+        }
+
+        assertEquals(100, limiter.getLimit());
+    }
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.concurrency.AdaptiveConcurrencyLimiter;
+import org.example.config.AdmissionProperties;
+import org.example.filter.AdmissionControlFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para AdmissionControlFilter.
+ * Total: 4 tests cubriendo admisión, rechazo con 503, el JSON del rechazo y métricas.
+ */
+class AdmissionControlFilterTest {
+
+    private AdmissionProperties properties;
+    private AdaptiveConcurrencyLimiter limiter;
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setCellsPerPermit(100);
+        limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 1.5, 0.2);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(limiter, properties, meterRegistry);
+    }
+
+    private static MockHttpServletRequest post(int bodySize) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant");
+        request.setContent(new byte[bodySize]);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Debe dejar pasar el request y liberar sus permisos al terminar")
+    void testAdmitsAndReleases() throws Exception {
+        AtomicBoolean called = new AtomicBoolean();
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req,
+                                   jakarta.servlet.http.HttpServletResponse resp) {
+                // 250 bytes / 100 por permiso = 3 permisos
+                assertEquals(3, limiter.getInFlight());
+                called.set(true);
+                resp.setStatus(403);
+            }
+        });
+
+        filter.doFilter(post(250), new MockHttpServletResponse(), chain);
+
+        assertTrue(called.get());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar con 503 y Retry-After cuando no hay permisos")
+    void testRejectsWhenOverLimit() throws Exception {
+        assertTrue(limiter.tryAcquire(10));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(post(100), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":503"));
+        assertNull(chain.getRequest(), "el request rechazado no debe llegar al controller");
+        assertEquals(1.0, meterRegistry.get("mutant.admission.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("El JSON del rechazo debe escapar el path del request")
+    void testRejectionBodyEscapesPath() throws Exception {
+        assertTrue(limiter.tryAcquire(10));
+        MockHttpServletRequest request = post(100);
+        // Un parámetro de path llega tal cual en getRequestURI()
+        String uri = "/mutant;x=\"},\"status\":200,\\";
+        request.setRequestURI(uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertEquals(503, body.get("status").asInt());
+        assertEquals(uri, body.get("path").asText());
+    }
+
+    @Test
+    @DisplayName("Debe exponer el límite y los permisos en uso como métricas")
+    void testGauges() {
+        assertTrue(limiter.tryAcquire(4));
+
+        assertEquals(10.0, meterRegistry.get("mutant.admission.limit").gauge().value());
+        assertEquals(4.0, meterRegistry.get("mutant.admission.inflight").gauge().value());
+    }
+}
@@ -0,0 +1,150 @@
+package org.example;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cache.EmbeddedRemoteVerdictCache;
+import org.example.cache.NearVerdictCache;
+import org.example.cache.RemoteVerdictCache;
+import org.example.repository.CachingVerdictStore;
+import org.example.repository.DnaVerdictStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CachingVerdictStore (near cache + caché remoto embebido).
+ * Total: 6 tests cubriendo los niveles del caché, réplicas compartiendo el remoto,
+ * errores del remoto, el límite de memoria del near cache y el ciclo de vida del remoto
+ * embebido.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingVerdictStoreTest {
+
+    @Mock
+    private DnaVerdictStore nodeA;
+
+    @Mock
+    private DnaVerdictStore nodeB;
+
+    private EmbeddedRemoteVerdictCache remote;
+
+    @BeforeEach
+    void setUp() {
+        // Un nombre por test: las instancias embebidas se comparten en toda la JVM
+        remote = EmbeddedRemoteVerdictCache.named(UUID.randomUUID().toString(), 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        remote.close();
+    }
+
+    private static String hash(int i) {
+        return String.format("%016x%016x", (long) i * 0x9E3779B97F4A7C15L, (long) i) + "0".repeat(32);
+    }
+
+    private CachingVerdictStore node(DnaVerdictStore delegate, int nearEntries) {
+        return new CachingVerdictStore(delegate, new NearVerdictCache(nearEntries), remote, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Debe ir al store solo la primera vez y después resolver en el near cache")
+    void testNearCacheHit() {
+        when(nodeA.findVerdict(hash(1))).thenReturn(Optional.of(true));
+        CachingVerdictStore store = node(nodeA, 100);
+
+        assertEquals(Optional.of(true), store.findVerdict(hash(1)));
+        assertEquals(Optional.of(true), store.findVerdict(hash(1)));
+
+        verify(nodeA, times(1)).findVerdict(hash(1));
+    }
+
+    @Test
+    @DisplayName("Un veredicto guardado en una réplica debe resolverse en otra sin ir a la base")
+    void testSharedRemoteAcrossReplicas() {
+        when(nodeA.save(hash(2), false)).thenReturn(true);
+        CachingVerdictStore replicaA = node(nodeA, 100);
+        CachingVerdictStore replicaB = node(nodeB, 100);
+
+        assertTrue(replicaA.save(hash(2), false));
+
+        assertEquals(Optional.of(false), replicaB.findVerdict(hash(2)));
+        verify(nodeB, never()).findVerdict(anyString());
+    }
+
+    @Test
+    @DisplayName("No debe cachear hashes desconocidos")
+    void testMissIsNotCached() {
+        when(nodeA.findVerdict(hash(3))).thenReturn(Optional.empty());
+        CachingVerdictStore store = node(nodeA, 100);
+
+        assertEquals(Optional.empty(), store.findVerdict(hash(3)));
+        assertEquals(Optional.empty(), store.findVerdict(hash(3)));
+
+        verify(nodeA, times(2)).findVerdict(hash(3));
+    }
+
+    @Test
+    @DisplayName("Un error del caché remoto debe tratarse como un miss")
+    void testRemoteFailureFallsBackToStore() {
+        RemoteVerdictCache failing = mock(RemoteVerdictCache.class);
+        when(failing.get(anyString())).thenThrow(new IllegalStateException("sin conexión"));
+        doThrow(new IllegalStateException("sin conexión")).when(failing).put(anyString(), anyBoolean());
+        when(nodeA.findVerdict(hash(4))).thenReturn(Optional.of(true));
+        CachingVerdictStore store = new CachingVerdictStore(nodeA, null, failing, new SimpleMeterRegistry());
+
+        assertEquals(Optional.of(true), store.findVerdict(hash(4)));
+        assertDoesNotThrow(() -> store.save(hash(5), false));
+    }
+
+    @Test
+    @DisplayName("El near cache no debe pasar su capacidad y debe descartar los menos usados")
+    void testNearCacheIsBounded() {
+        NearVerdictCache near = new NearVerdictCache(160);
+
+        for (int i = 0; i < 10_000; i++) {
+            near.put(hash(i), i % 2 == 0);
+            // hash(0) se sigue usando: no debe descartarse
+            assertEquals(Boolean.TRUE, near.get(hash(0)));
+        }
+
+        assertTrue(near.size() <= 160, "tamaño: " + near.size());
+        assertNull(near.get(hash(1)));
+        assertEquals(Boolean.FALSE, near.get(hash(9_999)));
+    }
+
+    @Test
+    @DisplayName("El remoto embebido debe acotar sus entradas y salir del registro con su última referencia")
+    void testEmbeddedRemoteLifecycle() {
+        String name = UUID.randomUUID().toString();
+        int before = EmbeddedRemoteVerdictCache.instances();
+
+        EmbeddedRemoteVerdictCache first = EmbeddedRemoteVerdictCache.named(name, 160);
+        EmbeddedRemoteVerdictCache second = EmbeddedRemoteVerdictCache.named(name, 160);
+        assertSame(first, second, "el mismo nombre comparte la instancia");
+        for (int i = 0; i < 10_000; i++) {
+            first.put(hash(i), true);
+        }
+        assertTrue(first.size() <= 160, "tamaño: " + first.size());
+
+        first.close();
+        assertEquals(Optional.of(true), second.get(hash(9_999)), "sigue viva mientras otro la usa");
+        second.close();
+        assertEquals(before, EmbeddedRemoteVerdictCache.instances());
+
+        // Un contexto nuevo con el mismo nombre no hereda entradas
+        try (EmbeddedRemoteVerdictCache fresh = EmbeddedRemoteVerdictCache.named(name, 160)) {
+            assertEquals(0, fresh.size());
+        }
+    }
+}
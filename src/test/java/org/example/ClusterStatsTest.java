@@ -0,0 +1,217 @@
+package org.example;
+
+import org.example.dto.StatsResponse;
+import org.example.repository.ClusterCountingVerdictStore;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaVerdictStore;
+import org.example.repository.InMemoryVerdictStore;
+import org.example.service.MutantService;
+import org.example.service.StatsService;
+import org.example.stats.EmbeddedStatsCounterStore;
+import org.example.stats.GCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de los contadores de /stats entre réplicas (G-counters).
+ * Total: 3 tests: propiedades de la mezcla, línea base con dos nodos arrancando a la vez y
+ * convergencia de varias instancias de la aplicación en la misma JVM, con una H2 compartida
+ * y el almacén de contadores embebido.
+ */
+class ClusterStatsTest {
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private ConfigurableApplicationContext startNode(String cluster, String nodeId) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.jmx.enabled=false",
+                        // Todas las réplicas usan la misma base en memoria
+                        "spring.datasource.url=jdbc:h2:mem:" + cluster + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "mutant.stats.cluster.enabled=true",
+                        "mutant.stats.cluster.node-id=" + nodeId,
+                        "mutant.stats.cluster.publish-interval=100ms",
+                        "mutant.stats.cluster.store-name=" + cluster)
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private static List<String> randomDna(Random random) {
+        List<String> dna = new ArrayList<>();
+        for (int row = 0; row < 6; row++) {
+            StringBuilder sb = new StringBuilder();
+            for (int col = 0; col < 6; col++) {
+                sb.append("ACGT".charAt(random.nextInt(4)));
+            }
+            dna.add(sb.toString());
+        }
+        return dna;
+    }
+
+    @Test
+    @DisplayName("La mezcla de G-counters debe ser conmutativa, idempotente y sumar por nodo")
+    void testGCounterMerge() {
+        GCounter a = GCounter.of("a", 3).merge(GCounter.of("b", 1));
+        GCounter b = GCounter.of("b", 5).merge(GCounter.of("c", 2));
+
+        assertEquals(a.merge(b).entries(), b.merge(a).entries());
+        assertEquals(a.merge(b).entries(), a.merge(b).merge(b).entries());
+        assertEquals(3 + 5 + 2, a.merge(b).value());
+        assertEquals(3, a.merge(GCounter.of("a", 1)).get("a"), "una publicación vieja no debe restar");
+    }
+
+    @Test
+    @DisplayName("Con dos nodos arrancando a la vez, la línea base debe crearse una sola vez")
+    void testConcurrentStartSeedsBaselineOnce() throws Exception {
+        InMemoryVerdictStore table = new InMemoryVerdictStore(2, 16);
+        for (int i = 0; i < 10; i++) {
+            table.save(hash(i), i % 2 == 0);
+        }
+        Duration never = Duration.ofHours(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+
+        try (EmbeddedStatsCounterStore counterStore = EmbeddedStatsCounterStore.named("baseline-" + UUID.randomUUID())) {
+            // B ve el almacén sin línea base y se queda en su COUNT
+            SlowCountStore slow = new SlowCountStore(table);
+            Future<ClusterCountingVerdictStore> nodeB = pool.submit(
+                    () -> new ClusterCountingVerdictStore(slow, counterStore, "node-b", never));
+            assertTrue(slow.counting.await(5, TimeUnit.SECONDS));
+
+            // A arranca mientras tanto, crea la línea base e inserta
+            ClusterCountingVerdictStore nodeA = new ClusterCountingVerdictStore(table, counterStore, "node-a", never);
+            assertTrue(nodeA.save(hash(100), true));
+            nodeA.sync();
+
+            // El COUNT de B ya incluye lo que insertó A: no debe pisar la línea base
+            slow.release.countDown();
+            ClusterCountingVerdictStore b = nodeB.get(5, TimeUnit.SECONDS);
+            b.sync();
+            nodeA.sync();
+
+            for (ClusterCountingVerdictStore node : List.of(nodeA, b)) {
+                assertEquals(table.countMutants(), node.countMutants());
+                assertEquals(table.countHumans(), node.countHumans());
+            }
+            b.close();
+            nodeA.close();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Los /stats de todas las réplicas deben converger al total de la tabla")
+    void testReplicasConverge() throws Exception {
+        String cluster = "cluster-" + UUID.randomUUID();
+        for (int i = 1; i <= 3; i++) {
+            startNode(cluster, "node-" + i);
+        }
+
+        // Cada réplica procesa los mismos ADN en paralelo: muchos duplicados entre nodos
+        Random random = new Random(42);
+        List<List<String>> dnas = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            dnas.add(randomDna(random));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(nodes.size());
+        List<Future<?>> futures = new ArrayList<>();
+        for (ConfigurableApplicationContext node : nodes) {
+            MutantService service = node.getBean(MutantService.class);
+            futures.add(pool.submit(() -> dnas.forEach(service::processDna)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        DnaRecordRepository repository = nodes.get(0).getBean(DnaRecordRepository.class);
+        long mutants = repository.countByMutantTrue();
+        long humans = repository.countByMutantFalse();
+        assertEquals(dnas.stream().distinct().count(), mutants + humans);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        for (ConfigurableApplicationContext node : nodes) {
+            StatsService statsService = node.getBean(StatsService.class);
+            StatsResponse stats = statsService.getStats();
+            while ((stats.getCountMutantDna() != mutants || stats.getCountHumanDna() != humans)
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                stats = statsService.getStats();
+            }
+            assertEquals(mutants, stats.getCountMutantDna());
+            assertEquals(humans, stats.getCountHumanDna());
+        }
+    }
+
+    private static String hash(int i) {
+        // Variamos los primeros 128 bits, que son los que usa el store
+        return String.format("%016x%016x", (long) i * 0x9E3779B97F4A7C15L, (long) i) + "0".repeat(32);
+    }
+
+    /**
+     * Store cuyo conteo de mutantes espera a {@code release}, para abrir la carrera del arranque.
+     */
+    private static final class SlowCountStore implements DnaVerdictStore {
+
+        private final DnaVerdictStore delegate;
+        private final CountDownLatch counting = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        SlowCountStore(DnaVerdictStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Optional<Boolean> findVerdict(String dnaHash) {
+            return delegate.findVerdict(dnaHash);
+        }
+
+        @Override
+        public boolean save(String dnaHash, boolean mutant) {
+            return delegate.save(dnaHash, mutant);
+        }
+
+        @Override
+        public long countMutants() {
+            counting.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return delegate.countMutants();
+        }
+
+        @Override
+        public long countHumans() {
+            return delegate.countHumans();
+        }
+    }
+}
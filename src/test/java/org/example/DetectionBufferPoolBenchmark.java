@@ -0,0 +1,72 @@
+package org.example;
+
+import org.example.config.DetectionProperties;
+import org.example.service.DetectionBufferPool;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.DnaFixtures.humanMatrix;
+
+/**
+ * Benchmark de bytes asignados y tiempo por detección de matrices grandes, con la
+ * matriz char[][] asignada por request (detector sin pool) y con la matriz del
+ * {@link DetectionBufferPool}.
+ *
+ * Usa matrices humanas (recorrido completo) de N entre 900 y 1000, para que el pool
+ * trabaje con N distintos dentro de una misma clase de tamaño.
+ * No corre con el test normal: ./gradlew benchmark
+ * Los resultados se documentan en BENCHMARKS.md.
+ */
+@Tag("benchmark")
+class DetectionBufferPoolBenchmark {
+
+    private static final int ITERATIONS = 200;
+
+    @Test
+    @DisplayName("Bytes asignados por detección: matriz por request vs pool")
+    void benchmarkAllocationPerDetection() {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setTimeBudget(Duration.ofMinutes(1));
+        Random random = new Random(46);
+        List<List<String>> matrices = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            matrices.add(humanMatrix(900 + random.nextInt(101)));
+        }
+
+        MutantDetector pooled = new MutantDetector(properties,
+                new DetectionBufferPool(128, 64L * 1024 * 1024));
+        MutantDetector perRequest = new MutantDetector(properties);
+
+        for (int round = 0; round < 2; round++) {
+            report("matriz por request", perRequest, matrices, round == 1);
+            report("pool de matrices", pooled, matrices, round == 1);
+        }
+    }
+
+    private static void report(String name, MutantDetector detector, List<List<String>> matrices, boolean print) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        long start = System.nanoTime();
+        int mutants = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            mutants += detector.isMutant(matrices.get(i % matrices.size())) ? 1 : 0;
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / ITERATIONS;
+        long bytes = (threads.getThreadAllocatedBytes(id) - before) / ITERATIONS;
+
+        if (print) {
+            System.out.printf("[benchmark] %-20s %,12d bytes/detección | %8.1f µs (%d mutantes)%n",
+                    name, bytes, micros, mutants);
+        }
+    }
+}
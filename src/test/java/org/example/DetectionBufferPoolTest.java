@@ -0,0 +1,124 @@
+package org.example;
+
+import org.example.config.DetectionProperties;
+import org.example.service.DetectionBufferPool;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.DnaFixtures.humanMatrix;
+import static org.example.DnaFixtures.randomMatrix;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DetectionBufferPool y su uso desde MutantDetector.
+ * Total: 5 tests cubriendo reutilización, matrices chicas, memoria máxima, hilos terminados
+ * y veredictos.
+ */
+class DetectionBufferPoolTest {
+
+    @Test
+    @DisplayName("El mismo hilo reutiliza su matriz para un N igual o menor")
+    void testReusesBufferOnSameThread() throws Exception {
+        DetectionBufferPool pool = new DetectionBufferPool(128, 64L * 1024 * 1024);
+
+        char[][] first = pool.borrow(200);
+        assertEquals(256, first.length, "Capacidad redondeada a la clase de tamaño");
+        pool.release(first);
+        assertEquals(2L * 256 * 256, pool.getRetainedBytes());
+
+        assertSame(first, pool.borrow(150));
+        assertEquals(0, pool.getRetainedBytes(), "Prestada: ya no cuenta como retenida");
+        pool.release(first);
+
+        // Otro hilo no ve el buffer de este
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            assertNotSame(first, other.submit(() -> pool.borrow(150)).get());
+        } finally {
+            other.shutdownNow();
+        }
+        assertEquals(1, pool.getHits());
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    @DisplayName("Las matrices menores al mínimo no pasan por el pool")
+    void testSmallMatricesAreNotPooled() {
+        DetectionBufferPool pool = new DetectionBufferPool(128, 64L * 1024 * 1024);
+
+        char[][] small = pool.borrow(6);
+        assertEquals(6, small.length);
+        pool.release(small);
+
+        assertNotSame(small, pool.borrow(6));
+        assertEquals(0, pool.getRetainedBytes());
+        assertEquals(0, pool.getHits() + pool.getMisses());
+    }
+
+    @Test
+    @DisplayName("No retiene más memoria que el máximo configurado")
+    void testRespectsMaxRetainedBytes() {
+        DetectionBufferPool pool = new DetectionBufferPool(64, 2L * 128 * 128);
+
+        char[][] fits = pool.borrow(128);
+        pool.release(fits);
+        assertEquals(2L * 128 * 128, pool.getRetainedBytes());
+
+        // Una mayor reemplazaría a la retenida, pero supera el máximo
+        char[][] tooLarge = pool.borrow(192);
+        assertNotSame(fits, tooLarge);
+        pool.release(tooLarge);
+        assertEquals(2L * 128 * 128, pool.getRetainedBytes());
+        assertEquals(1, pool.getDropped());
+        assertSame(fits, pool.borrow(100));
+    }
+
+    @Test
+    @DisplayName("Los bytes de un hilo que terminó dejan de contar en el máximo retenido")
+    void testReclaimsBuffersOfFinishedThreads() throws Exception {
+        DetectionBufferPool pool = new DetectionBufferPool(64, 2L * 128 * 128);
+
+        Thread worker = new Thread(() -> pool.release(pool.borrow(128)));
+        worker.start();
+        worker.join();
+        assertEquals(2L * 128 * 128, pool.getRetainedBytes());
+
+        // El slot del hilo terminado solo lo junta el GC
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getRetainedBytes() != 0 && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(0, pool.getRetainedBytes());
+
+        // Con el lugar libre, este hilo vuelve a guardar su matriz
+        char[][] buffer = pool.borrow(128);
+        pool.release(buffer);
+        assertSame(buffer, pool.borrow(128));
+    }
+
+    @Test
+    @DisplayName("Con buffers reutilizados el detector da los mismos veredictos que sin pool")
+    void testDetectorVerdictsWithPooledBuffers() {
+        DetectionProperties properties = new DetectionProperties();
+        DetectionBufferPool pool = new DetectionBufferPool(4, 64L * 1024 * 1024);
+        MutantDetector pooled = new MutantDetector(properties, pool);
+        MutantDetector plain = new MutantDetector(properties);
+        Random random = new Random(46);
+
+        // N decrecientes: cada matriz usa el buffer de una anterior más grande con datos viejos
+        for (int n = 60; n >= 4; n--) {
+            List<String> dna = random.nextBoolean() ? randomMatrix(random, n) : humanMatrix(n);
+            assertEquals(plain.isMutant(dna), pooled.isMutant(dna), "N=" + n);
+        }
+        assertFalse(pooled.isMutant(humanMatrix(40)));
+        assertTrue(pool.getHits() > 0);
+    }
+}
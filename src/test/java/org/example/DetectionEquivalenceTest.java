@@ -0,0 +1,84 @@
+package org.example;
+
+import org.example.cache.RowFingerprintCache;
+import org.example.config.DetectionProperties;
+import org.example.service.DetectionBufferPool;
+import org.example.service.GenericSequenceEngine;
+import org.example.service.MutantDetector;
+import org.example.service.PartialMatchEngine;
+import org.example.service.SequenceAnalyzer;
+import org.example.service.StreamingMutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.example.DnaFixtures.mixedMatrix;
+import static org.example.DnaFixtures.toMatrix;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests de equivalencia entre MutantDetector y los otros caminos de detección.
+ * Total: 5 tests (uno por camino: motor genérico, caché parcial, streaming, análisis
+ * detallado y buffers del pool) sobre las mismas matrices aleatorias.
+ */
+class DetectionEquivalenceTest {
+
+    private static final MutantDetector DETECTOR = new MutantDetector();
+
+    static Stream<Arguments> detectors() {
+        GenericSequenceEngine generic = new GenericSequenceEngine(4, 2);
+        PartialMatchEngine partial = new PartialMatchEngine(4, 2, new RowFingerprintCache(10_000));
+        SequenceAnalyzer analyzer = new SequenceAnalyzer(DETECTOR, new DetectionProperties());
+        MutantDetector pooled = new MutantDetector(new DetectionProperties(),
+                new DetectionBufferPool(4, 64L * 1024 * 1024));
+
+        return Stream.of(
+                Arguments.of("GenericSequenceEngine con K=4 y T=2",
+                        (Predicate<List<String>>) dna -> generic.isMutant(toMatrix(dna), Long.MAX_VALUE)),
+                Arguments.of("PartialMatchEngine",
+                        (Predicate<List<String>>) dna -> partial.isMutant(toMatrix(dna), Long.MAX_VALUE)),
+                Arguments.of("StreamingMutantDetector",
+                        (Predicate<List<String>>) dna -> {
+                            StreamingMutantDetector stream = DETECTOR.stream();
+                            dna.forEach(stream::accept);
+                            return stream.finish();
+                        }),
+                Arguments.of("SequenceAnalyzer",
+                        (Predicate<List<String>>) dna -> {
+                            try {
+                                return analyzer.analyze(dna, 0, (direction, row, col, base, length) -> { }).mutant();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }),
+                Arguments.of("MutantDetector con DetectionBufferPool", (Predicate<List<String>>) pooled::isMutant)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("detectors")
+    @DisplayName("Debe dar el mismo veredicto que MutantDetector en matrices aleatorias")
+    void testSameVerdictAsMutantDetector(String name, Predicate<List<String>> detector) {
+        Random random = new Random(42);
+        List<List<String>> matrices = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            matrices.add(mixedMatrix(random, 4, 15));
+        }
+
+        // Dos pasadas: la segunda con el caché parcial y los buffers del pool ya usados
+        for (int pass = 0; pass < 2; pass++) {
+            for (List<String> dna : matrices) {
+                assertEquals(DETECTOR.isMutant(dna), detector.test(dna), () -> name + ": veredicto distinto para " + dna);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example;
+
+import org.example.repository.ArchivePartition;
+import org.example.repository.DnaArchive;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DnaArchive y el formato de ArchivePartition.
+ * Total: 5 tests cubriendo búsqueda entre bloques, totales, reapertura, orden de escritura y
+ * bloques truncados.
+ */
+class DnaArchiveTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 15);
+
+    @TempDir
+    Path directory;
+
+    private static String hash(int i) {
+        // Hashes pares: los impares quedan como ausentes entre medio
+        return String.format("%064x", (long) i * 2);
+    }
+
+    private static void writeRecords(ArchivePartition.Writer writer, int count) throws java.io.IOException {
+        for (int i = 0; i < count; i++) {
+            writer.add(HexFormat.of().parseHex(hash(i)), i % 3 == 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe encontrar cada hash archivado y no encontrar los ausentes")
+    void testFindAcrossBlocks() throws Exception {
+        try (DnaArchive archive = new DnaArchive(directory, 64)) {
+            archive.write(DAY, 1000, writer -> writeRecords(writer, 1000));
+
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(Optional.of(i % 3 == 0), archive.findVerdict(hash(i)), "hash " + i);
+            }
+            assertEquals(Optional.empty(), archive.findVerdict(String.format("%064x", 7)));
+            assertEquals(Optional.empty(), archive.findVerdict(String.format("%064x", 5000)));
+            assertEquals(Optional.empty(), archive.findVerdict("f".repeat(64)));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe sumar los totales de mutantes y humanos de todas las particiones")
+    void testTotals() throws Exception {
+        try (DnaArchive archive = new DnaArchive(directory, 64)) {
+            archive.write(DAY, 300, writer -> writeRecords(writer, 300));
+            archive.write(DAY.plusDays(1), 0, writer -> { });
+
+            assertEquals(100, archive.countMutants());
+            assertEquals(200, archive.countHumans());
+            assertEquals(1, archive.getPartitions().size(), "una partición vacía no se publica");
+        }
+    }
+
+    @Test
+    @DisplayName("Debe recargar las particiones desde disco al reabrir")
+    void testReopen() throws Exception {
+        try (DnaArchive archive = new DnaArchive(directory, 64)) {
+            archive.write(DAY, 500, writer -> writeRecords(writer, 500));
+        }
+        Files.writeString(directory.resolve("dna-records-2026-01-16-1.part.tmp"), "incompleto");
+
+        try (DnaArchive reopened = new DnaArchive(directory, 64)) {
+            assertEquals(1, reopened.getPartitions().size());
+            assertEquals(DAY, reopened.getPartitions().get(0).getDay());
+            assertEquals(Optional.of(true), reopened.findVerdict(hash(300)));
+            assertEquals(167 + 333, reopened.countMutants() + reopened.countHumans());
+        }
+        assertFalse(Files.exists(directory.resolve("dna-records-2026-01-16-1.part.tmp")));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar registros desordenados sin dejar archivos a medias")
+    void testRejectsUnorderedRecords() {
+        try (DnaArchive archive = new DnaArchive(directory, 64)) {
+            assertThrows(IllegalStateException.class, () -> archive.write(DAY, 2, writer -> {
+                writer.add(HexFormat.of().parseHex(hash(2)), true);
+                writer.add(HexFormat.of().parseHex(hash(1)), true);
+            }));
+
+            assertTrue(archive.getPartitions().isEmpty());
+            try (var files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        } catch (java.io.IOException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Un bloque truncado debe fallar en lugar de quedarse descomprimiendo")
+    void testTruncatedBlockFails() throws Exception {
+        Path file;
+        try (DnaArchive archive = new DnaArchive(directory, 64)) {
+            file = archive.write(DAY, 64, writer -> writeRecords(writer, 64)).orElseThrow().getFile();
+        }
+
+        // El índice del footer pasa a decir que el único bloque mide la mitad
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES);
+            channel.read(trailer, channel.size() - Long.BYTES - Integer.BYTES);
+            long lengthPosition = trailer.flip().getLong() + 4 * Long.BYTES + Integer.BYTES + Long.BYTES;
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, lengthPosition);
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(length.flip().getInt() / 2).flip(), lengthPosition);
+        }
+
+        try (DnaArchive reopened = new DnaArchive(directory, 64)) {
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(IllegalStateException.class, () -> reopened.findVerdict(hash(10))));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example;
+
+import org.example.service.DnaSamples;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Matrices de ADN compartidas por los tests y benchmarks del detector. Las humanas y
+ * aleatorias salen de {@link DnaSamples}, las mismas del calentamiento.
+ */
+final class DnaFixtures {
+
+    static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    private DnaFixtures() {
+    }
+
+    /**
+     * Matriz de n×n con las 4 bases al azar.
+     */
+    static List<String> randomMatrix(Random random, int n) {
+        return DnaSamples.randomMatrix(random, n);
+    }
+
+    /**
+     * Matriz de n×n con las primeras {@code alphabet} bases al azar: con 2 o 3 bases
+     * aparecen muchas más secuencias que con 4.
+     */
+    static List<String> randomMatrix(Random random, int n, int alphabet) {
+        return DnaSamples.randomMatrix(random, n, alphabet);
+    }
+
+    /**
+     * Matriz al azar de N entre {@code minSize} y {@code maxSize}, con un alfabeto de 2 a
+     * 4 bases: mezcla humanos y mutantes en proporciones parecidas.
+     */
+    static List<String> mixedMatrix(Random random, int minSize, int maxSize) {
+        int n = minSize + random.nextInt(maxSize - minSize + 1);
+        return randomMatrix(random, n, 2 + random.nextInt(3));
+    }
+
+    /**
+     * Matriz humana de n×n: base (fila + 2*col) mod 4 nunca repite en ninguna dirección.
+     */
+    static List<String> humanMatrix(int n) {
+        return DnaSamples.humanMatrix(n);
+    }
+
+    static char[][] toMatrix(List<String> dna) {
+        char[][] matrix = new char[dna.size()][];
+        for (int i = 0; i < dna.size(); i++) {
+            matrix[i] = dna.get(i).toCharArray();
+        }
+        return matrix;
+    }
+}
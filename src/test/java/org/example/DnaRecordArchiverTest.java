@@ -0,0 +1,196 @@
+package org.example;
+
+import org.example.repository.DnaArchive;
+import org.example.repository.DnaRecordArchiver;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.JpaVerdictStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integración para DnaRecordArchiver (H2 embebida + particiones en disco).
+ * Total: 5 tests cubriendo el archivado por día, la búsqueda/conteo combinados, conteos sin
+ * doble cuenta durante el movimiento y la reanudación (en una vuelta y al arrancar).
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DnaRecordArchiverTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private DnaRecordRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Los inserts no son transaccionales: no dejamos filas para los otros tests
+        repository.deleteAllInBatch();
+    }
+
+    private static String hash(int i) {
+        return String.format("%064x", i);
+    }
+
+    private void insert(int i, boolean mutant, LocalDate day) {
+        // Ids fuera del rango que reparte la secuencia en los demás tests
+        jdbcTemplate.update("INSERT INTO dna_records (id, dna_hash, is_mutant, created_at) VALUES (?, ?, ?, ?)",
+                1_000_000_000L + i, hash(i), mutant, Timestamp.valueOf(day.atTime(12, 0)));
+    }
+
+    @Test
+    @DisplayName("Debe mover a particiones solo los días anteriores al corte")
+    void testArchivesOldDays() {
+        for (int i = 1; i <= 30; i++) {
+            insert(i, i % 2 == 0, TODAY.minusDays(40 + i % 3));
+        }
+        insert(100, true, TODAY);
+
+        try (DnaArchive archive = new DnaArchive(directory, 8);
+             DnaRecordArchiver archiver = new DnaRecordArchiver(jdbcTemplate, archive, Duration.ofDays(30), null)) {
+            assertEquals(30, archiver.archiveExpired());
+
+            assertEquals(3, archive.getPartitions().size());
+            assertEquals(1, repository.count());
+            assertTrue(repository.findByDnaHash(hash(100)).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe seguir encontrando y contando los veredictos archivados")
+    void testStoreIncludesArchive() {
+        for (int i = 1; i <= 10; i++) {
+            insert(i, i <= 4, TODAY.minusDays(60));
+        }
+        insert(11, true, TODAY);
+
+        try (DnaArchive archive = new DnaArchive(directory, 4);
+             DnaRecordArchiver archiver = new DnaRecordArchiver(jdbcTemplate, archive, Duration.ofDays(30), null)) {
+            archiver.archiveExpired();
+            JpaVerdictStore store = new JpaVerdictStore(repository, archive);
+
+            assertEquals(Optional.of(true), store.findVerdict(hash(3)));
+            assertEquals(Optional.of(false), store.findVerdict(hash(9)));
+            assertEquals(Optional.of(true), store.findVerdict(hash(11)));
+            assertEquals(Optional.empty(), store.findVerdict(hash(12)));
+            assertEquals(5, store.countMutants());
+            assertEquals(6, store.countHumans());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe terminar un archivado interrumpido sin duplicar registros")
+    void testResumesInterruptedArchive() {
+        LocalDate day = TODAY.minusDays(45);
+        for (int i = 1; i <= 5; i++) {
+            insert(i, true, day);
+        }
+
+        try (DnaArchive archive = new DnaArchive(directory, 4);
+             DnaRecordArchiver archiver = new DnaRecordArchiver(jdbcTemplate, archive, Duration.ofDays(30), null)) {
+            // Simulamos una vuelta que publicó la partición pero no llegó a borrar las filas
+            archiver.archiveExpired();
+            for (int i = 1; i <= 5; i++) {
+                insert(i, true, day);
+            }
+            insert(6, false, day);
+
+            assertEquals(1, archiver.archiveExpired());
+
+            assertEquals(0, repository.count());
+            assertEquals(5, archive.countMutants());
+            assertEquals(1, archive.countHumans());
+            assertEquals(2, archive.getPartitions().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Los conteos no deben ver un día en la tabla y en el archivo a la vez")
+    void testCountsNeverSeeRowsTwice() throws Exception {
+        LocalDate day = TODAY.minusDays(50);
+        for (int i = 1; i <= 5; i++) {
+            insert(i, i <= 2, day);
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (DnaArchive archive = new DnaArchive(directory, 4)) {
+            JpaVerdictStore store = new JpaVerdictStore(repository, archive);
+            AtomicReference<Future<Long>> duringMove = new AtomicReference<>();
+
+            archive.write(day, 5, writer -> {
+                for (int i = 1; i <= 5; i++) {
+                    writer.add(HexFormat.of().parseHex(hash(i)), i <= 2);
+                }
+            }, () -> {
+                // Partición ya visible para búsquedas y filas todavía en la tabla
+                assertEquals(Optional.of(true), archive.findVerdict(hash(1)));
+                duringMove.set(executor.submit(() -> store.countMutants() + store.countHumans()));
+                assertThrows(TimeoutException.class, () -> duringMove.get().get(200, TimeUnit.MILLISECONDS));
+                jdbcTemplate.update("DELETE FROM dna_records");
+            });
+
+            assertEquals(5L, duringMove.get().get(5, TimeUnit.SECONDS));
+            assertEquals(2, store.countMutants());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Al arrancar debe terminar un archivado interrumpido antes de contar")
+    void testResumesInterruptedArchiveOnStartup() throws Exception {
+        LocalDate day = TODAY.minusDays(45);
+        for (int i = 1; i <= 5; i++) {
+            insert(i, true, day);
+        }
+        // Una ejecución anterior publicó la partición y se cortó antes de borrar las filas
+        try (DnaArchive archive = new DnaArchive(directory, 4)) {
+            archive.write(day, 5, writer -> {
+                for (int i = 1; i <= 5; i++) {
+                    writer.add(HexFormat.of().parseHex(hash(i)), true);
+                }
+            });
+        }
+
+        try (DnaArchive archive = new DnaArchive(directory, 4);
+             DnaRecordArchiver archiver = new DnaRecordArchiver(jdbcTemplate, archive, Duration.ofDays(30), null)) {
+            JpaVerdictStore store = new JpaVerdictStore(repository, archive);
+
+            assertEquals(0, repository.count());
+            assertEquals(5, store.countMutants());
+            assertEquals(1, archive.getPartitions().size());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example;
+
+import org.example.entity.DnaRecord;
+import org.example.repository.DnaRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de latencia de findByDnaHash e insert bajo carga concurrente.
+ *
+ * No corre con el test normal: ./gradlew benchmark [-Pprofile=prod]
+ * Los resultados se documentan en BENCHMARKS.md.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "mutant.warmup.enabled=false")
+class DnaRecordRepositoryBenchmark {
+
+    private static final int PRELOADED = 20_000;
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 2_000;
+
+    @Autowired
+    private DnaRecordRepository repository;
+
+    @Autowired
+    private Environment environment;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        repository.bulkInsertIgnoringDuplicates(IntStream.range(0, PRELOADED)
+                .mapToObj(i -> DnaRecord.builder().dnaHash(hash(i)).mutant(i % 3 == 0).build())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Latencia de findByDnaHash e insert con 16 hilos")
+    void benchmarkLookupAndInsert() throws Exception {
+        // Calentamiento del JIT y del pool
+        runConcurrently(i -> repository.findByDnaHash(hash(ThreadLocalRandom.current().nextInt(PRELOADED))));
+
+        long[] lookups = runConcurrently(i ->
+                assertTrue(repository.findByDnaHash(hash(ThreadLocalRandom.current().nextInt(PRELOADED))).isPresent()));
+
+        AtomicInteger next = new AtomicInteger(PRELOADED);
+        long[] inserts = runConcurrently(i ->
+                repository.save(DnaRecord.builder().dnaHash(hash(next.getAndIncrement())).mutant(false).build()));
+
+        String profile = String.join(",", environment.getActiveProfiles());
+        System.out.printf("%n[benchmark] perfil=%s hilos=%d ops/hilo=%d%n",
+                profile.isEmpty() ? "default" : profile, THREADS, OPS_PER_THREAD);
+        report("findByDnaHash", lookups);
+        report("save (insert)", inserts);
+    }
+
+    private long[] runConcurrently(IntConsumerWithException operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[OPS_PER_THREAD];
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        long start = System.nanoTime();
+                        operation.accept(i);
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long[] all = new long[THREADS * OPS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            return all;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void report(String name, long[] latencies) {
+        Arrays.sort(latencies);
+        System.out.printf("[benchmark] %-14s p50=%7.1fus p99=%8.1fus max=%9.1fus%n", name,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1000.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1000.0;
+    }
+
+    private static String hash(int i) {
+        return String.format("%064x", i);
+    }
+
+    @FunctionalInterface
+    private interface IntConsumerWithException {
+        void accept(int i) throws Exception;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example;
+
+import org.example.entity.DnaRecord;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.JpaVerdictStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integración para DnaRecordRepository (H2 embebida).
+ * Total: 6 tests cubriendo ids por secuencia, insert masivo, veredictos recientes y el
+ * contrato de JpaVerdictStore.save.
+ */
+@DataJpaTest
+class DnaRecordRepositoryTest {
+
+    @Autowired
+    private DnaRecordRepository repository;
+
+    private static DnaRecord record(String hash, boolean mutant) {
+        return DnaRecord.builder().dnaHash(hash).mutant(mutant).build();
+    }
+
+    private static String hash(int i) {
+        return String.format("%064x", i);
+    }
+
+    @Test
+    @DisplayName("Debe asignar ids de la secuencia al guardar varios registros")
+    void testSaveAllAssignsSequenceIds() {
+        List<DnaRecord> saved = repository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> record(hash(i), i % 2 == 0))
+                .toList());
+
+        assertEquals(10, saved.stream().map(DnaRecord::getId).distinct().count());
+        assertEquals(5L, repository.countByMutantTrue());
+    }
+
+    @Test
+    @DisplayName("Debe insertar en batch todos los registros nuevos")
+    void testBulkInsertNewRecords() {
+        int inserted = repository.bulkInsertIgnoringDuplicates(IntStream.range(0, 1200)
+                .mapToObj(i -> record(hash(i), i < 200))
+                .toList());
+
+        assertEquals(1200, inserted);
+        assertEquals(200L, repository.countByMutantTrue());
+        assertEquals(1000L, repository.countByMutantFalse());
+        assertTrue(repository.findByDnaHash(hash(5)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Debe ignorar hashes que ya existen sin modificar el registro")
+    void testBulkInsertIgnoresDuplicates() {
+        DnaRecord existing = repository.saveAndFlush(record(hash(1), true));
+
+        int inserted = repository.bulkInsertIgnoringDuplicates(List.of(
+                record(hash(1), false),
+                record(hash(2), false)));
+
+        assertEquals(1, inserted);
+        DnaRecord stored = repository.findByDnaHash(hash(1)).orElseThrow();
+        assertEquals(existing.getId(), stored.getId());
+        assertTrue(stored.isMutant());
+    }
+
+    @Test
+    @DisplayName("Los ids del insert masivo no deben chocar con los de Hibernate")
+    void testBulkInsertAndSaveDoNotCollide() {
+        repository.bulkInsertIgnoringDuplicates(List.of(record(hash(1), true), record(hash(2), false)));
+        repository.saveAllAndFlush(IntStream.range(3, 60)
+                .mapToObj(i -> record(hash(i), false))
+                .toList());
+        repository.bulkInsertIgnoringDuplicates(List.of(record(hash(60), true)));
+
+        assertEquals(60L, repository.count());
+        assertEquals(60L, repository.findAll().stream().map(DnaRecord::getId).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Debe devolver hash y veredicto de los registros más nuevos primero")
+    void testFindRecentVerdicts() {
+        for (int i = 0; i < 5; i++) {
+            repository.saveAndFlush(record(hash(i), i % 2 == 0));
+        }
+
+        List<DnaRecordRepository.HashVerdict> recent = repository.findRecentVerdicts(PageRequest.of(0, 3));
+
+        assertEquals(List.of(hash(4), hash(3), hash(2)),
+                recent.stream().map(DnaRecordRepository.HashVerdict::getDnaHash).toList());
+        assertEquals(List.of(true, false, true),
+                recent.stream().map(DnaRecordRepository.HashVerdict::getMutant).toList());
+    }
+
+    @Test
+    @DisplayName("JpaVerdictStore.save debe devolver false si el hash ya existía, aun dentro de una transacción")
+    void testVerdictStoreSaveReportsExistingHash() {
+        // @DataJpaTest abre una transacción por test: el INSERT no puede quedar para el commit
+        JpaVerdictStore store = new JpaVerdictStore(repository);
+
+        assertTrue(store.save(hash(1), true));
+        assertFalse(store.save(hash(1), false));
+        assertEquals(Optional.of(true), store.findVerdict(hash(1)));
+    }
+}
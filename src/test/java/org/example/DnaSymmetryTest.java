@@ -0,0 +1,116 @@
+package org.example;
+
+import org.example.service.DnaSymmetry;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para DnaSymmetry (forma canónica entre las 8 simetrías).
+ * Total: 4 tests cubriendo las transformaciones, la forma canónica, matrices simétricas y el veredicto.
+ */
+class DnaSymmetryTest {
+
+    private static final List<String> DNA = List.of(
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+    );
+
+    @Test
+    @DisplayName("Las 8 transformaciones son rotaciones y espejos distintos")
+    void testTransformsAreDistinct() {
+        String[] rows = DNA.toArray(new String[0]);
+
+        assertEquals(DNA, transform(rows, DnaSymmetry.IDENTITY));
+        assertEquals(List.of("TCATCA", "CCGTAT", "ACAAGG", "CCATTC", "TTGGGG", "GAGTCA"), transform(rows, 1));
+        assertEquals(List.of("ACTACT", "TATGCC"), transform(rows, 4).subList(0, 2));
+
+        Set<List<String>> distinct = new HashSet<>();
+        for (int t = 0; t < DnaSymmetry.TRANSFORMS; t++) {
+            distinct.add(transform(rows, t));
+        }
+        assertEquals(DnaSymmetry.TRANSFORMS, distinct.size());
+    }
+
+    @Test
+    @DisplayName("Todas las simetrías de un ADN llegan a la misma forma canónica, que es la menor")
+    void testCanonicalFormIsSharedAndMinimal() {
+        Random random = new Random(43);
+        for (int i = 0; i < 50; i++) {
+            String[] rows = randomDna(random, 4 + random.nextInt(12)).toArray(new String[0]);
+            List<String> canonical = transform(rows, DnaSymmetry.canonicalTransform(rows));
+
+            for (int t = 0; t < DnaSymmetry.TRANSFORMS; t++) {
+                List<String> variant = transform(rows, t);
+                assertTrue(String.join("", canonical).compareTo(String.join("", variant)) <= 0);
+
+                String[] variantRows = variant.toArray(new String[0]);
+                assertEquals(canonical, transform(variantRows, DnaSymmetry.canonicalTransform(variantRows)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Una matriz simétrica recorre todas las celdas y elige la de menor índice")
+    void testSymmetricMatrixPicksLowestTransform() {
+        String[] uniform = {"AAAA", "AAAA", "AAAA", "AAAA"};
+        assertEquals(DnaSymmetry.IDENTITY, DnaSymmetry.canonicalTransform(uniform));
+
+        // Simétrica respecto de la diagonal: identidad y transpuesta empatan
+        String[] symmetric = {"ACGT", "CAGT", "GGAT", "TTTA"};
+        assertEquals(DnaSymmetry.IDENTITY, DnaSymmetry.canonicalTransform(symmetric));
+    }
+
+    @Test
+    @DisplayName("Rotar o reflejar un ADN no cambia el veredicto")
+    void testSymmetriesKeepVerdict() {
+        MutantDetector detector = new MutantDetector();
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            String[] rows = randomDna(random, 6 + random.nextInt(10)).toArray(new String[0]);
+            boolean expected = detector.isMutant(List.of(rows));
+
+            for (int t = 1; t < DnaSymmetry.TRANSFORMS; t++) {
+                assertEquals(expected, detector.isMutant(transform(rows, t)));
+            }
+        }
+    }
+
+    private static List<String> transform(String[] rows, int transform) {
+        int n = rows.length;
+        List<String> result = new ArrayList<>(n);
+        for (int row = 0; row < n; row++) {
+            StringBuilder sb = new StringBuilder(n);
+            for (int col = 0; col < n; col++) {
+                sb.append(DnaSymmetry.cell(rows, transform, row, col));
+            }
+            result.add(sb.toString());
+        }
+        return result;
+    }
+
+    private static List<String> randomDna(Random random, int n) {
+        String bases = "ACGT";
+        List<String> dna = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            StringBuilder sb = new StringBuilder(n);
+            for (int j = 0; j < n; j++) {
+                sb.append(bases.charAt(random.nextInt(4)));
+            }
+            dna.add(sb.toString());
+        }
+        return dna;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.exception.ErrorResponses;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de bytes asignados por respuesta de POST /mutant: veredictos y errores
+ * de validación, armados como antes (ResponseEntity nuevo; Map + Jackson) y con las
+ * respuestas prearmadas ({@link ErrorResponses}, constantes del controller).
+ *
+ * Cuenta la asignación de cada hilo con ThreadMXBean mientras varios hilos generan
+ * respuestas a la vez. No corre con el test normal: ./gradlew benchmark
+ * Los resultados se documentan en BENCHMARKS.md.
+ */
+@Tag("benchmark")
+class ErrorResponseAllocationBenchmark {
+
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 200_000;
+    private static final String MESSAGE = "El ADN solo puede contener las letras A, C, G y T";
+
+    private static final ResponseEntity<Void> MUTANT = ResponseEntity.ok().build();
+    private static final ResponseEntity<Void> HUMAN = ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Bytes asignados por respuesta: armada por request vs prearmada")
+    void benchmarkAllocationPerResponse() throws Exception {
+        report("veredicto, ResponseEntity por request", i -> i % 2 == 0
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        report("veredicto, ResponseEntity constante", i -> i % 2 == 0 ? MUTANT : HUMAN);
+
+        report("error 400, Map + Jackson", i -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("timestamp", LocalDateTime.now().toString());
+            response.put("status", HttpStatus.BAD_REQUEST.value());
+            response.put("error", "Bad Request");
+            response.put("message", MESSAGE);
+            response.put("path", "/mutant");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(mapper.writeValueAsBytes(response));
+        });
+        report("error 400, ErrorResponses", i -> ErrorResponses.of(HttpStatus.BAD_REQUEST, MESSAGE));
+    }
+
+    private void report(String name, Response response) throws Exception {
+        // Calentamiento para que el JIT compile (y aplique escape analysis) antes de medir
+        run(response, ITERATIONS / 4);
+
+        long start = System.nanoTime();
+        long bytes = run(response, ITERATIONS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = (long) THREADS * ITERATIONS;
+        System.out.printf("[benchmark] %-40s %7.1f bytes/respuesta | %,10.0f respuestas/s%n",
+                name, (double) bytes / total, total / seconds);
+    }
+
+    private static long run(Response response, int iterations) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        AtomicLong allocated = new AtomicLong();
+        AtomicLong sink = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    long id = Thread.currentThread().getId();
+                    long before = threads.getThreadAllocatedBytes(id);
+                    long hash = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        hash += response.create(i).getStatusCode().value();
+                    }
+                    allocated.addAndGet(threads.getThreadAllocatedBytes(id) - before);
+                    sink.addAndGet(hash);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return allocated.get();
+    }
+
+    @FunctionalInterface
+    private interface Response {
+        ResponseEntity<?> create(int i) throws Exception;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.exception.DnaValidationError;
+import org.example.exception.ErrorResponses;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ErrorResponses (cuerpos de error ya serializados).
+ * Total: 4 tests cubriendo formato, código de validación, escape de caracteres y Retry-After.
+ */
+class ErrorResponsesTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("El cuerpo tiene el formato de GlobalExceptionHandler")
+    void testBodyFormat() throws Exception {
+        JsonNode json = mapper.readTree(ErrorResponses.body(
+                HttpStatus.BAD_REQUEST, "El ADN debe ser una matriz cuadrada NxN", "/mutant"));
+
+        assertEquals(400, json.get("status").asInt());
+        assertEquals("Bad Request", json.get("error").asText());
+        assertEquals("El ADN debe ser una matriz cuadrada NxN", json.get("message").asText());
+        assertEquals("/mutant", json.get("path").asText());
+        assertDoesNotThrow(() -> LocalDateTime.parse(json.get("timestamp").asText()));
+    }
+
+    @Test
+    @DisplayName("Un ADN inválido agrega el código de DnaValidationError")
+    void testValidationErrorCode() throws Exception {
+        ResponseEntity<byte[]> response = ErrorResponses.of(DnaValidationError.NOT_SQUARE);
+        JsonNode json = mapper.readTree(response.getBody());
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("DNA_NOT_SQUARE", json.get("code").asText());
+        assertEquals(DnaValidationError.NOT_SQUARE.getMessage(), json.get("message").asText());
+        assertFalse(mapper.readTree(ErrorResponses.body(HttpStatus.BAD_REQUEST, "x", "/mutant")).has("code"));
+    }
+
+    @Test
+    @DisplayName("Los mensajes con comillas o saltos de línea siguen siendo JSON válido")
+    void testMessageIsEscaped() throws Exception {
+        JsonNode json = mapper.readTree(ErrorResponses.body(
+                HttpStatus.BAD_REQUEST, "fila \"3\"\ninválida \\ x", "/mutant"));
+
+        assertEquals("fila \"3\"\ninválida \\ x", json.get("message").asText());
+    }
+
+    @Test
+    @DisplayName("retryAfter agrega el header, el tipo de contenido JSON y el path pedido")
+    void testRetryAfter() throws Exception {
+        ResponseEntity<byte[]> response = ErrorResponses.retryAfter(
+                HttpStatus.SERVICE_UNAVAILABLE, "Server overloaded, retry later", 1, "/stats");
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        JsonNode json = mapper.readTree(response.getBody());
+        assertEquals(503, json.get("status").asInt());
+        assertEquals("/stats", json.get("path").asText());
+    }
+}
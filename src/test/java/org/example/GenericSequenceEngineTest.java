@@ -0,0 +1,68 @@
+package org.example;
+
+import org.example.config.DetectionProperties;
+import org.example.service.GenericSequenceEngine;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.example.DnaFixtures.toMatrix;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para GenericSequenceEngine y la configuración K/T de MutantDetector.
+ * Total: 3 tests cubriendo otros K/T y validaciones (la equivalencia con el camino
+ * especializado está en DetectionEquivalenceTest).
+ */
+class GenericSequenceEngineTest {
+
+    @Test
+    @DisplayName("Debe contar las ventanas de K letras con el umbral T")
+    void testOtherSequenceLengthsAndThresholds() {
+        char[][] matrix = toMatrix(List.of(
+                "AAAAAC",
+                "CGTACG",
+                "TACGTA",
+                "GTACGT",
+                "ACGTAC",
+                "CGTACG"
+        ));
+
+        // AAAAA: 2 ventanas de 4, 1 de 5
+        assertTrue(new GenericSequenceEngine(4, 2).isMutant(matrix, Long.MAX_VALUE));
+        assertFalse(new GenericSequenceEngine(4, 3).isMutant(matrix, Long.MAX_VALUE));
+        assertTrue(new GenericSequenceEngine(5, 1).isMutant(matrix, Long.MAX_VALUE));
+        assertFalse(new GenericSequenceEngine(5, 2).isMutant(matrix, Long.MAX_VALUE));
+        // El resto de la matriz no repite más de 2 bases: solo las 3 ventanas de 3 de AAAAA
+        assertTrue(new GenericSequenceEngine(3, 3).isMutant(matrix, Long.MAX_VALUE));
+        assertFalse(new GenericSequenceEngine(3, 4).isMutant(matrix, Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("MutantDetector debe usar K y T de la configuración")
+    void testDetectorUsesConfiguredEngine() {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setSequenceLength(5);
+        properties.setThreshold(1);
+        MutantDetector detector = new MutantDetector(properties);
+
+        assertEquals(5, detector.getSequenceLength());
+        assertEquals(1, detector.getThreshold());
+        assertTrue(detector.isMutant(List.of("AAAAAC", "CGTACG", "TACGTA", "GTACGT", "ACGTAC", "CGTACG")));
+        assertFalse(detector.isMutant(List.of("AAAACG", "CGTACG", "TACGTA", "GTACGT", "ACGTAC", "CGTACG")));
+
+        // El detector por streaming usa los mismos K y T
+        var stream = detector.stream();
+        List.of("AAAAAC", "CGTACG", "TACGTA", "GTACGT", "ACGTAC", "CGTACG").forEach(stream::accept);
+        assertTrue(stream.finish());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar K o T fuera de rango")
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new GenericSequenceEngine(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new GenericSequenceEngine(4, 0));
+    }
+}
@@ -0,0 +1,125 @@
+package org.example;
+
+import org.example.repository.InMemoryVerdictStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para InMemoryVerdictStore.
+ * Total: 5 tests cubriendo búsqueda, conteos, concurrencia y recuperación desde disco.
+ */
+class InMemoryVerdictStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static String hash(int i) {
+        // Variamos los primeros 128 bits, que son los que usa el store
+        return String.format("%016x%016x", (long) i * 0x9E3779B97F4A7C15L, (long) i) + "0".repeat(32);
+    }
+
+    @Test
+    @DisplayName("Debe devolver el veredicto guardado y vacío para hashes desconocidos")
+    void testSaveAndFind() {
+        InMemoryVerdictStore store = new InMemoryVerdictStore(4, 16);
+
+        assertTrue(store.save(hash(1), true));
+        assertTrue(store.save(hash(2), false));
+
+        assertEquals(Optional.of(true), store.findVerdict(hash(1)));
+        assertEquals(Optional.of(false), store.findVerdict(hash(2)));
+        assertEquals(Optional.empty(), store.findVerdict(hash(3)));
+    }
+
+    @Test
+    @DisplayName("No debe sobrescribir ni contar dos veces un hash repetido")
+    void testDuplicateIsIgnored() {
+        InMemoryVerdictStore store = new InMemoryVerdictStore(4, 16);
+
+        assertTrue(store.save(hash(1), true));
+        assertFalse(store.save(hash(1), false));
+
+        assertEquals(Optional.of(true), store.findVerdict(hash(1)));
+        assertEquals(1L, store.countMutants());
+        assertEquals(0L, store.countHumans());
+    }
+
+    @Test
+    @DisplayName("Debe crecer más allá de la capacidad inicial sin perder entradas")
+    void testResize() {
+        InMemoryVerdictStore store = new InMemoryVerdictStore(2, 16);
+
+        for (int i = 0; i < 10_000; i++) {
+            store.save(hash(i), i % 4 == 0);
+        }
+
+        assertEquals(2_500L, store.countMutants());
+        assertEquals(7_500L, store.countHumans());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(Optional.of(i % 4 == 0), store.findVerdict(hash(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe contar exactamente con hilos insertando claves solapadas")
+    void testConcurrentInserts() throws Exception {
+        InMemoryVerdictStore store = new InMemoryVerdictStore(4, 16);
+        int threads = 8;
+        int keys = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 1_000;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < keys; i++) {
+                    int key = (i + offset) % keys;
+                    store.save(hash(key), key % 2 == 0);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(keys / 2, store.countMutants());
+        assertEquals(keys / 2, store.countHumans());
+        for (int i = 0; i < keys; i++) {
+            assertTrue(store.findVerdict(hash(i)).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe recuperar veredictos del snapshot y del log al reiniciar")
+    void testRecoveryFromSnapshotAndLog() throws Exception {
+        Duration never = Duration.ofHours(1);
+
+        InMemoryVerdictStore first = new InMemoryVerdictStore(4, 16, directory, never, never);
+        first.save(hash(1), true);
+        first.save(hash(2), false);
+        first.snapshot();
+        first.save(hash(3), true);   // solo queda en el log
+        first.close();
+
+        InMemoryVerdictStore second = new InMemoryVerdictStore(4, 16, directory, never, never);
+        assertEquals(Optional.of(true), second.findVerdict(hash(1)));
+        assertEquals(Optional.of(false), second.findVerdict(hash(2)));
+        assertEquals(Optional.of(true), second.findVerdict(hash(3)));
+        assertEquals(2L, second.countMutants());
+        assertEquals(1L, second.countHumans());
+        second.close();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example;
+
+import org.example.exception.DnaValidationError;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark de una avalancha de ADN inválido: rechazos por segundo según cómo se
+ * informa el error.
+ * - excepción con stack trace (como antes), lanzada a una profundidad de pila parecida
+ *   a la de un request de Spring MVC,
+ * - InvalidDnaException compartida y sin stack trace (isMutant),
+ * - resultado con código, sin excepción (validate).
+ *
+ * No corre con el test normal: ./gradlew benchmark
+ * Los resultados se documentan en BENCHMARKS.md.
+ */
+@Tag("benchmark")
+class InvalidDnaFloodBenchmark {
+
+    private static final int ITERATIONS = 500_000;
+    private static final int STACK_DEPTH = 120;
+
+    // Falla en la última fila: el recorrido de validación es completo
+    private static final List<String> INVALID = List.of(
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTX");
+
+    private final MutantDetector detector = new MutantDetector();
+
+    @Test
+    @DisplayName("Rechazos por segundo de ADN inválido")
+    void benchmarkInvalidFlood() {
+        report("excepción con stack trace", () -> {
+            DnaValidationError error = detector.validate(INVALID);
+            if (error != null) {
+                throw new StackTraceInvalidDna(error.getMessage());
+            }
+            return true;
+        });
+        report("InvalidDnaException sin stack trace", () -> detector.isMutant(INVALID));
+        report("validate() con código", () -> detector.validate(INVALID) == null);
+    }
+
+    private void report(String name, Supplier<Boolean> check) {
+        // Calentamiento y medición, ambos a la misma profundidad de pila
+        atDepth(STACK_DEPTH, () -> reject(check, ITERATIONS / 5));
+        long start = System.nanoTime();
+        long rejected = atDepth(STACK_DEPTH, () -> reject(check, ITERATIONS));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("[benchmark] %-38s %,12.0f rechazos/s%n", name, rejected / seconds);
+    }
+
+    private static long reject(Supplier<Boolean> check, int iterations) {
+        long rejected = 0;
+        for (int i = 0; i < iterations; i++) {
+            try {
+                if (!check.get()) {
+                    rejected++;
+                }
+            } catch (RuntimeException e) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private static long atDepth(int depth, Supplier<Long> body) {
+        return depth == 0 ? body.get() : atDepth(depth - 1, body);
+    }
+
+    /**
+     * Como la InvalidDnaException anterior: llena el stack trace al crearse.
+     */
+    private static final class StackTraceInvalidDna extends RuntimeException {
+        StackTraceInvalidDna(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.config.DetectionProperties;
+import org.example.config.ProfilingProperties;
+import org.example.exception.DetectionTimeoutException;
+import org.example.profiling.DnaStageEvent;
+import org.example.profiling.DnaStageEvents;
+import org.example.profiling.JfrRecordingEndpoint;
+import org.example.repository.InMemoryVerdictStore;
+import org.example.service.MutantDetector;
+import org.example.service.MutantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.OperationType;
+import org.springframework.boot.actuate.endpoint.invoke.OperationParameter;
+import org.springframework.boot.actuate.endpoint.invoke.reflect.OperationMethod;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para JfrRecordingEndpoint y los eventos DnaStageEvent.
+ * Total: 4 tests cubriendo eventos deshabilitados, grabación con eventos por etapa (también de
+ * requests que fallan), errores y parámetros opcionales.
+ */
+class JfrRecordingEndpointTest {
+
+    private static final List<String> MUTANT_DNA = List.of(
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG");
+    private static final List<String> HUMAN_DNA = List.of(
+            "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG");
+
+    @TempDir
+    Path dumpDirectory;
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        ProfilingProperties properties = new ProfilingProperties();
+        properties.setDumpDirectory(dumpDirectory.toString());
+        endpoint = new JfrRecordingEndpoint(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if ("RUNNING".equals(endpoint.status().get("state"))) {
+            endpoint.control("stop", null, null);
+        }
+    }
+
+    @Test
+    @DisplayName("Sin grabación, processDna no crea eventos")
+    void testEventsDisabledWithoutRecording() {
+        assertEquals("NONE", endpoint.status().get("state"));
+        assertFalse(DnaStageEvents.isRecording());
+        assertFalse(DnaStageEvents.start().isEnabled());
+        assertSame(DnaStageEvents.start(), DnaStageEvents.start());
+    }
+
+    @Test
+    @DisplayName("Una grabación registra cada etapa con N, veredicto y origen del veredicto, o la excepción")
+    void testRecordingCapturesStageEvents() throws Exception {
+        InMemoryVerdictStore store = new InMemoryVerdictStore(2, 16);
+        MutantService service = new MutantService(new MutantDetector(), store, new SimpleMeterRegistry());
+        DetectionProperties noTime = new DetectionProperties();
+        noTime.setTimeBudget(Duration.ZERO);
+        MutantService timed = new MutantService(new MutantDetector(noTime), store, new SimpleMeterRegistry());
+
+        Map<String, Object> status = endpoint.control("start", null, Duration.ofHours(1));
+        assertEquals("RUNNING", status.get("state"));
+        assertEquals(Duration.ofMinutes(5), status.get("duration"), "La duración se acota a max-duration");
+        assertTrue(DnaStageEvents.isRecording());
+
+        assertTrue(service.processDna(MUTANT_DNA));  // hash, lookup, detect, persist
+        assertTrue(service.processDna(MUTANT_DNA));  // hash, lookup (veredicto guardado)
+        assertThrows(DetectionTimeoutException.class, () -> timed.processDna(HUMAN_DNA));  // hash, lookup, detect
+
+        assertEquals("STOPPED", endpoint.control("stop", null, null).get("state"));
+        Resource dump = endpoint.dump("dump");
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump.getFile().toPath()).stream()
+                .filter(event -> event.getEventType().getName().equals(DnaStageEvent.NAME))
+                .toList();
+        assertEquals(List.of("hash", "lookup", "detect", "persist", "hash", "lookup", "hash", "lookup", "detect"),
+                events.stream().map(event -> event.getString("stage")).toList());
+        assertTrue(events.stream().allMatch(event -> event.getInt("matrixSize") == 6));
+        assertTrue(events.subList(0, 6).stream().allMatch(event -> event.getBoolean("mutant")
+                && event.getString("error") == null));
+        assertFalse(events.get(3).getBoolean("stored"));
+        assertTrue(events.get(5).getBoolean("stored"));
+        // El request que falló también queda registrado, con su excepción
+        assertTrue(events.subList(6, 9).stream()
+                .allMatch(event -> "DetectionTimeoutException".equals(event.getString("error"))));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar acciones y configuraciones desconocidas o sin grabación")
+    void testInvalidRequests() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.control("pause", null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.control("stop", null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.dump("dump"));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.control("start", "full", null));
+
+        endpoint.control("start", "profile", null);
+        assertEquals("profile", endpoint.status().get("settings"));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.control("start", null, null));
+        assertNull(endpoint.dump("other"));
+    }
+
+    @Test
+    @DisplayName("settings y duration deben ser opcionales para actuator sin jsr305 en runtime")
+    void testOptionalParameters() throws Exception {
+        OperationMethod method = new OperationMethod(JfrRecordingEndpoint.class.getMethod("control",
+                String.class, String.class, Duration.class), OperationType.WRITE);
+
+        Map<String, Boolean> mandatory = method.getParameters().stream()
+                .collect(Collectors.toMap(OperationParameter::getName, OperationParameter::isMandatory));
+        assertEquals(Map.of("action", true, "settings", false, "duration", false), mandatory);
+    }
+}
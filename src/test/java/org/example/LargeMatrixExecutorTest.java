@@ -0,0 +1,97 @@
+package org.example;
+
+import org.example.concurrency.LargeMatrixExecutor;
+import org.example.exception.DetectionTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para LargeMatrixExecutor.
+ * Total: 4 tests cubriendo el umbral, la ejecución en el pool, el rechazo por saturación
+ * y el tiempo máximo de una tarea en cola.
+ */
+class LargeMatrixExecutorTest {
+
+    @Test
+    @DisplayName("Debe tomar solo las matrices con N mayor al umbral")
+    void testThreshold() {
+        try (LargeMatrixExecutor executor = new LargeMatrixExecutor(100, 1, 1)) {
+            assertFalse(executor.handles(100));
+            assertTrue(executor.handles(101));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar en un hilo propio y relanzar las excepciones de la tarea")
+    void testRunsOnPoolThread() {
+        try (LargeMatrixExecutor executor = new LargeMatrixExecutor(100, 1, 1)) {
+            String thread = executor.execute(() -> Thread.currentThread().getName());
+            assertTrue(thread.startsWith("large-detection-"), thread);
+
+            assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+                throw new IllegalArgumentException("falla");
+            }));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cuando el pool y la cola están llenos")
+    void testRejectsWhenSaturated() throws Exception {
+        try (LargeMatrixExecutor executor = new LargeMatrixExecutor(100, 1, 1)) {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch running = new CountDownLatch(1);
+
+            // Una tarea ocupando el único hilo y otra esperando en la cola
+            CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+                running.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> true));
+            while (executor.getExecutor().getQueue().isEmpty()) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> true));
+
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Una tarea que sigue en la cola al agotarse el tiempo debe cortar con timeout y no correr")
+    void testQueuedTaskTimesOut() throws Exception {
+        try (LargeMatrixExecutor executor = new LargeMatrixExecutor(100, 1, 1)) {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch running = new CountDownLatch(1);
+            CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+                running.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            // El único hilo está ocupado: la tarea espera en la cola hasta agotar su tiempo
+            AtomicBoolean ran = new AtomicBoolean();
+            long start = System.nanoTime();
+            assertThrows(DetectionTimeoutException.class, () -> executor.execute(() -> ran.getAndSet(true),
+                    System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100)));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            // La tarea cancelada ya no corre al liberarse el hilo
+            assertTrue(executor.execute(() -> true, System.nanoTime() + TimeUnit.SECONDS.toNanos(5)));
+            assertFalse(ran.get());
+        }
+    }
+}
@@ -3,25 +3,31 @@ package org.example;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dto.DnaRequest;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Tests de integración para MutantController.
- * Total: 8 tests cubriendo todos los endpoints y casos.
+ * Total: 18 tests cubriendo todos los endpoints y casos.
  */
-@SpringBootTest
+@SpringBootTest(properties = "mutant.warmup.enabled=false")
 @AutoConfigureMockMvc
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class MutantControllerTest {
@@ -173,4 +179,256 @@ class MutantControllerTest {
                 .andExpect(jsonPath("$.count_human_dna").value(1))
                 .andExpect(jsonPath("$.ratio").value(1.0));
     }
+
+    @Test
+    @DisplayName("GET /stats con If-None-Match igual al ETag debe retornar 304 sin cuerpo")
+    void whenGetStatsWithMatchingETag_thenReturn304() throws Exception {
+        String eTag = mockMvc.perform(get("/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/stats").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /stats debe cambiar el ETag después de guardar un ADN nuevo")
+    void whenNewDnaSaved_thenStatsETagChanges() throws Exception {
+        String before = mockMvc.perform(get("/stats"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        DnaRequest mutantReq = new DnaRequest(List.of(
+                "ATGCGA",
+                "CAGTGC",
+                "TTATGT",
+                "AGAAGG",
+                "CCCCTA",
+                "TCACTG"
+        ));
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(mutantReq)))
+                .andExpect(status().isOk());
+
+        String after = mockMvc.perform(get("/stats").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count_mutant_dna").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+    }
+
+    // POST /mutant/stream
+
+    @Test
+    @DisplayName("POST /mutant/stream debe analizar las filas en texto plano")
+    void whenStreamedDna_thenReturnVerdict() throws Exception {
+        mockMvc.perform(post("/mutant/stream")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("ATGCGA\nCAGTGC\nTTATGT\nAGAAGG\nCCCCTA\nTCACTG\n"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/mutant/stream")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("ATGCGA\r\nCAGTGC\r\nTTATTT\r\nAGACGG\r\nGCGTCA\r\nTCACTG"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/mutant/stream")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("ATGCGA\nCAGTXC\nTTATGT\nAGAAGG\nCCCCTA\nTCACTG"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("DNA_INVALID_BASE"));
+    }
+
+    @Test
+    @DisplayName("POST /mutant/stream debe reconocer un ADN ya enviado por POST /mutant")
+    void whenSameDnaStreamed_thenNotCountedTwice() throws Exception {
+        DnaRequest req = new DnaRequest(List.of(
+                "ATGCGA",
+                "CAGTGC",
+                "TTATGT",
+                "AGAAGG",
+                "CCCCTA",
+                "TCACTG"
+        ));
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/mutant/stream")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(String.join("\n", req.getDna())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/stats"))
+                .andExpect(jsonPath("$.count_mutant_dna").value(1));
+    }
+
+    @Nested
+    @TestPropertySource(properties = "mutant.detection.canonical-hash=true")
+    class WithCanonicalHash {
+
+        // Los del contexto con canonical-hash, no los de la clase externa
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper mapper;
+
+        @Test
+        @DisplayName("Con canonical-hash, POST /mutant/stream debe responder 409 y el ADN contarse una vez")
+        void whenSameDnaSentToBothEndpoints_thenCountedOnce() throws Exception {
+            DnaRequest req = new DnaRequest(List.of(
+                    "ATGCGA",
+                    "CAGTGC",
+                    "TTATGT",
+                    "AGAAGG",
+                    "CCCCTA",
+                    "TCACTG"
+            ));
+            mockMvc.perform(post("/mutant")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(req)))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(post("/mutant/stream")
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .content(String.join("\n", req.getDna())))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.path").value("/mutant/stream"));
+
+            mockMvc.perform(get("/stats"))
+                    .andExpect(jsonPath("$.count_mutant_dna").value(1));
+        }
+    }
+
+    // POST /mutant/analysis
+
+    @Test
+    @DisplayName("POST /mutant/analysis debe devolver las rachas encontradas y los totales")
+    void whenAnalysis_thenReturnRuns() throws Exception {
+        DnaRequest req = new DnaRequest(List.of(
+                "ATGCGA",
+                "CAGTGC",
+                "TTATGT",
+                "AGAAGG",
+                "CCCCTA",
+                "TCACTG"
+        ));
+
+        var result = mockMvc.perform(post("/mutant/analysis")
+                        .param("maxResults", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(6))
+                .andExpect(jsonPath("$.runs.length()").value(2))
+                .andExpect(jsonPath("$.runs[0].direction").value("HORIZONTAL"))
+                .andExpect(jsonPath("$.runs[0].row").value(4))
+                .andExpect(jsonPath("$.runs[0].base").value("C"))
+                .andExpect(jsonPath("$.total_runs").value(3))
+                .andExpect(jsonPath("$.truncated").value(true))
+                .andExpect(jsonPath("$.mutant").value(true));
+    }
+
+    // POST /mutant/jobs y GET /mutant/jobs/{id}
+
+    @Test
+    @DisplayName("POST /mutant/jobs debe retornar 202 con el job y GET debe devolver el veredicto al terminar")
+    void whenJobSubmitted_thenPollUntilDone() throws Exception {
+        DnaRequest req = new DnaRequest(List.of(
+                "ATGCGA",
+                "CAGTGC",
+                "TTATGT",
+                "AGAAGG",
+                "CCCCTA",
+                "TCACTG"
+        ));
+
+        String location = mockMvc.perform(post("/mutant/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("PENDING"))
+                .andExpect(jsonPath("$.mutant").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        String state = "PENDING";
+        for (int i = 0; i < 500 && "PENDING".equals(state); i++) {
+            Thread.sleep(10);
+            state = mapper.readTree(mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).get("state").asText();
+        }
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("DONE"))
+                .andExpect(jsonPath("$.mutant").value(true));
+
+        // Ya analizado: 200 con el veredicto, sin otro job
+        mockMvc.perform(post("/mutant/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LOCATION, location))
+                .andExpect(jsonPath("$.mutant").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /mutant/jobs/{id} debe retornar 404 para un job inexistente y POST 400 para ADN inválido")
+    void whenUnknownJobOrInvalidDna_thenReturn404Or400() throws Exception {
+        mockMvc.perform(get("/mutant/jobs/" + "0".repeat(96)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/mutant/jobs/otro"))
+                .andExpect(status().isNotFound());
+
+        DnaRequest req = new DnaRequest(List.of("ATGC", "CAGT", "TTAT"));
+        mockMvc.perform(post("/mutant/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /mutant debe aceptar un body gzip y responder 413 si descomprimido supera el máximo")
+    void whenGzipBody_thenDecompressAndLimit() throws Exception {
+        DnaRequest req = new DnaRequest(List.of(
+                "ATGCGA",
+                "CAGTGC",
+                "TTATGT",
+                "AGAAGG",
+                "CCCCTA",
+                "TCACTG"
+        ));
+
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(RequestDecompressionFilterTest.compress("gzip", mapper.writeValueAsString(req))))
+                .andExpect(status().isOk());
+
+        // Más espacios que el máximo de un body (N=2000): comprimido son pocos KB
+        String bomb = "{\"dna\":[" + " ".repeat(5_000_000) + "]}";
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(RequestDecompressionFilterTest.compress("gzip", bomb)))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value("Decompressed request body too large"));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/health/readiness debe estar UP una vez terminado el calentamiento")
+    void whenStarted_thenReadinessIsUp() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
 }
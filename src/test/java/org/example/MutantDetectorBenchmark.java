@@ -0,0 +1,107 @@
+package org.example;
+
+import org.example.config.DetectionProperties;
+import org.example.service.GenericSequenceEngine;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.DnaFixtures.humanMatrix;
+import static org.example.DnaFixtures.randomMatrix;
+
+/**
+ * Benchmark del detector con la configuración por defecto (K=4, T=2, recorrido
+ * especializado) frente al motor genérico con los mismos K y T y con otros valores.
+ *
+ * No corre con el test normal: ./gradlew benchmark
+ * Los resultados se documentan en BENCHMARKS.md.
+ */
+@Tag("benchmark")
+class MutantDetectorBenchmark {
+
+    @Test
+    @DisplayName("Detección especializada K=4/T=2 vs motor genérico")
+    void benchmarkEngines() {
+        List<String> human400 = humanMatrix(400);
+        List<List<String>> random100 = randomMatrices(200, 100);
+
+        MutantDetector specialized = new MutantDetector(properties(4, 2));
+        // K=4/T=2 forzado por el motor genérico
+        MutantDetector generic = new GenericDetector();
+        MutantDetector k5t3 = new MutantDetector(properties(5, 3));
+
+        for (int round = 0; round < 2; round++) {
+            report("especializado K=4/T=2", specialized, human400, random100, round == 1);
+            report("genérico      K=4/T=2", generic, human400, random100, round == 1);
+            report("genérico      K=5/T=3", k5t3, human400, random100, round == 1);
+        }
+    }
+
+    private static void report(String name, MutantDetector detector, List<String> human,
+                               List<List<String>> random, boolean print) {
+        long start = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            detector.isMutant(human);
+        }
+        double humanMicros = (System.nanoTime() - start) / 1e3 / 50;
+
+        start = System.nanoTime();
+        int mutants = 0;
+        for (int i = 0; i < 20; i++) {
+            for (List<String> dna : random) {
+                mutants += detector.isMutant(dna) ? 1 : 0;
+            }
+        }
+        double randomMicros = (System.nanoTime() - start) / 1e3 / (20.0 * random.size());
+
+        if (print) {
+            System.out.printf("[benchmark] %s: humano 400x400 %8.1f µs | aleatorio 100x100 %6.2f µs (%d mutantes)%n",
+                    name, humanMicros, randomMicros, mutants / 20);
+        }
+    }
+
+    /**
+     * Detector K=4/T=2 que pasa siempre por el motor genérico (para comparar).
+     */
+    private static final class GenericDetector extends MutantDetector {
+
+        private final GenericSequenceEngine engine = new GenericSequenceEngine(4, 2);
+
+        GenericDetector() {
+            super(properties(4, 2));
+        }
+
+        @Override
+        public boolean isMutant(List<String> dna) {
+            validate(dna);
+            char[][] matrix = new char[dna.size()][];
+            for (int i = 0; i < dna.size(); i++) {
+                matrix[i] = dna.get(i).toCharArray();
+            }
+            return engine.isMutant(matrix, Long.MAX_VALUE);
+        }
+    }
+
+    private static DetectionProperties properties(int k, int t) {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setSequenceLength(k);
+        properties.setThreshold(t);
+        properties.setTimeBudget(Duration.ofMinutes(1));
+        return properties;
+    }
+
+    private static List<List<String>> randomMatrices(int count, int n) {
+        Random random = new Random(3);
+        List<List<String>> matrices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            matrices.add(randomMatrix(random, n));
+        }
+        return matrices;
+    }
+}
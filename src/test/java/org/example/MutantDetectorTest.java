@@ -1,19 +1,25 @@
 package org.example;
 
+import org.example.config.DetectionProperties;
+import org.example.exception.DetectionTimeoutException;
+import org.example.exception.DnaTooLargeException;
+import org.example.exception.DnaValidationError;
 import org.example.exception.InvalidDnaException;
 import org.example.service.MutantDetector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.example.DnaFixtures.humanMatrix;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Tests unitarios para MutantDetector.
- * Total: 17 tests cubriendo todos los casos.
+ * Total: 21 tests cubriendo todos los casos.
  */
 class MutantDetectorTest {
 
@@ -246,4 +252,51 @@ class MutantDetectorTest {
         );
         assertThrows(InvalidDnaException.class, () -> detector.isMutant(dna));
     }
+
+    @Test
+    @DisplayName("validate debe devolver el código de error sin lanzar excepción")
+    void testValidateReturnsErrorCodes() {
+        assertEquals(DnaValidationError.EMPTY, detector.validate(List.of()));
+        assertEquals(DnaValidationError.TOO_SMALL, detector.validate(List.of("ATG", "CAG", "TTA")));
+        assertEquals(DnaValidationError.NULL_ROW, detector.validate(Arrays.asList("ATGC", null, "ATGC", "ATGC")));
+        assertEquals(DnaValidationError.NOT_SQUARE, detector.validate(List.of("ATGC", "ATG", "ATGC", "ATGC")));
+        assertEquals(DnaValidationError.INVALID_BASE, detector.validate(List.of("ATGC", "ATXC", "ATGC", "ATGC")));
+        assertNull(detector.validate(List.of("ATGC", "CAGT", "TTAT", "AGAC")));
+    }
+
+    @Test
+    @DisplayName("La excepción de ADN inválido debe ser compartida, con código y sin stack trace")
+    void testInvalidDnaExceptionIsStackless() {
+        List<String> dna = List.of("ATGC", "ATXC", "ATGC", "ATGC");
+
+        InvalidDnaException first = assertThrows(InvalidDnaException.class, () -> detector.isMutant(dna));
+        InvalidDnaException second = assertThrows(InvalidDnaException.class, () -> detector.isMutant(dna));
+
+        assertSame(first, second);
+        assertEquals(DnaValidationError.INVALID_BASE, first.getError());
+        assertEquals(0, first.getStackTrace().length);
+    }
+
+    // TESTS DE LÍMITES DE COSTO
+
+    @Test
+    @DisplayName("Debe rechazar matrices con N mayor al máximo configurado")
+    void testMatrixLargerThanMaxSize() {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setMaxSize(8);
+        MutantDetector limited = new MutantDetector(properties);
+
+        assertFalse(limited.isMutant(humanMatrix(8)));
+        assertThrows(DnaTooLargeException.class, () -> limited.isMutant(humanMatrix(9)));
+    }
+
+    @Test
+    @DisplayName("Debe cortar la detección cuando se agota el tiempo máximo")
+    void testDetectionTimeBudgetExceeded() {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setTimeBudget(Duration.ofNanos(1));
+        MutantDetector limited = new MutantDetector(properties);
+
+        assertThrows(DetectionTimeoutException.class, () -> limited.isMutant(humanMatrix(400)));
+    }
 }
@@ -0,0 +1,264 @@
+package org.example;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.JobProperties;
+import org.example.repository.DnaVerdictStore;
+import org.example.repository.InMemoryVerdictStore;
+import org.example.service.MutantDetector;
+import org.example.service.MutantJobService;
+import org.example.service.MutantJobService.Job;
+import org.example.service.MutantJobService.State;
+import org.example.service.MutantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para MutantJobService (detección asíncrona con polling).
+ * Total: 5 tests cubriendo el ciclo de un job, deduplicación, cola llena, vencimiento
+ * e ids emitidos.
+ */
+class MutantJobServiceTest {
+
+    private static final List<String> MUTANT_DNA = List.of(
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG");
+    private static final List<String> HUMAN_DNA = List.of(
+            "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG");
+    private static final List<String> OTHER_HUMAN_DNA = List.of(
+            "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTA");
+
+    private final ManualClock clock = new ManualClock();
+    private final BlockingStore store = new BlockingStore(new InMemoryVerdictStore(2, 16));
+    private final MutantDetector detector = new MutantDetector();
+    private final MutantService mutantService = new MutantService(detector, store, new SimpleMeterRegistry());
+    private MutantJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        store.release.countDown();
+        if (jobService != null) {
+            jobService.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Un job pasa de PENDING a DONE y el veredicto queda guardado")
+    void testJobCompletesAndPersistsVerdict() throws Exception {
+        store.release.countDown();
+        jobService = service(properties(1, 4));
+
+        Job job = jobService.submit(MUTANT_DNA);
+        assertEquals(State.PENDING, job.state());
+        assertTrue(job.id().startsWith(mutantService.hash(MUTANT_DNA)));
+
+        Job done = awaitDone(job.id());
+        assertEquals(State.DONE, done.state());
+        assertTrue(done.mutant());
+        assertEquals(Optional.of(true), store.findVerdict(job.id()));
+
+        // Volver a enviarlo devuelve el job terminado, sin encolar otra detección
+        assertEquals(done, jobService.submit(MUTANT_DNA));
+        assertEquals(1, store.jobLookups.get());
+    }
+
+    @Test
+    @DisplayName("El mismo ADN en curso o ya guardado no genera otro job")
+    void testDeduplicatesInFlightAndStoredDna() throws Exception {
+        store.save(mutantService.hash(HUMAN_DNA), false);
+        jobService = service(properties(1, 4));
+
+        // Ya guardado: el job nace terminado
+        Job stored = jobService.submit(HUMAN_DNA);
+        assertEquals(State.DONE, stored.state());
+        assertFalse(stored.mutant());
+
+        // En curso: el segundo envío recibe el mismo job pendiente
+        Job first = jobService.submit(MUTANT_DNA);
+        Job second = jobService.submit(MUTANT_DNA);
+        assertEquals(State.PENDING, second.state());
+        assertEquals(first.id(), second.id());
+        assertEquals(1, jobService.size());
+
+        store.release.countDown();
+        assertTrue(awaitDone(first.id()).mutant());
+        assertEquals(1, store.jobLookups.get());
+    }
+
+    @Test
+    @DisplayName("Con el pool y la cola llenos rechaza el job sin guardarlo")
+    void testRejectsWhenQueueIsFull() throws Exception {
+        jobService = service(properties(1, 1));
+
+        Job running = jobService.submit(MUTANT_DNA);
+        assertTrue(store.blocked.await(5, TimeUnit.SECONDS));
+        Job queued = jobService.submit(HUMAN_DNA);
+
+        assertThrows(RejectedExecutionException.class, () -> jobService.submit(OTHER_HUMAN_DNA));
+        assertEquals(2, jobService.size());
+
+        store.release.countDown();
+        assertTrue(awaitDone(running.id()).mutant());
+        assertFalse(awaitDone(queued.id()).mutant());
+    }
+
+    @Test
+    @DisplayName("Los jobs vencidos se descartan: el veredicto sigue en la base y un fallo puede reintentarse")
+    void testExpirationAndFailedJobs() throws Exception {
+        store.release.countDown();
+        JobProperties properties = properties(1, 4);
+        properties.setTimeBudget(Duration.ZERO);
+        jobService = service(properties);
+
+        Job failed = awaitDone(jobService.submit(MUTANT_DNA).id());
+        assertEquals(State.FAILED, failed.state());
+        assertNotNull(failed.error());
+
+        // Un job fallido se vuelve a encolar
+        assertEquals(State.PENDING, jobService.submit(MUTANT_DNA).state());
+        awaitDone(failed.id());
+
+        // Guardado por otro camino y vencido en memoria: se responde desde la base
+        String hash = mutantService.hash(MUTANT_DNA);
+        store.save(hash, true);
+        clock.advance(Duration.ofMinutes(11).toMillis());
+        assertEquals(Optional.of(new Job(failed.id(), State.DONE, true, null)), jobService.find(failed.id()));
+
+        assertTrue(jobService.find("no-es-un-hash").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Solo responde ids emitidos: un hash guardado sin firma o con otra firma no devuelve el veredicto")
+    void testOnlyIssuedIdsAreResolved() {
+        store.release.countDown();
+        jobService = service(properties(1, 4));
+        String hash = mutantService.hash(HUMAN_DNA);
+        store.save(hash, false);
+
+        assertTrue(jobService.find(hash).isEmpty());
+        assertTrue(jobService.find(hash + "0".repeat(32)).isEmpty());
+
+        Job issued = jobService.submit(HUMAN_DNA);
+        assertEquals(Optional.of(issued), jobService.find(issued.id()));
+
+        // La firma es de esta instancia: otra no reconoce el id
+        MutantJobService other = service(properties(1, 4));
+        try {
+            assertTrue(other.find(issued.id()).isEmpty());
+        } finally {
+            other.close();
+        }
+    }
+
+    private MutantJobService service(JobProperties properties) {
+        return new MutantJobService(mutantService, detector, store, properties, clock);
+    }
+
+    private static JobProperties properties(int threads, int queueCapacity) {
+        JobProperties properties = new JobProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    private Job awaitDone(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Job job = jobService.find(id).orElseThrow();
+            if (job.state() != State.PENDING) {
+                return job;
+            }
+            Thread.sleep(5);
+        }
+        return fail("El job no terminó: " + id);
+    }
+
+    /**
+     * Store que frena las búsquedas de los hilos de jobs hasta {@code release}.
+     */
+    private static final class BlockingStore implements DnaVerdictStore {
+
+        private final DnaVerdictStore delegate;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger jobLookups = new AtomicInteger();
+
+        BlockingStore(DnaVerdictStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Optional<Boolean> findVerdict(String dnaHash) {
+            if (Thread.currentThread().getName().startsWith("mutant-job-")) {
+                jobLookups.incrementAndGet();
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return delegate.findVerdict(dnaHash);
+        }
+
+        @Override
+        public boolean save(String dnaHash, boolean mutant) {
+            return delegate.save(dnaHash, mutant);
+        }
+
+        @Override
+        public long countMutants() {
+            return delegate.countMutants();
+        }
+
+        @Override
+        public long countHumans() {
+            return delegate.countHumans();
+        }
+    }
+
+    /**
+     * Reloj que solo avanza cuando el test lo pide.
+     */
+    private static final class ManualClock extends Clock {
+
+        private volatile long millis = 1_700_000_000_000L;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.repository.DnaRecordRepository;
+import org.example.service.MutantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark del tiempo que processDna retiene una conexión del pool
+ * (métrica hikaricp.connections.usage) frente al tiempo de detección.
+ *
+ * No corre con el test normal: ./gradlew benchmark
+ * Los resultados se documentan en BENCHMARKS.md.
+ */
+@Tag("benchmark")
+// Sin caché de veredictos: se mide el camino que llega a la base
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "mutant.cache.enabled=false", "mutant.warmup.enabled=false"})
+class MutantServiceBenchmark {
+
+    private static final int SIZE = 400;
+    private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+    @Autowired
+    private MutantService mutantService;
+
+    @Autowired
+    private DnaRecordRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Retención de conexiones en ADN nuevo y repetido")
+    void benchmarkConnectionHoldTime() {
+        List<List<String>> fresh = humanMatrices(90);
+
+        // Calentamiento con matrices que no se vuelven a usar
+        fresh.subList(0, 10).forEach(mutantService::processDna);
+
+        Timer usage = meterRegistry.get("hikaricp.connections.usage").timer();
+        Timer detect = meterRegistry.get("mutant.process.stage").tag("stage", "detect").timer();
+
+        Sample usageBefore = new Sample(usage);
+        Sample detectBefore = new Sample(detect);
+        for (List<String> dna : fresh.subList(10, fresh.size())) {
+            assertFalse(mutantService.processDna(dna));
+        }
+        String freshUsage = new Sample(usage).since(usageBefore);
+        String freshDetect = new Sample(detect).since(detectBefore);
+
+        usageBefore = new Sample(usage);
+        for (int i = 0; i < 1_000; i++) {
+            mutantService.processDna(fresh.get(10 + i % 80));
+        }
+        String duplicateUsage = new Sample(usage).since(usageBefore);
+
+        System.out.printf("%n[benchmark] ADN nuevo %dx%d: conexion retenida %s | detect %s%n",
+                SIZE, SIZE, freshUsage, freshDetect);
+        System.out.printf("[benchmark] ADN repetido:      conexion retenida %s%n", duplicateUsage);
+    }
+
+    /**
+     * Lectura acumulada de un timer, para medir solo el intervalo entre dos lecturas.
+     */
+    private record Sample(long count, double totalMs) {
+
+        Sample(Timer timer) {
+            this(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS));
+        }
+
+        String since(Sample before) {
+            long n = count - before.count;
+            return String.format("n=%d media=%.3fms", n, n == 0 ? 0.0 : (totalMs - before.totalMs) / n);
+        }
+    }
+
+    /**
+     * Matrices humanas sin secuencias. Cada mitad (izquierda/derecha) sigue un patrón
+     * perm[(a*fila + b*col) mod 4] con pasos (1,2) o (2,1), que nunca repiten base en
+     * ninguna dirección; en el borde entre mitades una racha no pasa de 2. Combinando
+     * 48 patrones por mitad se obtienen matrices distintas.
+     */
+    private static List<List<String>> humanMatrices(int count) {
+        List<List<String>> result = new ArrayList<>();
+        for (int m = 0; m < count; m++) {
+            int left = m % 48;
+            int right = (m + m / 48) % 48;
+            List<String> dna = new ArrayList<>(SIZE);
+            for (int row = 0; row < SIZE; row++) {
+                char[] chars = new char[SIZE];
+                for (int col = 0; col < SIZE; col++) {
+                    chars[col] = pattern(col < SIZE / 2 ? left : right, row, col);
+                }
+                dna.add(new String(chars));
+            }
+            result.add(dna);
+        }
+        return result;
+    }
+
+    private static char pattern(int index, int row, int col) {
+        int[] step = index % 2 == 0 ? new int[]{1, 2} : new int[]{2, 1};
+        return permutation(index / 2)[(step[0] * row + step[1] * col) % 4];
+    }
+
+    private static char[] permutation(int index) {
+        List<Character> pool = new ArrayList<>(List.of(BASES[0], BASES[1], BASES[2], BASES[3]));
+        char[] perm = new char[4];
+        int rest = index % 24;
+        for (int i = 4; i > 0; i--) {
+            perm[4 - i] = pool.remove(rest % i);
+            rest /= i;
+        }
+        return perm;
+    }
+}
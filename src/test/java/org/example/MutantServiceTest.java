@@ -1,7 +1,13 @@
 package org.example;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.DetectionProperties;
 import org.example.entity.DnaRecord;
+import org.example.exception.DetectionTimeoutException;
+import org.example.exception.DnaTooLargeException;
+import org.example.exception.InvalidDnaException;
 import org.example.repository.DnaRecordRepository;
+import org.example.repository.JpaVerdictStore;
 import org.example.service.MutantDetector;
 import org.example.service.MutantService;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,10 +15,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +33,7 @@ import static org.mockito.Mockito.*;
 
 /**
  * Tests unitarios con mocks para MutantService.
- * Total: 5 tests cubriendo la lógica de negocio.
+ * Total: 12 tests cubriendo la lógica de negocio.
  */
 @ExtendWith(MockitoExtension.class)
 class MutantServiceTest {
@@ -34,7 +44,6 @@ class MutantServiceTest {
     @Mock
     private DnaRecordRepository repository;
 
-    @InjectMocks
     private MutantService service;
 
     private List<String> mutantDna;
@@ -42,6 +51,8 @@ class MutantServiceTest {
 
     @BeforeEach
     void setUp() {
+        service = new MutantService(detector, new JpaVerdictStore(repository), new SimpleMeterRegistry());
+
         mutantDna = List.of("ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG");
         humanDna = List.of("ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG");
     }
@@ -57,41 +68,41 @@ class MutantServiceTest {
         boolean result = service.processDna(mutantDna);
 
         assertTrue(result);
-        verify(detector, never()).isMutant(any());
-        verify(repository, never()).save(any());
+        verify(detector, never()).isMutant(any(), anyLong());
+        verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
     @DisplayName("Debe analizar y guardar ADN mutante nuevo")
     void whenNewMutantDna_storeIt() {
         when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
-        when(detector.isMutant(mutantDna)).thenReturn(true);
+        when(detector.isMutant(eq(mutantDna), anyLong())).thenReturn(true);
 
         boolean result = service.processDna(mutantDna);
 
         assertTrue(result);
-        verify(detector, times(1)).isMutant(mutantDna);
-        verify(repository, times(1)).save(any(DnaRecord.class));
+        verify(detector, times(1)).isMutant(eq(mutantDna), anyLong());
+        verify(repository, times(1)).saveAndFlush(any(DnaRecord.class));
     }
 
     @Test
     @DisplayName("Debe analizar y guardar ADN humano nuevo")
     void whenNewHumanDna_storeIt() {
         when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
-        when(detector.isMutant(humanDna)).thenReturn(false);
+        when(detector.isMutant(eq(humanDna), anyLong())).thenReturn(false);
 
         boolean result = service.processDna(humanDna);
 
         assertFalse(result);
-        verify(detector, times(1)).isMutant(humanDna);
-        verify(repository, times(1)).save(any(DnaRecord.class));
+        verify(detector, times(1)).isMutant(eq(humanDna), anyLong());
+        verify(repository, times(1)).saveAndFlush(any(DnaRecord.class));
     }
 
     @Test
     @DisplayName("Debe generar hash consistente para el mismo ADN")
     void testConsistentHashGeneration() {
         when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
-        when(detector.isMutant(any())).thenReturn(true);
+        when(detector.isMutant(any(), anyLong())).thenReturn(true);
 
         ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
 
@@ -113,16 +124,150 @@ class MutantServiceTest {
     @DisplayName("Debe guardar registro con campos correctos")
     void testSavesRecordWithCorrectFields() {
         when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
-        when(detector.isMutant(mutantDna)).thenReturn(true);
+        when(detector.isMutant(eq(mutantDna), anyLong())).thenReturn(true);
 
         service.processDna(mutantDna);
 
         ArgumentCaptor<DnaRecord> recordCaptor = ArgumentCaptor.forClass(DnaRecord.class);
-        verify(repository).save(recordCaptor.capture());
+        verify(repository).saveAndFlush(recordCaptor.capture());
 
         DnaRecord savedRecord = recordCaptor.getValue();
         assertNotNull(savedRecord.getDnaHash());
         assertEquals(64, savedRecord.getDnaHash().length(), "Hash SHA-256 debe tener 64 caracteres");
         assertTrue(savedRecord.isMutant());
     }
+
+    @Test
+    @DisplayName("Debe devolver el veredicto aunque otro request haya guardado el mismo ADN en paralelo")
+    void whenConcurrentInsertOfSameDna_returnVerdict() {
+        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(detector.isMutant(eq(mutantDna), anyLong())).thenReturn(true);
+        when(repository.saveAndFlush(any(DnaRecord.class))).thenThrow(new DataIntegrityViolationException("dna_hash duplicado"));
+
+        assertTrue(service.processDna(mutantDna));
+    }
+
+    @Test
+    @DisplayName("Con hash canónico, un ADN rotado o transpuesto usa el mismo hash")
+    void whenCanonicalHash_symmetricDnaSharesHash() {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setCanonicalHash(true);
+        MutantService canonical = new MutantService(detector, new JpaVerdictStore(repository),
+                new SimpleMeterRegistry(), null, null, properties);
+        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(detector.isMutant(any(), anyLong())).thenReturn(true);
+
+        List<String> rotated = List.of("TCATCA", "CCGTAT", "ACAAGG", "CCATTC", "TTGGGG", "GAGTCA");
+        List<String> transposed = List.of("ACTACT", "TATGCC", "GGAACA", "CTTACC", "GGGGTT", "ACTGAG");
+
+        ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+        canonical.processDna(mutantDna);
+        canonical.processDna(rotated);
+        canonical.processDna(transposed);
+        verify(repository, times(3)).findByDnaHash(hashCaptor.capture());
+
+        assertEquals(1, hashCaptor.getAllValues().stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Sin hash canónico (por defecto), un ADN rotado es otro registro")
+    void whenDefaultHash_rotatedDnaHasOwnHash() {
+        when(repository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+        when(detector.isMutant(any(), anyLong())).thenReturn(true);
+
+        List<String> rotated = List.of("TCATCA", "CCGTAT", "ACAAGG", "CCATTC", "TTGGGG", "GAGTCA");
+
+        ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+        service.processDna(mutantDna);
+        service.processDna(rotated);
+        verify(repository, times(2)).findByDnaHash(hashCaptor.capture());
+
+        assertNotEquals(hashCaptor.getAllValues().get(0), hashCaptor.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("Con otros K/T el hash no debe coincidir con el de los veredictos de K=4/T=2")
+    void whenSequenceLengthOrThresholdChange_hashChanges() {
+        DetectionProperties defaults = new DetectionProperties();
+        DetectionProperties k5 = new DetectionProperties();
+        k5.setSequenceLength(5);
+        DetectionProperties t3 = new DetectionProperties();
+        t3.setThreshold(3);
+
+        String hash = service.hash(mutantDna);
+        assertEquals(hash, serviceWith(defaults).hash(mutantDna), "K=4/T=2 conserva los hashes guardados");
+        assertNotEquals(hash, serviceWith(k5).hash(mutantDna));
+        assertNotEquals(hash, serviceWith(t3).hash(mutantDna));
+        assertNotEquals(serviceWith(k5).hash(mutantDna), serviceWith(t3).hash(mutantDna));
+    }
+
+    private MutantService serviceWith(DetectionProperties properties) {
+        return new MutantService(detector, new JpaVerdictStore(repository), new SimpleMeterRegistry(),
+                null, null, properties);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un ADN más grande que el máximo antes de calcular el hash")
+    void whenDnaTooLarge_rejectBeforeHashing() {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setMaxSize(6);
+        MutantService limited = new MutantService(new MutantDetector(properties), new JpaVerdictStore(repository),
+                new SimpleMeterRegistry());
+
+        List<String> sevenRows = List.of("ATGCGAA", "CAGTGCA", "TTATGTA", "AGAAGGA", "CCCCTAA", "TCACTGA", "ATGCGAA");
+        assertThrows(DnaTooLargeException.class, () -> limited.processDna(sevenRows));
+
+        // Una fila enorme con pocas filas: mismo error que la validación, sin hashearla
+        List<String> hugeRow = List.of("ATGC".repeat(250_000), "CAGT", "TTAT", "AGAA");
+        assertThrows(InvalidDnaException.class, () -> limited.processDna(hugeRow));
+
+        verify(repository, never()).findByDnaHash(anyString());
+    }
+
+    @Test
+    @DisplayName("POST /mutant/stream debe cortar una fila apenas supera el máximo")
+    void whenStreamRowTooLong_rejectWithoutBufferingIt() {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setMaxSize(6);
+        MutantService limited = new MutantService(new MutantDetector(properties), new JpaVerdictStore(repository),
+                new SimpleMeterRegistry());
+
+        // Un body sin saltos de línea que no termina nunca
+        assertThrows(DnaTooLargeException.class, () -> limited.processDnaStream(endless('A')));
+
+        // Una fila más larga que la primera
+        assertThrows(InvalidDnaException.class,
+                () -> limited.processDnaStream(new StringReader("ATGC\nCAGTGCCAGT\nTTAT\nAGAA\n")));
+
+        verify(repository, never()).findByDnaHash(anyString());
+    }
+
+    @Test
+    @DisplayName("POST /mutant/stream debe respetar el tiempo máximo de detección")
+    void whenStreamNeverEnds_cutAtTimeBudget() {
+        DetectionProperties properties = new DetectionProperties();
+        properties.setTimeBudget(Duration.ofMillis(50));
+        MutantService limited = new MutantService(new MutantDetector(properties), new JpaVerdictStore(repository),
+                new SimpleMeterRegistry());
+
+        // Solo líneas vacías: nunca llega una fila
+        assertThrows(DetectionTimeoutException.class, () -> limited.processDnaStream(endless('\n')));
+    }
+
+    /**
+     * Reader que devuelve el mismo carácter para siempre.
+     */
+    private static Reader endless(char c) {
+        return new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                Arrays.fill(buffer, offset, offset + length, c);
+                return length;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
 }
@@ -0,0 +1,86 @@
+package org.example;
+
+import org.example.cache.RowFingerprintCache;
+import org.example.service.GenericSequenceEngine;
+import org.example.service.PartialMatchEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.DnaFixtures.randomMatrix;
+import static org.example.DnaFixtures.toMatrix;
+
+/**
+ * Benchmark del caché de conteos parciales sobre ADN casi repetidos: una matriz de
+ * 400x400 y 50 variantes que cambian 2 filas cada una.
+ *
+ * Se usa un umbral inalcanzable para que todos los motores recorran la matriz completa,
+ * como con un ADN humano (el caso en que la detección no corta temprano).
+ *
+ * No corre con el test normal: ./gradlew benchmark
+ * Los resultados se documentan en BENCHMARKS.md.
+ */
+@Tag("benchmark")
+class PartialMatchBenchmark {
+
+    private static final int N = 400;
+    private static final int FULL_SCAN = Integer.MAX_VALUE;
+
+    @Test
+    @DisplayName("Recorrido completo vs caché de conteos parciales con ADN casi repetidos")
+    void benchmarkNearDuplicates() {
+        Random random = new Random(44);
+        char[][] base = toMatrix(randomMatrix(random, N));
+        List<char[][]> variants = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            char[][] variant = base.clone();
+            for (int changed = 0; changed < 2; changed++) {
+                variant[random.nextInt(N)] = toMatrix(randomMatrix(random, N))[0];
+            }
+            variants.add(variant);
+        }
+
+        GenericSequenceEngine fullScan = new GenericSequenceEngine(4, FULL_SCAN);
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+
+            long start = System.nanoTime();
+            for (char[][] variant : variants) {
+                fullScan.isMutant(variant, Long.MAX_VALUE);
+            }
+            report("recorrido completo", start, variants.size(), print);
+
+            // Caché frío: cada variante con un caché vacío
+            start = System.nanoTime();
+            for (char[][] variant : variants) {
+                new PartialMatchEngine(4, FULL_SCAN, new RowFingerprintCache(10_000)).isMutant(variant, Long.MAX_VALUE);
+            }
+            report("caché parcial frío", start, variants.size(), print);
+
+            // Caché caliente: la matriz base ya se analizó
+            RowFingerprintCache cache = new RowFingerprintCache(10_000);
+            PartialMatchEngine engine = new PartialMatchEngine(4, FULL_SCAN, cache);
+            engine.isMutant(base, Long.MAX_VALUE);
+            start = System.nanoTime();
+            for (char[][] variant : variants) {
+                engine.isMutant(variant, Long.MAX_VALUE);
+            }
+            report("caché parcial, 2 filas distintas", start, variants.size(), print);
+            if (print) {
+                System.out.printf("[benchmark] aciertos %d / fallos %d%n", cache.getHits(), cache.getMisses());
+            }
+        }
+    }
+
+    private static void report(String name, long start, int count, boolean print) {
+        if (print) {
+            System.out.printf("[benchmark] %-34s %8.1f µs por matriz%n", name,
+                    (System.nanoTime() - start) / 1e3 / count);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example;
+
+import org.example.cache.RowFingerprintCache;
+import org.example.config.DetectionProperties;
+import org.example.service.GenericSequenceEngine;
+import org.example.service.MutantDetector;
+import org.example.service.PartialMatchEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.DnaFixtures.randomMatrix;
+import static org.example.DnaFixtures.toMatrix;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para PartialMatchEngine (caché de conteos por fila y franja).
+ * Total: 3 tests cubriendo reutilización, otros K/T y la configuración (la equivalencia
+ * con el detector está en DetectionEquivalenceTest).
+ */
+class PartialMatchEngineTest {
+
+    @Test
+    @DisplayName("Un ADN con una fila distinta solo recuenta esa fila y las franjas que la tocan")
+    void testNearDuplicateReusesUnchangedRowsAndBands() {
+        RowFingerprintCache cache = new RowFingerprintCache(10_000);
+        // Umbral inalcanzable: se recorre siempre la matriz completa
+        PartialMatchEngine engine = new PartialMatchEngine(4, 10_000, cache);
+        Random random = new Random(46);
+        List<String> dna = randomMatrix(random, 40);
+
+        assertFalse(engine.isMutant(toMatrix(dna), Long.MAX_VALUE));
+        assertEquals(40 + 37, cache.getMisses());  // 40 filas + 37 franjas de 4
+        assertEquals(0, cache.getHits());
+
+        List<String> nearDuplicate = new ArrayList<>(dna);
+        nearDuplicate.set(20, randomMatrix(random, 40).get(0));
+        assertFalse(engine.isMutant(toMatrix(nearDuplicate), Long.MAX_VALUE));
+
+        // Nuevas: la fila 20 y las 4 franjas que la incluyen (17..20 a 20..23)
+        assertEquals(40 + 37 + 5, cache.getMisses());
+        assertEquals(39 + 33, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Debe respetar otros K y T igual que el motor genérico")
+    void testOtherSequenceLengthsAndThresholds() {
+        Random random = new Random(45);
+        for (int[] kt : new int[][]{{3, 3}, {5, 1}, {5, 2}}) {
+            GenericSequenceEngine generic = new GenericSequenceEngine(kt[0], kt[1]);
+            PartialMatchEngine partial = new PartialMatchEngine(kt[0], kt[1], new RowFingerprintCache(10_000));
+            for (int i = 0; i < 500; i++) {
+                char[][] matrix = toMatrix(randomMatrix(random, 5 + random.nextInt(10)));
+                assertEquals(generic.isMutant(matrix, Long.MAX_VALUE), partial.isMutant(matrix, Long.MAX_VALUE));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("MutantDetector usa el caché parcial solo si está habilitado")
+    void testDetectorUsesCacheWhenEnabled() {
+        assertNull(new MutantDetector().getPartialCache());
+
+        DetectionProperties properties = new DetectionProperties();
+        properties.getPartialCache().setEnabled(true);
+        MutantDetector detector = new MutantDetector(properties);
+
+        assertFalse(detector.isMutant(List.of("ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG")));
+        assertTrue(detector.isMutant(List.of("ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG")));
+        assertTrue(detector.getPartialCache().size() > 0);
+    }
+}
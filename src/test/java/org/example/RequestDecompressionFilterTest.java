@@ -0,0 +1,138 @@
+package org.example;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.exception.CompressedBodyException;
+import org.example.filter.RequestDecompressionFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RequestDecompressionFilter.
+ * Total: 5 tests cubriendo gzip y deflate, lectura de a un byte, bombas de descompresión,
+ * bodies corruptos y codificaciones no soportadas.
+ */
+class RequestDecompressionFilterTest {
+
+    private static final String BODY = "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}";
+
+    private final RequestDecompressionFilter filter = new RequestDecompressionFilter(10_000);
+
+    @Test
+    @DisplayName("Debe entregar el body descomprimido (gzip y deflate) sin Content-Encoding ni Content-Length")
+    void testDecompressesGzipAndDeflate() throws Exception {
+        for (String encoding : new String[]{"gzip", "deflate"}) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(post(encoding, compress(encoding, BODY)), new MockHttpServletResponse(), chain);
+
+            HttpServletRequest request = (HttpServletRequest) chain.getRequest();
+            assertNull(request.getHeader("Content-Encoding"));
+            assertEquals(-1, request.getContentLengthLong());
+            assertFalse(Collections.list(request.getHeaderNames()).contains("Content-Encoding"));
+            assertEquals(BODY, request.getReader().readLine());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe entregar el mismo body leyendo de a un byte y rechazar la lectura no bloqueante")
+    void testSingleByteReadsAndReadListener() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("gzip", compress("gzip", BODY)), new MockHttpServletResponse(), chain);
+
+        ServletInputStream body = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        int b;
+        while ((b = body.read()) >= 0) {
+            read.write(b);
+        }
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+        assertThrows(IllegalStateException.class, () -> body.setReadListener(null));
+    }
+
+    @Test
+    @DisplayName("Debe cortar con 413 al pasar el máximo descomprimido, sin inflar el resto")
+    void testStopsDecompressionBomb() throws Exception {
+        // 50 MB de espacios comprimen a ~50 KB
+        byte[] bomb = compress("gzip", " ".repeat(50_000_000));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("gzip", bomb), new MockHttpServletResponse(), chain);
+
+        InputStream body = chain.getRequest().getInputStream();
+        byte[] buffer = new byte[4096];
+        long[] read = {0};
+        CompressedBodyException e = assertThrows(CompressedBodyException.class, () -> {
+            int n;
+            while ((n = body.read(buffer)) >= 0) {
+                read[0] += n;
+            }
+        });
+        assertEquals(413, e.getStatus().value());
+        assertEquals(10_000, read[0], "se entrega hasta el máximo y se corta en la lectura siguiente");
+    }
+
+    @Test
+    @DisplayName("Debe responder 400 con un body que no es gzip o está truncado")
+    void testMalformedBody() throws Exception {
+        byte[] gzip = compress("gzip", BODY);
+        byte[][] malformed = {BODY.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(gzip, gzip.length / 2)};
+
+        for (byte[] content : malformed) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(post("gzip", content), new MockHttpServletResponse(), chain);
+
+            CompressedBodyException e = assertThrows(CompressedBodyException.class,
+                    () -> chain.getRequest().getInputStream().readAllBytes());
+            assertEquals(400, e.getStatus().value());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar con 415 otras codificaciones y dejar pasar los bodies sin comprimir")
+    void testUnsupportedEncodingAndPlainBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("zstd", new byte[]{1, 2, 3}), response, chain);
+
+        assertEquals(415, response.getStatus());
+        assertEquals("gzip, deflate", response.getHeader("Accept-Encoding"));
+        assertTrue(response.getContentAsString().contains("\"status\":415"));
+        assertNull(chain.getRequest(), "el request rechazado no debe llegar al controller");
+
+        MockHttpServletRequest plain = post(null, BODY.getBytes(StandardCharsets.UTF_8));
+        chain = new MockFilterChain();
+        filter.doFilter(plain, new MockHttpServletResponse(), chain);
+        assertSame(plain, chain.getRequest());
+    }
+
+    private static MockHttpServletRequest post(String encoding, byte[] content) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant");
+        request.setContentType("application/json");
+        if (encoding != null) {
+            request.addHeader("Content-Encoding", encoding);
+        }
+        request.setContent(content);
+        return request;
+    }
+
+    static byte[] compress(String encoding, String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (var out = "gzip".equals(encoding) ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
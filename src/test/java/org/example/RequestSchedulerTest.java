@@ -0,0 +1,139 @@
+package org.example;
+
+import org.example.concurrency.BoundedLane;
+import org.example.concurrency.LargeMatrixExecutor;
+import org.example.concurrency.RequestClass;
+import org.example.concurrency.RequestScheduler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RequestScheduler y BoundedLane (carriles por clase de trabajo).
+ * Total: 4 tests cubriendo clasificación, aislamiento entre carriles, saturación y espera máxima.
+ */
+class RequestSchedulerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Clasifica por N y sin carriles ejecuta todo en el hilo actual")
+    void testClassifyAndUnboundedLanes() {
+        try (LargeMatrixExecutor large = new LargeMatrixExecutor(100, 1, 1)) {
+            RequestScheduler scheduler = new RequestScheduler(large, Map.of());
+            assertEquals(RequestClass.SMALL, scheduler.classify(100));
+            assertEquals(RequestClass.LARGE, scheduler.classify(101));
+
+            String caller = Thread.currentThread().getName();
+            assertEquals(caller, scheduler.execute(RequestClass.CACHED, () -> Thread.currentThread().getName()));
+            assertTrue(scheduler.execute(RequestClass.LARGE, () -> Thread.currentThread().getName())
+                    .startsWith("large-detection-"));
+        }
+
+        // Sin executor de grandes, todo es SMALL
+        assertEquals(RequestClass.SMALL, new RequestScheduler(null, Map.of()).classify(5_000));
+    }
+
+    @Test
+    @DisplayName("Con el carril de grandes saturado, duplicados, chicas y /stats siguen sin esperar")
+    void testLargeBurstDoesNotBlockCheapClasses() throws Exception {
+        try (LargeMatrixExecutor large = new LargeMatrixExecutor(100, 1, 1)) {
+            RequestScheduler scheduler = new RequestScheduler(large, Map.of(
+                    RequestClass.CACHED, new BoundedLane(2, 2, SECOND),
+                    RequestClass.SMALL, new BoundedLane(2, 2, SECOND),
+                    RequestClass.STATS, new BoundedLane(1, 1, SECOND)));
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch running = new CountDownLatch(1);
+
+            // Un ADN grande ocupando el único hilo y otro en la cola
+            CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() ->
+                    scheduler.execute(RequestClass.LARGE, () -> {
+                        running.countDown();
+                        return await(release);
+                    }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() ->
+                    scheduler.execute(RequestClass.LARGE, () -> true));
+            while (large.getExecutor().getQueue().isEmpty()) {
+                Thread.onSpinWait();
+            }
+            assertThrows(RejectedExecutionException.class, () -> scheduler.execute(RequestClass.LARGE, () -> true));
+
+            assertTrue(scheduler.execute(RequestClass.CACHED, () -> true));
+            assertTrue(scheduler.execute(RequestClass.SMALL, () -> true));
+            assertTrue(scheduler.execute(RequestClass.STATS, () -> true));
+
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Un carril lleno deja esperar hasta queueCapacity tareas y rechaza las siguientes")
+    void testLaneRejectsWhenQueueIsFull() throws Exception {
+        BoundedLane lane = new BoundedLane(1, 1, 5 * SECOND);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> lane.execute(() -> {
+            running.countDown();
+            return await(release);
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> lane.execute(() -> true));
+        while (lane.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(1, lane.getActive());
+        assertThrows(RejectedExecutionException.class, () -> lane.execute(() -> true));
+        assertEquals(1, lane.getRejected());
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(0, lane.getActive());
+        assertEquals(0, lane.getQueued());
+    }
+
+    @Test
+    @DisplayName("Rechaza si la espera supera maxWait y libera el lugar aunque la tarea falle")
+    void testLaneMaxWaitAndFailingTask() throws Exception {
+        BoundedLane lane = new BoundedLane(1, 4, TimeUnit.MILLISECONDS.toNanos(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> lane.execute(() -> {
+            running.countDown();
+            return await(release);
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> lane.execute(() -> true));
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+
+        assertThrows(IllegalArgumentException.class, () -> lane.execute(() -> {
+            throw new IllegalArgumentException("falla");
+        }));
+        assertEquals(0, lane.getActive());
+        assertTrue(lane.execute(() -> true));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
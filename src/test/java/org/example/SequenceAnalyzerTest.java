@@ -0,0 +1,117 @@
+package org.example;
+
+import org.example.concurrency.LargeMatrixExecutor;
+import org.example.concurrency.RequestScheduler;
+import org.example.config.DetectionProperties;
+import org.example.exception.DetectionTimeoutException;
+import org.example.exception.InvalidDnaException;
+import org.example.service.MutantDetector;
+import org.example.service.SequenceAnalyzer;
+import org.example.service.SequenceAnalyzer.Analysis;
+import org.example.service.SequenceAnalyzer.Direction;
+import org.example.service.SequenceAnalyzer.Summary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para SequenceAnalyzer.
+ * Total: 5 tests cubriendo ubicación de rachas, diagonales, límites y el análisis completo
+ * antes de responder (la equivalencia con MutantDetector está en DetectionEquivalenceTest).
+ */
+class SequenceAnalyzerTest {
+
+    private final MutantDetector detector = new MutantDetector();
+    private final SequenceAnalyzer analyzer = new SequenceAnalyzer(detector, new DetectionProperties());
+
+    @Test
+    @DisplayName("Debe ubicar las tres secuencias del ejemplo clásico")
+    void testLocatesRuns() throws IOException {
+        List<String> runs = new ArrayList<>();
+        Summary summary = analyzer.analyze(List.of(
+                "ATGCGA",
+                "CAGTGC",
+                "TTATGT",
+                "AGAAGG",
+                "CCCCTA",
+                "TCACTG"
+        ), 100, (direction, row, col, base, length) -> runs.add(direction + "@" + row + "," + col + ":" + base + length));
+
+        assertEquals(List.of("HORIZONTAL@4,0:C4", "VERTICAL@0,4:G4", "DIAGONAL_DOWN@0,0:A4"), runs);
+        assertEquals(3, summary.runs());
+        assertTrue(summary.mutant());
+        assertFalse(summary.truncated());
+    }
+
+    @Test
+    @DisplayName("Debe reportar rachas largas y la diagonal ascendente desde su inicio")
+    void testLongRunAndDiagonalUp() throws IOException {
+        List<String> runs = new ArrayList<>();
+        Summary summary = analyzer.analyze(List.of(
+                "CGTAT",
+                "GCATG",
+                "CATGC",
+                "ATGCG",
+                "TCGCA"
+        ), 100, (direction, row, col, base, length) -> runs.add(direction + "@" + row + "," + col + ":" + base + length));
+
+        // A en (3,0),(2,1),(1,2),(0,3) y T en (4,0)..(0,4)
+        assertTrue(runs.contains("DIAGONAL_UP@3,0:A4"), runs::toString);
+        assertTrue(runs.contains("DIAGONAL_UP@4,0:T5"), runs::toString);
+        // Una racha de 5 son 2 ventanas de 4
+        assertEquals(3, summary.sequences());
+    }
+
+    @Test
+    @DisplayName("Debe entregar como mucho maxResults rachas y contar el resto")
+    void testMaxResults() throws IOException {
+        List<String> dna = List.of("AAAA", "AAAA", "AAAA", "AAAA");
+        List<Direction> delivered = new ArrayList<>();
+
+        Summary summary = analyzer.analyze(dna, analyzer.limit(3), (direction, row, col, base, length) -> delivered.add(direction));
+
+        assertEquals(3, delivered.size());
+        // 4 filas + 4 columnas + 1 diagonal de cada tipo
+        assertEquals(10, summary.runs());
+        assertTrue(summary.truncated());
+        assertEquals(10_000, analyzer.limit(null));
+        assertEquals(10_000, analyzer.limit(1_000_000));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar ADN inválido antes de analizar")
+    void testValidate() {
+        assertThrows(InvalidDnaException.class, () -> analyzer.validate(List.of("ACGT", "ACXT", "ACGT", "ACGT")));
+        assertDoesNotThrow(() -> analyzer.validate(List.of("ACGT", "CGTA", "GTAC", "TACG")));
+    }
+
+    @Test
+    @DisplayName("Debe analizar en el carril de su tamaño y con el tiempo máximo de la detección")
+    void testAnalysisWithDetectionLimits() {
+        List<String> dna = List.of("ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG");
+
+        // 6 > 5: va al executor de matrices grandes
+        try (LargeMatrixExecutor large = new LargeMatrixExecutor(5, 1, 1)) {
+            SequenceAnalyzer scheduled = new SequenceAnalyzer(detector, new DetectionProperties(),
+                    new RequestScheduler(large, Map.of()));
+            Analysis analysis = scheduled.analyze(dna, 2);
+
+            assertEquals(2, analysis.runs().size());
+            assertEquals(Direction.HORIZONTAL, analysis.runs().get(0).direction());
+            assertEquals(3, analysis.summary().runs());
+            assertTrue(analysis.summary().truncated());
+        }
+
+        DetectionProperties noTime = new DetectionProperties();
+        noTime.setTimeBudget(Duration.ZERO);
+        SequenceAnalyzer limited = new SequenceAnalyzer(new MutantDetector(noTime), noTime);
+        assertThrows(DetectionTimeoutException.class, () -> limited.analyze(dna, 100));
+    }
+}
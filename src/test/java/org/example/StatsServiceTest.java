@@ -2,11 +2,12 @@ package org.example;
 
 import org.example.dto.StatsResponse;
 import org.example.repository.DnaRecordRepository;
+import org.example.repository.JpaVerdictStore;
 import org.example.service.StatsService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -23,9 +24,13 @@ class StatsServiceTest {
     @Mock
     private DnaRecordRepository repository;
 
-    @InjectMocks
     private StatsService service;
 
+    @BeforeEach
+    void setUp() {
+        service = new StatsService(new JpaVerdictStore(repository));
+    }
+
     @Test
     @DisplayName("Debe calcular estadísticas correctamente")
     void testStatsCalculation() {
@@ -0,0 +1,177 @@
+package org.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.concurrency.BoundedLane;
+import org.example.concurrency.RequestClass;
+import org.example.concurrency.RequestScheduler;
+import org.example.dto.StatsResponse;
+import org.example.service.StatsService;
+import org.example.service.StatsSnapshotService;
+import org.example.service.StatsSnapshotService.StatsSnapshot;
+import org.example.stats.StatsVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para StatsSnapshotService (respuesta de /stats cacheada).
+ * Total: 5 tests cubriendo reutilización, versión, staleness, max-age y carril STATS.
+ */
+@ExtendWith(MockitoExtension.class)
+class StatsSnapshotServiceTest {
+
+    @Mock
+    private StatsService statsService;
+
+    private final StatsVersion statsVersion = new StatsVersion();
+    private final ManualClock clock = new ManualClock();
+
+    @BeforeEach
+    void setUp() {
+        when(statsService.getStats()).thenReturn(new StatsResponse(4, 10, 0.4));
+    }
+
+    @Test
+    @DisplayName("Polls repetidos sin veredictos nuevos no consultan StatsService")
+    void testReusesSnapshotWhileVersionUnchanged() {
+        StatsSnapshotService service = service(Duration.ZERO, Duration.ofSeconds(1));
+
+        StatsSnapshot first = service.current();
+        clock.advance(500);
+        StatsSnapshot second = service.current();
+
+        assertSame(first, second);
+        assertEquals("\"4-10\"", first.eTag());
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"count_mutant_dna\":4"));
+        verify(statsService, times(1)).getStats();
+    }
+
+    @Test
+    @DisplayName("Un veredicto nuevo invalida el snapshot si no hay ventana de staleness")
+    void testVersionChangeRefreshes() {
+        StatsSnapshotService service = service(Duration.ZERO, Duration.ofSeconds(1));
+
+        StatsSnapshot first = service.current();
+        when(statsService.getStats()).thenReturn(new StatsResponse(5, 10, 0.5));
+        statsVersion.increment();
+        clock.advance(2_000);
+        StatsSnapshot second = service.current();
+
+        assertEquals("\"5-10\"", second.eTag());
+        assertTrue(second.lastModified() > first.lastModified());
+        verify(statsService, times(2)).getStats();
+    }
+
+    @Test
+    @DisplayName("Dentro de la ventana de staleness se sirve el mismo cuerpo aunque haya veredictos nuevos")
+    void testStalenessWindowServesCachedBody() {
+        StatsSnapshotService service = service(Duration.ofSeconds(2), Duration.ofSeconds(1));
+
+        StatsSnapshot first = service.current();
+        statsVersion.increment();
+        clock.advance(1_500);
+        assertSame(first, service.current());
+
+        clock.advance(1_000);
+        assertNotSame(first, service.current());
+        verify(statsService, times(2)).getStats();
+    }
+
+    @Test
+    @DisplayName("Pasado max-age se recuenta, pero Last-Modified no cambia si los conteos son iguales")
+    void testMaxAgeRecountsKeepingLastModified() {
+        StatsSnapshotService service = service(Duration.ZERO, Duration.ofSeconds(1));
+
+        StatsSnapshot first = service.current();
+        clock.advance(5_000);
+        StatsSnapshot second = service.current();
+
+        assertNotSame(first, second);
+        assertEquals(first.eTag(), second.eTag());
+        assertEquals(first.lastModified(), second.lastModified());
+        verify(statsService, times(2)).getStats();
+    }
+
+    @Test
+    @DisplayName("Con el carril STATS lleno se rechaza enseguida, sin esperar el monitor del recálculo")
+    void testLaneIsTakenBeforeMonitor() throws Exception {
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(statsService.getStats()).thenAnswer(invocation -> {
+            refreshing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new StatsResponse(4, 10, 0.4);
+        });
+        BoundedLane lane = new BoundedLane(1, 0, TimeUnit.MILLISECONDS.toNanos(50));
+        StatsSnapshotService service = new StatsSnapshotService(statsService, statsVersion, new ObjectMapper(),
+                Duration.ZERO, Duration.ofSeconds(1), clock,
+                new RequestScheduler(null, Map.of(RequestClass.STATS, lane)));
+
+        Thread first = new Thread(service::current);
+        first.start();
+        try {
+            assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(RejectedExecutionException.class, service::current));
+            assertEquals(1, lane.getRejected());
+        } finally {
+            release.countDown();
+            first.join(5_000);
+        }
+        assertEquals("\"4-10\"", service.current().eTag());
+        verify(statsService, times(1)).getStats();
+    }
+
+    private StatsSnapshotService service(Duration staleness, Duration maxAge) {
+        return new StatsSnapshotService(statsService, statsVersion, new ObjectMapper(), staleness, maxAge, clock);
+    }
+
+    /**
+     * Reloj que solo avanza cuando el test lo pide.
+     */
+    private static final class ManualClock extends Clock {
+
+        private long millis = 1_700_000_000_000L;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example;
+
+import org.example.exception.DnaTooLargeException;
+import org.example.exception.DnaValidationError;
+import org.example.exception.InvalidDnaException;
+import org.example.service.MutantDetector;
+import org.example.service.StreamingMutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para StreamingMutantDetector.
+ * Total: 4 tests cubriendo veredicto temprano y validaciones (la equivalencia con
+ * MutantDetector está en DetectionEquivalenceTest).
+ */
+class StreamingMutantDetectorTest {
+
+    private final MutantDetector detector = new MutantDetector();
+
+    @Test
+    @DisplayName("Debe marcar mutante apenas aparece la segunda secuencia")
+    void testEarlyVerdict() {
+        StreamingMutantDetector stream = detector.stream();
+
+        assertFalse(stream.accept("AAAAGT"));
+        assertTrue(stream.accept("CCCCGT"));
+        stream.accept("TGCATG");
+        stream.accept("GTACGT");
+        stream.accept("ACGTAC");
+        stream.accept("TGCATG");
+        assertTrue(stream.finish());
+    }
+
+    @Test
+    @DisplayName("Debe validar bases y largo de cada fila")
+    void testInvalidRows() {
+        StreamingMutantDetector invalidBase = detector.stream();
+        invalidBase.accept("ACGT");
+        assertEquals(DnaValidationError.INVALID_BASE,
+                assertThrows(InvalidDnaException.class, () -> invalidBase.accept("ACXT")).getError());
+
+        StreamingMutantDetector shortRow = detector.stream();
+        shortRow.accept("ACGT");
+        assertEquals(DnaValidationError.NOT_SQUARE,
+                assertThrows(InvalidDnaException.class, () -> shortRow.accept("ACG")).getError());
+
+        assertEquals(DnaValidationError.TOO_SMALL,
+                assertThrows(InvalidDnaException.class, () -> detector.stream().accept("ACG")).getError());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar filas de más o de menos")
+    void testRowCountMustMatchN() {
+        StreamingMutantDetector missing = detector.stream();
+        missing.accept("ACGT");
+        missing.accept("CGTA");
+        assertEquals(DnaValidationError.NOT_SQUARE,
+                assertThrows(InvalidDnaException.class, missing::finish).getError());
+
+        StreamingMutantDetector extra = detector.stream();
+        for (String row : List.of("ACGT", "CGTA", "GTAC", "TACG")) {
+            extra.accept(row);
+        }
+        assertThrows(InvalidDnaException.class, () -> extra.accept("ACGT"));
+
+        assertEquals(DnaValidationError.EMPTY,
+                assertThrows(InvalidDnaException.class, () -> detector.stream().finish()).getError());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una primera fila más larga que el N máximo")
+    void testTooLarge() {
+        String row = "ACGT".repeat(600);
+        assertThrows(DnaTooLargeException.class, () -> detector.stream().accept(row));
+    }
+}
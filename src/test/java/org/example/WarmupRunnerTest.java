@@ -0,0 +1,156 @@
+package org.example;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cache.NearVerdictCache;
+import org.example.config.DetectionProperties;
+import org.example.config.WarmupProperties;
+import org.example.repository.CachingVerdictStore;
+import org.example.repository.DnaVerdictStore;
+import org.example.repository.InMemoryVerdictStore;
+import org.example.service.DnaSamples;
+import org.example.service.MutantDetector;
+import org.example.service.MutantService;
+import org.example.service.WarmupRunner;
+import org.example.service.WarmupRunner.Result;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para WarmupRunner y la precarga del near cache.
+ * Total: 4 tests cubriendo el calentamiento sin escrituras ni caché parcial, la precarga
+ * y los límites.
+ */
+class WarmupRunnerTest {
+
+    @Test
+    @DisplayName("Debe detectar, hashear y buscar cada tamaño sin guardar veredictos")
+    void testWarmUpDoesNotWrite() {
+        MutantDetector detector = new MutantDetector();
+        InMemoryVerdictStore store = new InMemoryVerdictStore(2, 16);
+        WarmupProperties properties = new WarmupProperties();
+        properties.setSizes(List.of(6, 64));
+        properties.setCells(400_000);
+
+        Result result = runner(detector, store, properties).warmUp();
+
+        assertTrue(result.complete());
+        assertTrue(result.skippedSizes().isEmpty());
+        // N=6: 400000/36 = 11111; N=64: 400000/4096 = 97
+        assertEquals(11_111 + 97, result.detections());
+        assertEquals(250 + 97, result.lookups());
+        assertEquals(0, store.countMutants() + store.countHumans());
+
+        // La matriz "humana" no tiene ninguna secuencia: se recorre completa
+        assertFalse(detector.isMutant(DnaSamples.humanMatrix(64)));
+    }
+
+    @Test
+    @DisplayName("No debe llenar el caché de conteos parciales con las matrices sintéticas")
+    void testWarmUpSkipsPartialCache() {
+        DetectionProperties detection = new DetectionProperties();
+        detection.getPartialCache().setEnabled(true);
+        MutantDetector detector = new MutantDetector(detection);
+        WarmupProperties properties = new WarmupProperties();
+        properties.setSizes(List.of(6, 32));
+        properties.setCells(100_000);
+
+        Result result = runner(detector, new InMemoryVerdictStore(2, 16), properties).warmUp();
+
+        assertTrue(result.detections() > 0);
+        assertEquals(0, detector.getPartialCache().size());
+        assertEquals(0, detector.getPartialCache().getMisses());
+    }
+
+    @Test
+    @DisplayName("Debe precargar en el near cache los veredictos recientes del store")
+    void testPreloadsRecentVerdicts() {
+        Map<String, Boolean> recent = new LinkedHashMap<>();
+        for (int i = 5; i > 0; i--) {
+            recent.put(hash(i), i % 2 == 0);
+        }
+        NearVerdictCache nearCache = new NearVerdictCache(1_000);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CachingVerdictStore store = new CachingVerdictStore(new RecentOnlyStore(recent), nearCache, null, meterRegistry);
+
+        WarmupProperties properties = new WarmupProperties();
+        properties.setSizes(List.of());
+        Result result = runner(new MutantDetector(), store, properties).warmUp();
+
+        assertEquals(5, result.preloaded());
+        assertEquals(5, nearCache.size());
+        assertEquals(Optional.of(true), store.findVerdict(hash(4)));
+        assertEquals(1.0, meterRegistry.get("mutant.cache.lookups").tag("source", "near").counter().count());
+
+        // Un store sin caché no precarga nada
+        assertEquals(0, new InMemoryVerdictStore(2, 16).preload(100));
+    }
+
+    @Test
+    @DisplayName("Debe omitir tamaños no admitidos y cortar al agotar el tiempo máximo")
+    void testSkipsUnsupportedSizesAndStopsAtDeadline() {
+        DetectionProperties detection = new DetectionProperties();
+        detection.setMaxSize(100);
+        MutantDetector detector = new MutantDetector(detection);
+        InMemoryVerdictStore store = new InMemoryVerdictStore(2, 16);
+
+        WarmupProperties properties = new WarmupProperties();
+        properties.setSizes(List.of(3, 6, 200));
+        properties.setCells(36);
+        Result result = runner(detector, store, properties).warmUp();
+
+        assertTrue(result.complete());
+        assertEquals(List.of(3, 200), result.skippedSizes());
+        assertEquals(1, result.detections());
+
+        properties.setMaxDuration(Duration.ZERO);
+        assertFalse(runner(detector, store, properties).warmUp().complete());
+    }
+
+    private static String hash(int i) {
+        return String.format("%032x", i).repeat(2);
+    }
+
+    private static WarmupRunner runner(MutantDetector detector, DnaVerdictStore store, WarmupProperties properties) {
+        return new WarmupRunner(detector, new MutantService(detector, store, new SimpleMeterRegistry()), store,
+                properties);
+    }
+
+    /**
+     * Store con veredictos recientes fijos y sin ningún otro veredicto.
+     */
+    private record RecentOnlyStore(Map<String, Boolean> recent) implements DnaVerdictStore {
+
+        @Override
+        public Optional<Boolean> findVerdict(String dnaHash) {
+            return Optional.ofNullable(recent.get(dnaHash));
+        }
+
+        @Override
+        public boolean save(String dnaHash, boolean mutant) {
+            return false;
+        }
+
+        @Override
+        public long countMutants() {
+            return 0;
+        }
+
+        @Override
+        public long countHumans() {
+            return 0;
+        }
+
+        @Override
+        public Map<String, Boolean> findRecentVerdicts(int limit) {
+            return recent;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.example;
+
+import org.example.entity.DnaRecord;
+import org.example.repository.ClusterCountingVerdictStore;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.GroupCommitLog;
+import org.example.repository.JpaVerdictStore;
+import org.example.repository.VerdictLog;
+import org.example.repository.WriteAheadVerdictStore;
+import org.example.stats.EmbeddedStatsCounterStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integración para WriteAheadVerdictStore (H2 embebida + log en disco).
+ * Total: 6 tests cubriendo pendientes, aplicación a la tabla, duplicados con los contadores
+ * de /stats, group commit, fsync fallido y recuperación.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WriteAheadVerdictStoreTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @Autowired
+    private DnaRecordRepository repository;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+    }
+
+    private WriteAheadVerdictStore openStore() {
+        return new WriteAheadVerdictStore(new JpaVerdictStore(repository), repository, directory, Duration.ZERO, NEVER);
+    }
+
+    private static String hash(int i) {
+        return String.format("%064x", i);
+    }
+
+    @Test
+    @DisplayName("Debe servir el veredicto y los conteos antes de aplicarlo a la tabla")
+    void testPendingVerdictIsVisible() {
+        try (WriteAheadVerdictStore store = openStore()) {
+            assertTrue(store.save(hash(1), true));
+            assertFalse(store.save(hash(1), true));
+
+            assertEquals(Optional.of(true), store.findVerdict(hash(1)));
+            assertEquals(1L, store.countMutants());
+            assertEquals(0L, repository.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe cargar los veredictos en dna_records sin contarlos dos veces")
+    void testApplyLoadsTable() {
+        try (WriteAheadVerdictStore store = openStore()) {
+            store.save(hash(1), true);
+            store.save(hash(2), false);
+            store.save(hash(3), false);
+
+            assertEquals(3L, store.apply());
+
+            assertEquals(3L, repository.count());
+            assertTrue(repository.findByDnaHash(hash(2)).isPresent());
+            assertEquals(1L, store.countMutants());
+            assertEquals(2L, store.countHumans());
+        }
+    }
+
+    @Test
+    @DisplayName("Un duplicado pendiente o ya aplicado no debe sumar en los contadores de /stats")
+    void testDuplicatesAreNotCounted() throws Exception {
+        repository.saveAndFlush(DnaRecord.builder().dnaHash(hash(9)).mutant(false).build());
+        WriteAheadVerdictStore wal = openStore();
+
+        // El almacén de conteo cierra el WAL: solo él va en el try
+        try (EmbeddedStatsCounterStore counterStore = EmbeddedStatsCounterStore.named("wal-" + UUID.randomUUID());
+             ClusterCountingVerdictStore store = new ClusterCountingVerdictStore(wal, counterStore, "node-1", NEVER)) {
+            assertTrue(store.save(hash(1), true));
+            assertFalse(store.save(hash(1), true), "pendiente en el log");
+            assertFalse(store.save(hash(9), false), "ya estaba en dna_records");
+
+            assertEquals(1L, wal.apply());
+            assertFalse(store.save(hash(1), true), "ya aplicado a la tabla");
+
+            assertEquals(1L, store.countMutants());
+            assertEquals(1L, store.countHumans());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe confirmar escrituras concurrentes agrupadas en el log")
+    void testConcurrentGroupCommit() throws Exception {
+        try (WriteAheadVerdictStore store = openStore()) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<Boolean>> futures = IntStream.range(0, 400)
+                    .mapToObj(i -> executor.submit(() -> store.save(hash(i), i % 2 == 0)))
+                    .toList();
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+            executor.shutdown();
+
+            store.apply();
+            assertEquals(400L, repository.count());
+            assertEquals(200L, store.countMutants());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe aplicar al arrancar los registros que quedaron en el log")
+    void testReplayOnStartup() {
+        // Simula una caída: registros confirmados en el log que nunca llegaron a la tabla
+        VerdictLog leftover = new VerdictLog(directory);
+        leftover.append(HexFormat.of().parseHex(hash(7)), true);
+        leftover.append(HexFormat.of().parseHex(hash(8)), false);
+        leftover.close();
+
+        try (WriteAheadVerdictStore store = openStore()) {
+            assertEquals(2L, repository.count());
+            assertEquals(Optional.of(true), store.findVerdict(hash(7)));
+            assertEquals(1L, store.countHumans());
+        }
+    }
+
+    @Test
+    @DisplayName("Un fsync fallido debe fallar solo su grupo y descartar sus registros del log")
+    void testFailedFsyncFailsOnlyItsGroup() throws Exception {
+        FailingFsyncLog failing = new FailingFsyncLog(directory);
+        try (GroupCommitLog groupCommitLog = new GroupCommitLog(failing, Duration.ZERO)) {
+            failing.failNext.set(true);
+            assertThrows(UncheckedIOException.class,
+                    () -> groupCommitLog.appendDurably(HexFormat.of().parseHex(hash(1)), true));
+
+            // El siguiente grupo se confirma normalmente
+            groupCommitLog.appendDurably(HexFormat.of().parseHex(hash(2)), false);
+        }
+
+        // Al reproducir el log solo aparece el registro confirmado
+        List<String> replayed = new ArrayList<>();
+        VerdictLog reopened = new VerdictLog(directory);
+        reopened.replay((hash, mutant) -> replayed.add(HexFormat.of().formatHex(hash)));
+        reopened.close();
+        assertEquals(List.of(hash(2)), replayed);
+    }
+
+    /**
+     * Log cuyo próximo fsync falla después de escribir el buffer en el archivo.
+     */
+    private static final class FailingFsyncLog extends VerdictLog {
+
+        private final AtomicBoolean failNext = new AtomicBoolean();
+
+        FailingFsyncLog(Path directory) {
+            super(directory);
+        }
+
+        @Override
+        public void flush(boolean fsync) {
+            if (fsync && failNext.getAndSet(false)) {
+                super.flush(false);
+                throw new UncheckedIOException(new IOException("fsync simulado"));
+            }
+            super.flush(fsync);
+        }
+    }
+}